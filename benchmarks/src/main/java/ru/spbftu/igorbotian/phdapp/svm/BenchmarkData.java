@@ -0,0 +1,113 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import com.google.inject.Guice;
+import ru.spbftu.igorbotian.phdapp.common.*;
+
+import java.util.*;
+
+/**
+ * Генерация данных для измерения производительности: объектов с двумя вещественными параметрами, разбросанных
+ * случайным образом, и обучающей выборки из интервальных экспертных оценок заданного размера.
+ * Для воспроизводимости измерений используется фиксированное начальное значение генератора случайных чисел.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+final class BenchmarkData {
+
+    /**
+     * Начальное значение генератора случайных чисел
+     */
+    private static final long SEED = 20150101L;
+
+    /**
+     * Названия параметров объектов
+     */
+    private static final String[] PARAMS = {"x", "y"};
+
+    /**
+     * Фабрика объектов предметной области
+     */
+    final DataFactory dataFactory;
+
+    /**
+     * Сгенерированные объекты
+     */
+    final List<UnclassifiedObject> objects;
+
+    /**
+     * Обучающая выборка, сформированная из сгенерированных объектов
+     */
+    final PairwiseTrainingSet trainingSet;
+
+    /**
+     * Генерация данных
+     *
+     * @param sampleSize         количество объектов (положительное)
+     * @param judgementGroupSize количество объектов в каждой из двух частей экспертной оценки (положительное)
+     * @throws IllegalArgumentException если из заданного количества объектов нельзя сформировать ни одной
+     *                                  экспертной оценки
+     */
+    BenchmarkData(int sampleSize, int judgementGroupSize) {
+        if (judgementGroupSize <= 0 || sampleSize < 2 * judgementGroupSize) {
+            throw new IllegalArgumentException(String.format("Unable to compose judgements of size %d from %d objects",
+                    judgementGroupSize, sampleSize));
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        dataFactory = Guice.createInjector(new DataModule()).getInstance(DataFactory.class);
+        objects = Collections.unmodifiableList(newObjects(sampleSize, random));
+        trainingSet = newTrainingSet(judgementGroupSize, random);
+    }
+
+    private List<UnclassifiedObject> newObjects(int count, SplittableRandom random) {
+        List<UnclassifiedObject> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Set<Parameter<?>> params = new HashSet<>();
+
+            for (String param : PARAMS) {
+                params.add(dataFactory.newParameter(param, random.nextDouble(0.0, 10.0), BasicDataTypes.REAL));
+            }
+
+            result.add(dataFactory.newUnclassifiedObject("object" + i, params));
+        }
+
+        return result;
+    }
+
+    private PairwiseTrainingSet newTrainingSet(int judgementGroupSize, SplittableRandom random) {
+        List<UnclassifiedObject> shuffled = new ArrayList<>(objects);
+
+        for (int i = shuffled.size() - 1; i > 0; i--) {
+            Collections.swap(shuffled, i, random.nextInt(i + 1));
+        }
+
+        Set<Judgement> judgements = new LinkedHashSet<>();
+
+        for (int i = 0; i + 2 * judgementGroupSize <= shuffled.size(); i += 2 * judgementGroupSize) {
+            judgements.add(dataFactory.newJudgement(
+                    new LinkedHashSet<>(shuffled.subList(i, i + judgementGroupSize)),
+                    new LinkedHashSet<>(shuffled.subList(i + judgementGroupSize, i + 2 * judgementGroupSize))
+            ));
+        }
+
+        return dataFactory.newPairwiseTrainingSet(judgements);
+    }
+
+    /**
+     * Получение всех пар объектов, составляющих экспертные оценки обучающей выборки (в порядке их следования)
+     */
+    List<Pair<UnclassifiedObject, UnclassifiedObject>> judgementPairs() {
+        List<Pair<UnclassifiedObject, UnclassifiedObject>> pairs = new ArrayList<>();
+
+        for (Judgement judgement : trainingSet.judgements()) {
+            for (UnclassifiedObject preferable : judgement.preferable()) {
+                for (UnclassifiedObject inferior : judgement.inferior()) {
+                    pairs.add(new Pair<>(preferable, inferior));
+                }
+            }
+        }
+
+        return pairs;
+    }
+}
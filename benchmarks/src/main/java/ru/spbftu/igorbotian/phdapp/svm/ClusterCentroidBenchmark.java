@@ -0,0 +1,70 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import org.openjdk.jmh.annotations.*;
+import ru.spbftu.igorbotian.phdapp.common.Judgement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерение производительности вычисления расстояния между центроидами частей всех экспертных оценок
+ * обучающей выборки
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see ClusterCentroid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClusterCentroidBenchmark {
+
+    @Param({"50", "100", "250"})
+    public int sampleSize;
+
+    @Param({"2", "4", "8"})
+    public int judgementGroupSize;
+
+    private List<Judgement> judgements;
+
+    /**
+     * Части экспертных оценок в виде контейнеров, центроиды которых кэшируются
+     */
+    private List<UnclassifiedObjectSet> clusters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        judgements = new ArrayList<>(new BenchmarkData(sampleSize, judgementGroupSize).trainingSet.judgements());
+        clusters = new ArrayList<>();
+
+        for (Judgement judgement : judgements) {
+            clusters.add(new UnclassifiedObjectSet(judgement.preferable()));
+            clusters.add(new UnclassifiedObjectSet(judgement.inferior()));
+        }
+    }
+
+    @Benchmark
+    public double computeDistanceBetween() {
+        double sum = 0.0;
+
+        for (Judgement judgement : judgements) {
+            sum += ClusterCentroid.computeDistanceBetween(judgement.preferable(), judgement.inferior());
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public double cachedCentroidDistance() {
+        double sum = 0.0;
+
+        for (int i = 0; i < clusters.size(); i += 2) {
+            sum += clusters.get(i).centroid().distanceTo(clusters.get(i + 1).centroid());
+        }
+
+        return sum;
+    }
+}
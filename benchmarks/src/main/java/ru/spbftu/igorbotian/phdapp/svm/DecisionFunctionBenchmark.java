@@ -0,0 +1,65 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import org.openjdk.jmh.annotations.*;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерение производительности применения решающей функции ко всем парам соседних объектов выборки.
+ * Множители Лагранжа задаются случайным образом для всех пар объектов из экспертных оценок.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see DecisionFunction
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DecisionFunctionBenchmark {
+
+    @Param({"50", "100", "250"})
+    public int sampleSize;
+
+    @Param({"1", "2", "4"})
+    public int judgementGroupSize;
+
+    private List<UnclassifiedObject> objects;
+
+    private DecisionFunction<UnclassifiedObject> decisionFunction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(sampleSize, judgementGroupSize);
+        SplittableRandom random = new SplittableRandom(sampleSize);
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> multipliers = new HashMap<>();
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> pair : data.judgementPairs()) {
+            multipliers.put(pair, random.nextDouble(0.01, 1.0));
+        }
+
+        objects = data.objects;
+        decisionFunction = new DecisionFunction<>(multipliers,
+                new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(0.1)).precompute(objects));
+    }
+
+    @Benchmark
+    public int isPreferable() throws DecisionException {
+        int preferable = 0;
+
+        for (int i = 0; i + 1 < objects.size(); i++) {
+            if (decisionFunction.isPreferable(objects.get(i), objects.get(i + 1))) {
+                preferable++;
+            }
+        }
+
+        return preferable;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import org.openjdk.jmh.annotations.*;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерение производительности вычисления значений ядра Мерсера для всех пар переменных задачи квадратичного
+ * программирования (как без предварительного вычисления матрицы Грама, так и с ним), а также формирования
+ * матрицы Грама по предварительно вычисленным квадратам расстояний
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see GaussianMercerKernel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GaussianMercerKernelBenchmark {
+
+    @Param({"50", "100", "250"})
+    public int sampleSize;
+
+    @Param({"1", "2", "4"})
+    public int judgementGroupSize;
+
+    private List<UnclassifiedObject> objects;
+
+    private List<Pair<UnclassifiedObject, UnclassifiedObject>> pairs;
+
+    private GaussianMercerKernel<UnclassifiedObject> kernel;
+
+    private GaussianMercerKernel<UnclassifiedObject> precomputedKernel;
+
+    private List<UnclassifiedObject> trainingObjects;
+
+    private GaussianMercerKernel<UnclassifiedObject> distanceBasedKernel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(sampleSize, judgementGroupSize);
+        objects = data.objects;
+        pairs = data.judgementPairs();
+        kernel = new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(0.1));
+        precomputedKernel = kernel.precompute(objects);
+
+        SquaredDistanceMatrix<UnclassifiedObject> distances = SquaredDistanceMatrix.of(data.trainingSet);
+        trainingObjects = new ArrayList<>(distances.indexes().keySet());
+        distanceBasedKernel = new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(0.1), distances);
+    }
+
+    @Benchmark
+    public double compute() {
+        return computeAll(kernel);
+    }
+
+    @Benchmark
+    public double computePrecomputed() {
+        return computeAll(precomputedKernel);
+    }
+
+    @Benchmark
+    public double precomputeAndCompute() {
+        return computeAll(kernel.precompute(objects));
+    }
+
+    @Benchmark
+    public GaussianMercerKernel<UnclassifiedObject> precompute() {
+        return kernel.precompute(trainingObjects);
+    }
+
+    @Benchmark
+    public GaussianMercerKernel<UnclassifiedObject> precomputeFromSquaredDistances() {
+        return distanceBasedKernel.precompute(trainingObjects);
+    }
+
+    private double computeAll(GaussianMercerKernel<UnclassifiedObject> kernel) {
+        double sum = 0.0;
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> first : pairs) {
+            for (Pair<UnclassifiedObject, UnclassifiedObject> second : pairs) {
+                sum += kernel.compute(first, second);
+            }
+        }
+
+        return sum;
+    }
+}
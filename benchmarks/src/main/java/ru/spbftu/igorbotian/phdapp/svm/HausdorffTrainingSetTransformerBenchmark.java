@@ -0,0 +1,50 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import org.openjdk.jmh.annotations.*;
+import ru.spbftu.igorbotian.phdapp.common.DataFactory;
+import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерение производительности преобразования обучающей выборки с интервальными экспертными оценками в выборку
+ * с точными экспертными оценками с помощью расстояния Хаусдорфа
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see HausdorffTrainingSetTransformer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HausdorffTrainingSetTransformerBenchmark {
+
+    @Param({"50", "100", "250"})
+    public int sampleSize;
+
+    @Param({"2", "4", "8"})
+    public int judgementGroupSize;
+
+    private DataFactory dataFactory;
+
+    private PairwiseTrainingSet trainingSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(sampleSize, judgementGroupSize);
+        dataFactory = data.dataFactory;
+        trainingSet = data.trainingSet;
+    }
+
+    @Benchmark
+    public PairwiseTrainingSet transformToPrecise() {
+        return HausdorffTrainingSetTransformer.transformToPrecise(trainingSet, dataFactory);
+    }
+
+    @Benchmark
+    public PairwiseTrainingSet cachedTransformToPrecise() {
+        return HausdorffTrainingSetTransformer.cachedTransformToPrecise(trainingSet, dataFactory);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import org.openjdk.jmh.annotations.*;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetAlgorithm;
+import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetSolution;
+import ru.spbftu.igorbotian.phdapp.quadprog.CholeskyFactorization;
+import ru.spbftu.igorbotian.phdapp.quadprog.GroupedBoxConstraints;
+import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
+import ru.spbftu.igorbotian.phdapp.quadprog.SymmetricMatrix;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерение производительности формирования задачи квадратичного программирования (матрицы квадратичной функции
+ * и ограничений) по обучающей выборке при различной точности хранения элементов матрицы.
+ * Чтобы измерялось только формирование задачи, используется средство решения, которое не изменяет матрицу
+ * и сразу возвращает нулевое решение.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see ActiveDualSetQuadraticProgrammingSolver
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QuadraticProgrammingProblemBenchmark {
+
+    @Param({"50", "100", "250"})
+    public int sampleSize;
+
+    @Param({"1", "2", "4"})
+    public int judgementGroupSize;
+
+    @Param({"DOUBLE", "FLOAT"})
+    public SymmetricMatrix.Precision matrixPrecision;
+
+    private PairwiseTrainingSet trainingSet;
+
+    private Kernel<UnclassifiedObject> kernel;
+
+    private QuadraticProgrammingSolver solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trainingSet = new BenchmarkData(sampleSize, judgementGroupSize).trainingSet;
+        kernel = new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(0.1));
+        solver = new ActiveDualSetQuadraticProgrammingSolver(new ActiveDualSetAlgorithm() {
+
+            @Override
+            public double[] apply(double[][] matrix, double[] vector,
+                                  double[][] constraintMatrix, double[] constraintVector) {
+                return new double[vector.length];
+            }
+
+            @Override
+            public ActiveDualSetSolution apply(CholeskyFactorization factorization, double[] vector,
+                                               GroupedBoxConstraints constraints, ActiveDualSetSolution initialGuess) {
+                return new ActiveDualSetSolution(new double[vector.length]);
+            }
+
+            @Override
+            public CholeskyFactorization factorizePositiveDefinite(SymmetricMatrix matrix) {
+                // матрица не разлагается: её разложение не относится к формированию задачи
+                return null;
+            }
+        }, matrixPrecision);
+    }
+
+    @Benchmark
+    public Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> assemble()
+            throws QuadraticProgrammingException {
+
+        return solver.solve(trainingSet, kernel, 1.0);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.spbftu.igorbotian.phdapp.common;
 
+import java.nio.DoubleBuffer;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -111,6 +113,51 @@ public interface DataFactory {
     UnclassifiedData newUnclassifiedData(Set<? extends DataClass> classes,
                                          Set<? extends UnclassifiedObject> objects) throws DataException;
 
+    /**
+     * Создание объекта типа <code>UnclassifiedData</code> с поколоночным хранением вещественнозначных параметров объектов.
+     * Значения каждого параметра всех объектов хранятся в отдельном массиве без упаковки, а объекты набора являются
+     * легковесными представлениями строк, формирующими параметры (типа {@link BasicDataTypes#REAL}) при обращении к ним.
+     * Набор данных равен набору, созданному из тех же объектов методом
+     * {@link #newUnclassifiedData(java.util.Set, java.util.Set)}, поэлементно.
+     *
+     * @param classes    непустой набор классов классификации размером не меньше двух
+     * @param ids        непустой список различных идентификаторов объектов
+     * @param paramNames непустой список различных названий параметров (схема набора данных)
+     * @param columns    значения параметров: <code>columns[j][i]</code> - значение <code>j</code>-го параметра
+     *                   <code>i</code>-го объекта (массивы копируются)
+     * @return объект типа <code>UnclassifiedData</code> с заданными параметрами
+     * @throws ru.spbftu.igorbotian.phdapp.common.DataException если набор классов содержит меньше,
+     *                                                          чем минимально необходимое, количество элементов;
+     *                                                          если список объектов или параметров является пустым;
+     *                                                          если идентификаторы объектов или названия параметров
+     *                                                          повторяются; если количество колонок или количество
+     *                                                          значений в какой-либо колонке не соответствует
+     *                                                          количеству параметров или объектов
+     * @throws java.lang.NullPointerException                   если хотя бы один из параметров не задан
+     * @see ru.spbftu.igorbotian.phdapp.common.UnclassifiedData
+     */
+    UnclassifiedData newUnclassifiedData(Set<? extends DataClass> classes, List<String> ids, List<String> paramNames,
+                                         double[][] columns) throws DataException;
+
+    /**
+     * Создание объекта типа <code>UnclassifiedData</code> с поколоночным хранением вещественнозначных параметров
+     * объектов, значения которых уже находятся в буферах (например, в отображённом в память файле).
+     * Буферы не копируются: используются их элементы между текущей позицией и границей, которые
+     * не должны изменяться после создания набора данных
+     *
+     * @param classes    непустой набор классов классификации размером не меньше двух
+     * @param ids        непустой список различных идентификаторов объектов
+     * @param paramNames непустой список различных названий параметров (схема набора данных)
+     * @param columns    значения параметров: <code>columns[j].get(i)</code> - значение <code>j</code>-го параметра
+     *                   <code>i</code>-го объекта (относительно текущей позиции буфера)
+     * @return объект типа <code>UnclassifiedData</code> с заданными параметрами
+     * @throws ru.spbftu.igorbotian.phdapp.common.DataException в тех же случаях, что и
+     *                                                          {@link #newUnclassifiedData(Set, List, List, double[][])}
+     * @throws java.lang.NullPointerException                   если хотя бы один из параметров не задан
+     */
+    UnclassifiedData newUnclassifiedData(Set<? extends DataClass> classes, List<String> ids, List<String> paramNames,
+                                         DoubleBuffer[] columns) throws DataException;
+
     /**
      * Создание объекта типа <code>ClassifiedData</code>
      *
@@ -145,6 +192,52 @@ public interface DataFactory {
     PointwiseTrainingSet newPointwiseTrainingSet(Set<? extends DataClass> classes,
                                                  Set<? extends PointwiseTrainingObject> objects) throws DataException;
 
+    /**
+     * Создание объекта типа <code>PointwiseTrainingSet</code> с поколоночным хранением вещественнозначных параметров
+     * объектов
+     *
+     * @param classes     непустой набор классов классификации размером не меньше двух
+     * @param ids         непустой список различных идентификаторов объектов
+     * @param paramNames  непустой список различных названий параметров (схема набора данных)
+     * @param columns     значения параметров: <code>columns[j][i]</code> - значение <code>j</code>-го параметра
+     *                    <code>i</code>-го объекта (массивы копируются)
+     * @param realClasses реальные классы объектов (в том же порядке, что и идентификаторы)
+     * @return объект типа <code>PointwiseTrainingSet</code> с заданными параметрами
+     * @throws ru.spbftu.igorbotian.phdapp.common.DataException в тех же случаях, что и
+     *                                                          {@link #newUnclassifiedData(Set, List, List, double[][])},
+     *                                                          а также если количество реальных классов не совпадает
+     *                                                          с количеством объектов
+     * @throws java.lang.NullPointerException                   если хотя бы один из параметров не задан
+     * @throws java.lang.IllegalArgumentException               если реальный класс какого-либо объекта не входит
+     *                                                          в набор классов классификации
+     * @see ru.spbftu.igorbotian.phdapp.common.PointwiseTrainingSet
+     */
+    PointwiseTrainingSet newPointwiseTrainingSet(Set<? extends DataClass> classes, List<String> ids,
+                                                 List<String> paramNames, double[][] columns,
+                                                 List<? extends DataClass> realClasses) throws DataException;
+
+    /**
+     * Создание объекта типа <code>PointwiseTrainingSet</code> с поколоночным хранением вещественнозначных параметров
+     * объектов, значения которых уже находятся в буферах (буферы не копируются)
+     *
+     * @param classes     непустой набор классов классификации размером не меньше двух
+     * @param ids         непустой список различных идентификаторов объектов
+     * @param paramNames  непустой список различных названий параметров (схема набора данных)
+     * @param columns     значения параметров: <code>columns[j].get(i)</code> - значение <code>j</code>-го параметра
+     *                    <code>i</code>-го объекта (относительно текущей позиции буфера)
+     * @param realClasses реальные классы объектов (в том же порядке, что и идентификаторы)
+     * @return объект типа <code>PointwiseTrainingSet</code> с заданными параметрами
+     * @throws ru.spbftu.igorbotian.phdapp.common.DataException в тех же случаях, что и
+     *                                                          {@link #newPointwiseTrainingSet(Set, List, List, double[][], List)}
+     * @throws java.lang.NullPointerException                   если хотя бы один из параметров не задан
+     * @throws java.lang.IllegalArgumentException               если реальный класс какого-либо объекта не входит
+     *                                                          в набор классов классификации
+     * @see #newUnclassifiedData(Set, List, List, DoubleBuffer[])
+     */
+    PointwiseTrainingSet newPointwiseTrainingSet(Set<? extends DataClass> classes, List<String> ids,
+                                                 List<String> paramNames, DoubleBuffer[] columns,
+                                                 List<? extends DataClass> realClasses) throws DataException;
+
     /**
      * Создание объекта типа <code>PairwiseTrainingSet</code>
      *
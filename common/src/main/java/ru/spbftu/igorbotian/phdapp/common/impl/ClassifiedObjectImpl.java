@@ -36,12 +36,18 @@ class ClassifiedObjectImpl extends UnclassifiedObjectImpl implements ClassifiedO
      */
     private final DataClass dataClass;
 
+    /**
+     * Хэш-код объекта (объект неизменяем, поэтому хэш-код вычисляется однократно)
+     */
+    private final int hash;
+
     public ClassifiedObjectImpl(String id, Set<Parameter<?>> params, DataClass dataClass) {
 
         super(id, params);
 
         Objects.requireNonNull(dataClass);
         this.dataClass = dataClass;
+        this.hash = Objects.hash(super.hashCode(), dataClass);
     }
 
     @Override
@@ -51,7 +57,7 @@ class ClassifiedObjectImpl extends UnclassifiedObjectImpl implements ClassifiedO
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), dataClass);
+        return hash;
     }
 
     @Override
@@ -64,8 +70,8 @@ class ClassifiedObjectImpl extends UnclassifiedObjectImpl implements ClassifiedO
             return false;
         }
 
-        ClassifiedObjectImpl other = (ClassifiedObjectImpl) obj;
-        return super.equals(other) && dataClass.equals(other.dataClass);
+        ClassifiedObject other = (ClassifiedObject) obj;
+        return super.equals(other) && dataClass.equals(other.dataClass());
     }
 
     @Override
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.common.impl;
+
+import ru.spbftu.igorbotian.phdapp.common.DataClass;
+import ru.spbftu.igorbotian.phdapp.common.DataException;
+import ru.spbftu.igorbotian.phdapp.common.PointwiseTrainingObject;
+import ru.spbftu.igorbotian.phdapp.common.PointwiseTrainingSet;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Поколоночное представление обучающей выборки для поточечной классификации.
+ * Помимо колонок значений параметров содержит колонку реальных классов объектов
+ *
+ * @see ru.spbftu.igorbotian.phdapp.common.PointwiseTrainingSet
+ * @see ColumnarUnclassifiedDataImpl
+ */
+class ColumnarPointwiseTrainingSetImpl extends ColumnarUnclassifiedDataImpl implements PointwiseTrainingSet {
+
+    /**
+     * Реальные классы объектов (по одному на строку)
+     */
+    private final DataClass[] realClasses;
+
+    ColumnarPointwiseTrainingSetImpl(Set<? extends DataClass> classes, List<String> ids, List<String> paramNames,
+                                     DoubleBuffer[] columns, List<? extends DataClass> realClasses)
+            throws DataException {
+
+        super(classes, ids, paramNames, columns);
+        Objects.requireNonNull(realClasses);
+
+        if (realClasses.size() != ids.size()) {
+            throw new DataException("Each training object should have a real class");
+        }
+
+        this.realClasses = realClasses.toArray(new DataClass[realClasses.size()]);
+
+        for (DataClass realClass : this.realClasses) {
+            if (!classes.contains(Objects.requireNonNull(realClass))) {
+                throw new IllegalArgumentException("A training object has undefined class: " + realClass.name());
+            }
+        }
+    }
+
+    @Override
+    protected Row newRow(int index) {
+        return new TrainingRow(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<? extends PointwiseTrainingObject> objects() {
+        return (Set<? extends PointwiseTrainingObject>) super.objects();
+    }
+
+    @Override
+    protected boolean hasSameRows(ColumnarUnclassifiedDataImpl other) {
+        return super.hasSameRows(other)
+                && Arrays.equals(realClasses, ((ColumnarPointwiseTrainingSetImpl) other).realClasses);
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Элемент обучающей выборки, являющийся представлением одной из её строк
+     */
+    private class TrainingRow extends Row implements PointwiseTrainingObject {
+
+        TrainingRow(int index) {
+            super(index);
+        }
+
+        @Override
+        public DataClass realClass() {
+            return realClasses[index];
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 + super.hashCode()) + realClasses[index].hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || !(obj instanceof PointwiseTrainingObject)) {
+                return false;
+            }
+
+            return super.equals(obj) && realClasses[index].equals(((PointwiseTrainingObject) obj).realClass());
+        }
+
+        @Override
+        public String toString() {
+            return String.join(":", super.toString(), realClasses[index].toString());
+        }
+    }
+}
@@ -0,0 +1,390 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.common.impl;
+
+import ru.spbftu.igorbotian.phdapp.common.*;
+
+import java.nio.DoubleBuffer;
+import java.util.*;
+
+/**
+ * Поколоночное (columnar) представление набора объектов с вещественнозначными параметрами.
+ * Набор имеет единую схему (упорядоченный список названий параметров), а значения каждого параметра
+ * всех объектов хранятся в отдельной колонке без упаковки, то есть по 8 байт на каждое значение.
+ * Объекты набора являются легковесными представлениями строк и формируют свои параметры при обращении к ним.
+ * Проверка согласованности данных выполняется один раз для всего набора, а не для каждого объекта.
+ * Хэш-коды объектов вычисляются однократно при создании набора, а поиск объекта в наборе выполняется
+ * по его идентификатору, без перебора строк.
+ *
+ * @see ru.spbftu.igorbotian.phdapp.common.UnclassifiedData
+ * @see ru.spbftu.igorbotian.phdapp.common.DataFactory
+ */
+class ColumnarUnclassifiedDataImpl implements UnclassifiedData {
+
+    /**
+     * Классы классификации
+     */
+    private final Set<? extends DataClass> classes;
+
+    /**
+     * Идентификаторы объектов (по одному на строку)
+     */
+    private final String[] ids;
+
+    /**
+     * Названия параметров (по одному на колонку)
+     */
+    private final String[] paramNames;
+
+    /**
+     * Колонки значений параметров: <code>columns[j].get(i)</code> - значение <code>j</code>-го параметра
+     * <code>i</code>-го объекта
+     */
+    private final DoubleBuffer[] columns;
+
+    /**
+     * Хэш-коды объектов (по одному на строку)
+     */
+    private final int[] rowHashes;
+
+    /**
+     * Индексы строк по идентификаторам объектов
+     */
+    private final Map<String, Integer> rowIndexes;
+
+    /**
+     * Представление набора в виде множества объектов
+     */
+    private final Set<? extends UnclassifiedObject> objects;
+
+    public ColumnarUnclassifiedDataImpl(Set<? extends DataClass> classes, List<String> ids,
+                                        List<String> paramNames, DoubleBuffer[] columns) throws DataException {
+        Objects.requireNonNull(classes);
+        Objects.requireNonNull(ids);
+        Objects.requireNonNull(paramNames);
+        Objects.requireNonNull(columns);
+
+        if (classes.size() < MIN_NUMBER_OF_CLASSES) {
+            throw new DataException("Number of classes cannot be less than " + MIN_NUMBER_OF_CLASSES);
+        }
+
+        if (ids.isEmpty()) {
+            throw new DataException("At least one object should be presented");
+        }
+
+        if (paramNames.isEmpty()) {
+            throw new DataException("At least one parameter should be presented");
+        }
+
+        if (paramNames.size() != columns.length) {
+            throw new DataException("Each parameter should have a column of values");
+        }
+
+        this.classes = Collections.unmodifiableSet(new LinkedHashSet<>(classes));
+        this.ids = ids.toArray(new String[ids.size()]);
+        this.paramNames = paramNames.toArray(new String[paramNames.size()]);
+        this.columns = new DoubleBuffer[columns.length];
+
+        this.rowIndexes = indexRows(this.ids);
+        checkParamNamesAreUnique(this.paramNames);
+
+        for (int j = 0; j < columns.length; j++) {
+            if (Objects.requireNonNull(columns[j]).remaining() != this.ids.length) {
+                throw new DataException("Column of parameter " + this.paramNames[j] + " should have "
+                        + this.ids.length + " values");
+            }
+
+            this.columns[j] = columns[j].slice().asReadOnlyBuffer();
+        }
+
+        this.rowHashes = new int[this.ids.length];
+
+        for (int i = 0; i < rowHashes.length; i++) {
+            rowHashes[i] = computeRowHash(i);
+        }
+
+        this.objects = new Rows();
+    }
+
+    private static Map<String, Integer> indexRows(String[] ids) throws DataException {
+        Map<String, Integer> indexes = new HashMap<>();
+
+        for (int i = 0; i < ids.length; i++) {
+            if (Objects.requireNonNull(ids[i]).isEmpty()) {
+                throw new DataException("ID cannot be empty");
+            }
+
+            if (indexes.putIfAbsent(ids[i], i) != null) {
+                throw new DataException("Objects should have different IDs: " + ids[i]);
+            }
+        }
+
+        return indexes;
+    }
+
+    private static void checkParamNamesAreUnique(String[] paramNames) throws DataException {
+        Set<String> uniqueNames = new HashSet<>();
+
+        for (String name : paramNames) {
+            if (Objects.requireNonNull(name).isEmpty()) {
+                throw new DataException("Parameter name cannot be empty");
+            }
+
+            if (!uniqueNames.add(name)) {
+                throw new DataException("Parameter names should be different: " + name);
+            }
+        }
+    }
+
+    /**
+     * Количество объектов в наборе
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Значение заданного параметра заданного объекта
+     *
+     * @param row    индекс объекта
+     * @param column индекс параметра
+     */
+    double value(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    /**
+     * Вычисление хэш-кода объекта без формирования его параметров.
+     * Результат совпадает с хэш-кодом равного ему объекта {@link UnclassifiedObjectImpl}
+     * (<code>Objects.hash(id, parameters)</code>, где хэш-код каждого параметра равен
+     * <code>Objects.hash(name, value)</code>)
+     */
+    private int computeRowHash(int row) {
+        int parametersHash = 0;
+
+        for (int j = 0; j < paramNames.length; j++) {
+            parametersHash += 31 * (31 + paramNames[j].hashCode()) + Double.hashCode(value(row, j));
+        }
+
+        return 31 * (31 + ids[row].hashCode()) + parametersHash;
+    }
+
+    /**
+     * Создание представления строки с заданным индексом в виде объекта
+     */
+    protected Row newRow(int index) {
+        return new Row(index);
+    }
+
+    @Override
+    public Set<? extends DataClass> classes() {
+        return classes;
+    }
+
+    @Override
+    public Set<? extends UnclassifiedObject> objects() {
+        return objects;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classes, objects);
+    }
+
+    /**
+     * Проверка того, что другой поколоночный набор данных того же вида содержит те же строки в том же порядке
+     */
+    protected boolean hasSameRows(ColumnarUnclassifiedDataImpl other) {
+        return Arrays.equals(ids, other.ids)
+                && Arrays.equals(paramNames, other.paramNames)
+                && Arrays.equals(columns, other.columns);
+    }
+
+    /**
+     * Набор данных равен любому другому набору данных того же вида (обучающей выборке или нет)
+     * с теми же классами классификации и тем же множеством объектов
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (obj == null || !(obj instanceof UnclassifiedData)
+                || (obj instanceof PointwiseTrainingSet) != (this instanceof PointwiseTrainingSet)) {
+            return false;
+        }
+
+        UnclassifiedData other = (UnclassifiedData) obj;
+
+        if (!classes.equals(other.classes()) || objects.size() != other.objects().size()) {
+            return false;
+        }
+
+        if (obj.getClass() == getClass() && hasSameRows((ColumnarUnclassifiedDataImpl) obj)) {
+            return true;
+        }
+
+        // поиск во множестве объектов другого набора, как правило, эффективнее поиска среди строк данного набора
+        return other.objects().containsAll(objects);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(";", classes.toString(), objects.toString());
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Неизменяемое множество объектов набора в порядке следования строк
+     */
+    private class Rows extends AbstractSet<Row> {
+
+        @Override
+        public Iterator<Row> iterator() {
+            return new Iterator<Row>() {
+
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < ids.length;
+                }
+
+                @Override
+                public Row next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return newRow(next++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+
+        /**
+         * Объект может быть равен только строке с тем же идентификатором, поэтому строки не перебираются
+         */
+        @Override
+        public boolean contains(Object obj) {
+            if (obj instanceof Row && ((Row) obj).dataset() == ColumnarUnclassifiedDataImpl.this) {
+                return true;
+            }
+
+            if (!(obj instanceof UnclassifiedObject)) {
+                return false;
+            }
+
+            Integer index = rowIndexes.get(((UnclassifiedObject) obj).id());
+            return index != null && obj.equals(newRow(index));
+        }
+    }
+
+    /**
+     * Объект набора, являющийся представлением одной из его строк.
+     * Равен любому объекту с тем же идентификатором и тем же множеством параметров
+     */
+    class Row implements UnclassifiedObject {
+
+        /**
+         * Индекс строки
+         */
+        final int index;
+
+        Row(int index) {
+            this.index = index;
+        }
+
+        ColumnarUnclassifiedDataImpl dataset() {
+            return ColumnarUnclassifiedDataImpl.this;
+        }
+
+        @Override
+        public String id() {
+            return ids[index];
+        }
+
+        @Override
+        public Set<Parameter<?>> parameters() {
+            Set<Parameter<?>> parameters = new LinkedHashSet<>();
+
+            for (int j = 0; j < paramNames.length; j++) {
+                parameters.add(new ParameterImpl<>(paramNames[j], value(index, j), BasicDataTypes.REAL));
+            }
+
+            return Collections.unmodifiableSet(parameters);
+        }
+
+        /**
+         * Хэш-код вычислен при создании набора и совпадает с хэш-кодом равного ему объекта
+         * {@link UnclassifiedObjectImpl}
+         */
+        @Override
+        public int hashCode() {
+            return rowHashes[index];
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+
+            if (obj instanceof Row && ((Row) obj).dataset() == dataset()) {
+                return index == ((Row) obj).index;
+            }
+
+            // строки поколоночных наборов с одинаковой схемой сравниваются без формирования параметров
+            if (obj instanceof Row && Arrays.equals(paramNames, ((Row) obj).dataset().paramNames)) {
+                Row other = (Row) obj;
+
+                if (rowHashes[index] != other.dataset().rowHashes[other.index]
+                        || !ids[index].equals(other.dataset().ids[other.index])) {
+                    return false;
+                }
+
+                for (int j = 0; j < paramNames.length; j++) {
+                    if (Double.compare(value(index, j), other.dataset().value(other.index, j)) != 0) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+
+            if (obj == null || !(obj instanceof UnclassifiedObject)) {
+                return false;
+            }
+
+            UnclassifiedObject other = (UnclassifiedObject) obj;
+            return ids[index].equals(other.id()) && parameters().equals(other.parameters());
+        }
+
+        @Override
+        public String toString() {
+            return String.join(":", ids[index], parameters().toString());
+        }
+    }
+}
@@ -20,12 +20,17 @@ package ru.spbftu.igorbotian.phdapp.common.impl;
 
 import ru.spbftu.igorbotian.phdapp.common.*;
 
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * Фабрика объектов предметной области
+ * Фабрика объектов предметной области.
+ * Создаваемые фабрикой объекты неизменяемы и вычисляют свой хэш-код однократно
  */
 class DataFactoryImpl implements DataFactory {
 
@@ -67,6 +72,16 @@ class DataFactoryImpl implements DataFactory {
         return new UnclassifiedDataImpl(classes, objects);
     }
 
+    public UnclassifiedData newUnclassifiedData(Set<? extends DataClass> classes, List<String> ids,
+                                                List<String> paramNames, double[][] columns) throws DataException {
+        return new ColumnarUnclassifiedDataImpl(classes, ids, paramNames, wrapCopies(columns));
+    }
+
+    public UnclassifiedData newUnclassifiedData(Set<? extends DataClass> classes, List<String> ids,
+                                                List<String> paramNames, DoubleBuffer[] columns) throws DataException {
+        return new ColumnarUnclassifiedDataImpl(classes, ids, paramNames, columns);
+    }
+
     public ClassifiedData newClassifiedData(Set<? extends DataClass> classes,
                                                    Set<? extends ClassifiedObject> objects) throws DataException {
         return new ClassifiedDataImpl(classes, objects);
@@ -77,7 +92,30 @@ class DataFactoryImpl implements DataFactory {
         return new PointwiseTrainingSetImpl(classes, objects);
     }
 
+    public PointwiseTrainingSet newPointwiseTrainingSet(Set<? extends DataClass> classes, List<String> ids,
+                                                        List<String> paramNames, double[][] columns,
+                                                        List<? extends DataClass> realClasses) throws DataException {
+        return new ColumnarPointwiseTrainingSetImpl(classes, ids, paramNames, wrapCopies(columns), realClasses);
+    }
+
+    public PointwiseTrainingSet newPointwiseTrainingSet(Set<? extends DataClass> classes, List<String> ids,
+                                                        List<String> paramNames, DoubleBuffer[] columns,
+                                                        List<? extends DataClass> realClasses) throws DataException {
+        return new ColumnarPointwiseTrainingSetImpl(classes, ids, paramNames, columns, realClasses);
+    }
+
     public PairwiseTrainingSet newPairwiseTrainingSet(Set<? extends Judgement> objects) {
         return new PairwiseTrainingSetImpl(objects);
     }
+
+    private static DoubleBuffer[] wrapCopies(double[][] columns) {
+        Objects.requireNonNull(columns);
+        DoubleBuffer[] buffers = new DoubleBuffer[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            buffers[i] = DoubleBuffer.wrap(Arrays.copyOf(Objects.requireNonNull(columns[i]), columns[i].length));
+        }
+
+        return buffers;
+    }
 }
@@ -22,6 +22,7 @@ import ru.spbftu.igorbotian.phdapp.common.Judgement;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 
@@ -41,10 +42,16 @@ class JudgementImpl implements Judgement {
      */
     private final Set<? extends UnclassifiedObject> inferior;
 
+    /**
+     * Хэш-код оценки (оценка неизменяема, поэтому хэш-код вычисляется однократно)
+     */
+    private final int hash;
+
     public JudgementImpl(Set<? extends UnclassifiedObject> preferable,
                          Set<? extends UnclassifiedObject> inferior) {
-        this.preferable = Collections.unmodifiableSet(Objects.requireNonNull(preferable));
-        this.inferior = Collections.unmodifiableSet(Objects.requireNonNull(inferior));
+        this.preferable = Collections.unmodifiableSet(new LinkedHashSet<>(Objects.requireNonNull(preferable)));
+        this.inferior = Collections.unmodifiableSet(new LinkedHashSet<>(Objects.requireNonNull(inferior)));
+        this.hash = Objects.hash(this.preferable, this.inferior);
 
         checkSetsHaveDifferentItems();
     }
@@ -69,7 +76,7 @@ class JudgementImpl implements Judgement {
 
     @Override
     public int hashCode() {
-        return Objects.hash(preferable, inferior);
+        return hash;
     }
 
     @Override
@@ -83,7 +90,8 @@ class JudgementImpl implements Judgement {
         }
 
         JudgementImpl other = (JudgementImpl) obj;
-        return preferable.size() == other.preferable.size()
+        return hash == other.hash
+                && preferable.size() == other.preferable.size()
                 && preferable.containsAll(other.preferable)
                 && inferior.size() == other.inferior.size()
                 && inferior.containsAll(other.inferior);
@@ -44,6 +44,11 @@ class ParameterImpl<V> implements Parameter<V> {
      */
     private final DataType<V> valueType;
 
+    /**
+     * Хэш-код параметра (параметр неизменяем, поэтому хэш-код вычисляется однократно)
+     */
+    private final int hash;
+
     public ParameterImpl(String name, V value, DataType<V> valueType) {
         Objects.requireNonNull(name);
         Objects.requireNonNull(value);
@@ -56,6 +61,7 @@ class ParameterImpl<V> implements Parameter<V> {
         this.name = name;
         this.value = value;
         this.valueType = valueType;
+        this.hash = Objects.hash(name, value);
     }
 
     @Override
@@ -75,7 +81,7 @@ class ParameterImpl<V> implements Parameter<V> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, value);
+        return hash;
     }
 
     @Override
@@ -84,12 +90,13 @@ class ParameterImpl<V> implements Parameter<V> {
             return true;
         }
 
-        if (obj == null || !(obj instanceof Parameter)) {
+        if (obj == null || !(obj instanceof ParameterImpl)) {
             return false;
         }
 
         ParameterImpl other = (ParameterImpl) obj;
-        return name.equals(other.name) && value.equals(other.value) && valueType.equals(other.valueType);
+        return hash == other.hash
+                && name.equals(other.name) && value.equals(other.value) && valueType.equals(other.valueType);
     }
 
     @Override
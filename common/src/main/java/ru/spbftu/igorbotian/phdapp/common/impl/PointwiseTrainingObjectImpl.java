@@ -36,12 +36,18 @@ class PointwiseTrainingObjectImpl extends UnclassifiedObjectImpl implements Poin
      */
     private final DataClass realClass;
 
+    /**
+     * Хэш-код объекта (объект неизменяем, поэтому хэш-код вычисляется однократно)
+     */
+    private final int hash;
+
     public PointwiseTrainingObjectImpl(String id, Set<Parameter<?>> params, DataClass realClass) {
 
         super(id, params);
 
         Objects.requireNonNull(realClass);
         this.realClass = realClass;
+        this.hash = Objects.hash(super.hashCode(), realClass);
     }
 
     @Override
@@ -51,7 +57,7 @@ class PointwiseTrainingObjectImpl extends UnclassifiedObjectImpl implements Poin
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), realClass);
+        return hash;
     }
 
     @Override
@@ -60,12 +66,12 @@ class PointwiseTrainingObjectImpl extends UnclassifiedObjectImpl implements Poin
             return true;
         }
 
-        if (obj == null || !(obj instanceof PointwiseTrainingObjectImpl)) {
+        if (obj == null || !(obj instanceof PointwiseTrainingObject)) {
             return false;
         }
 
-        PointwiseTrainingObjectImpl other = (PointwiseTrainingObjectImpl) obj;
-        return super.equals(other) && realClass.equals(other.realClass);
+        PointwiseTrainingObject other = (PointwiseTrainingObject) obj;
+        return super.equals(other) && realClass.equals(other.realClass());
     }
 
     @Override
@@ -76,15 +76,15 @@ class UnclassifiedDataImpl implements UnclassifiedData {
         Map<String, DataType<?>> referentParamsMap = paramsMapOf(it.next());
 
         while (it.hasNext()) {
-            Map<String, DataType<?>> paramsMap = paramsMapOf(it.next());
+            Set<Parameter<?>> params = it.next().parameters();
 
-            if (paramsMap.size() != referentParamsMap.size()) {
+            if (params.size() != referentParamsMap.size()) {
                 return false;
             }
 
-            for (String paramName : paramsMap.keySet()) {
-                if (!referentParamsMap.containsKey(paramName)
-                        || !Objects.equals(paramsMap.get(paramName), referentParamsMap.get(paramName))) {
+            // при равенстве количества параметров достаточно убедиться, что каждый из них есть у эталонного объекта
+            for (Parameter<?> param : params) {
+                if (!Objects.equals(param.valueType(), referentParamsMap.get(param.name()))) {
                     return false;
                 }
             }
@@ -129,15 +129,17 @@ class UnclassifiedDataImpl implements UnclassifiedData {
             return true;
         }
 
-        if (obj == null || !(obj instanceof UnclassifiedDataImpl)) {
+        // наборы данных других реализаций (например, поколоночные) сравниваются по значению
+        if (obj == null || !(obj instanceof UnclassifiedData)
+                || (obj instanceof PointwiseTrainingSet) != (this instanceof PointwiseTrainingSet)) {
             return false;
         }
 
-        UnclassifiedDataImpl other = (UnclassifiedDataImpl) obj;
-        return (classes.size() == other.classes.size()
-                && classes.containsAll(other.classes))
-                && objects.size() == other.objects.size()
-                && objects.containsAll(other.objects);
+        UnclassifiedData other = (UnclassifiedData) obj;
+        return (classes.size() == other.classes().size()
+                && classes.containsAll(other.classes()))
+                && objects.size() == other.objects().size()
+                && objects.containsAll(other.objects());
     }
 
     @Override
@@ -22,6 +22,7 @@ import ru.spbftu.igorbotian.phdapp.common.Parameter;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 
@@ -41,6 +42,11 @@ class UnclassifiedObjectImpl implements UnclassifiedObject {
      */
     private final Set<Parameter<?>> parameters;
 
+    /**
+     * Хэш-код объекта (объект неизменяем, поэтому хэш-код вычисляется однократно)
+     */
+    private final int hash;
+
     public UnclassifiedObjectImpl(String id, Set<Parameter<?>> params) {
         Objects.requireNonNull(id);
         Objects.requireNonNull(params);
@@ -54,7 +60,8 @@ class UnclassifiedObjectImpl implements UnclassifiedObject {
         }
 
         this.id = id;
-        this.parameters = Collections.unmodifiableSet(params);
+        this.parameters = Collections.unmodifiableSet(new LinkedHashSet<>(params));
+        this.hash = Objects.hash(id, parameters);
     }
 
     @Override
@@ -69,7 +76,7 @@ class UnclassifiedObjectImpl implements UnclassifiedObject {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, parameters);
+        return hash;
     }
 
     @Override
@@ -78,14 +85,21 @@ class UnclassifiedObjectImpl implements UnclassifiedObject {
             return true;
         }
 
+        if (obj instanceof UnclassifiedObjectImpl) {
+            UnclassifiedObjectImpl other = (UnclassifiedObjectImpl) obj;
+            return hash == other.hash
+                    && id.equals(other.id)
+                    && parameters.size() == other.parameters.size()
+                    && parameters.containsAll(other.parameters);
+        }
+
+        // объекты других реализаций (например, строки поколоночного набора данных) сравниваются по значению
         if (obj == null || !(obj instanceof UnclassifiedObject)) {
             return false;
         }
 
-        UnclassifiedObjectImpl other = (UnclassifiedObjectImpl) obj;
-        return id.equals(other.id)
-                && parameters.size() == other.parameters.size()
-                && parameters.containsAll(other.parameters);
+        UnclassifiedObject other = (UnclassifiedObject) obj;
+        return id.equals(other.id()) && parameters.equals(other.parameters());
     }
 
     @Override
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.common;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * Модульные тесты для поколоночного представления наборов данных
+ *
+ * @see DataFactory#newUnclassifiedData(Set, List, List, double[][])
+ * @see DataFactory#newPointwiseTrainingSet(Set, List, List, double[][], List)
+ */
+public class ColumnarDataTest extends BaseDataTest<UnclassifiedData> {
+
+    private final List<String> ids = Arrays.asList("first", "second", "third");
+    private final List<String> paramNames = Arrays.asList("x", "y");
+    private final double[][] columns = {{1.0, 2.0, 3.0}, {-1.0, -2.0, -3.0}};
+
+    private Set<DataClass> setOfClasses;
+    private UnclassifiedData data;
+
+    @Before
+    public void setUp() throws DataException {
+        setOfClasses = new LinkedHashSet<>(randomClasses(2));
+        data = dataFactory.newUnclassifiedData(setOfClasses, ids, paramNames, columns);
+    }
+
+    @Test
+    public void testObjects() {
+        Assert.assertEquals(setOfClasses, data.classes());
+        Assert.assertEquals(ids.size(), data.objects().size());
+
+        Iterator<? extends UnclassifiedObject> it = data.objects().iterator();
+
+        for (int i = 0; i < ids.size(); i++) {
+            UnclassifiedObject obj = it.next();
+            UnclassifiedObject expected = newObject(i);
+
+            Assert.assertEquals(ids.get(i), obj.id());
+            Assert.assertEquals(expected.parameters(), obj.parameters());
+            Assert.assertEquals(expected, obj);
+            Assert.assertEquals(obj, expected);
+            Assert.assertEquals(expected.hashCode(), obj.hashCode());
+            Assert.assertTrue(data.objects().contains(obj));
+            Assert.assertTrue(data.objects().contains(expected));
+        }
+
+        Assert.assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testEqualsToObjectBasedData() throws DataException {
+        Set<UnclassifiedObject> objects = new LinkedHashSet<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            objects.add(newObject(i));
+        }
+
+        UnclassifiedData objectBased = dataFactory.newUnclassifiedData(setOfClasses, objects);
+
+        Assert.assertEquals(objectBased.objects(), data.objects());
+        Assert.assertEquals(data.objects(), objectBased.objects());
+        Assert.assertEquals(objectBased.objects().hashCode(), data.objects().hashCode());
+    }
+
+    @Test
+    public void testColumnsAreCopied() throws DataException {
+        double[][] columns = {{1.0}, {2.0}};
+        UnclassifiedData data = dataFactory.newUnclassifiedData(setOfClasses, Collections.singletonList("obj"),
+                paramNames, columns);
+        columns[0][0] = 100.0;
+
+        Assert.assertTrue(data.objects().iterator().next().parameters().contains(
+                dataFactory.newParameter("x", 1.0, BasicDataTypes.REAL)));
+    }
+
+    @Test
+    public void testTrainingSet() throws DataException {
+        List<DataClass> classes = new ArrayList<>(setOfClasses);
+        List<DataClass> realClasses = Arrays.asList(classes.get(0), classes.get(1), classes.get(0));
+        PointwiseTrainingSet trainingSet = dataFactory.newPointwiseTrainingSet(setOfClasses, ids, paramNames,
+                columns, realClasses);
+
+        int i = 0;
+
+        for (PointwiseTrainingObject obj : trainingSet.objects()) {
+            PointwiseTrainingObject expected = dataFactory.newPointwiseTrainingObject(ids.get(i),
+                    newObject(i).parameters(), realClasses.get(i));
+
+            Assert.assertEquals(realClasses.get(i), obj.realClass());
+            Assert.assertEquals(expected, obj);
+            Assert.assertEquals(obj, expected);
+            Assert.assertEquals(expected.hashCode(), obj.hashCode());
+            i++;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTrainingSetWithForeignClass() throws DataException {
+        dataFactory.newPointwiseTrainingSet(setOfClasses, ids, paramNames, columns,
+                Arrays.asList(randomClass(), randomClass(), randomClass()));
+    }
+
+    @Test(expected = DataException.class)
+    public void testColumnOfWrongLength() throws DataException {
+        dataFactory.newUnclassifiedData(setOfClasses, ids, paramNames, new double[][]{{1.0, 2.0, 3.0}, {1.0}});
+    }
+
+    @Test(expected = DataException.class)
+    public void testDuplicateIds() throws DataException {
+        dataFactory.newUnclassifiedData(setOfClasses, Arrays.asList("obj", "obj"), Collections.singletonList("x"),
+                new double[][]{{1.0, 2.0}});
+    }
+
+    @Test
+    public void testEquals() throws DataException {
+        UnclassifiedData similarObj = dataFactory.newUnclassifiedData(setOfClasses, ids, paramNames, columns);
+        UnclassifiedData differentObj = dataFactory.newUnclassifiedData(setOfClasses, ids, paramNames,
+                new double[][]{{1.0, 2.0, 3.0}, {0.0, 0.0, 0.0}});
+
+        testEquals(data, differentObj, similarObj);
+        testHashCode(data, differentObj, similarObj);
+    }
+
+    @Test
+    public void testEqualsWithRowsInDifferentOrder() throws DataException {
+        UnclassifiedData reordered = dataFactory.newUnclassifiedData(setOfClasses,
+                Arrays.asList("third", "first", "second"), paramNames,
+                new double[][]{{3.0, 1.0, 2.0}, {-3.0, -1.0, -2.0}});
+
+        Assert.assertEquals(data, reordered);
+        Assert.assertEquals(reordered, data);
+        Assert.assertEquals(data.hashCode(), reordered.hashCode());
+    }
+
+    @Test
+    public void testContainsObjectWithSameIdAndOtherParameters() {
+        Set<Parameter<?>> params = Collections.singleton(dataFactory.newParameter("x", 1.0, BasicDataTypes.REAL));
+        Set<Parameter<?>> sameParams = newObject(0).parameters();
+
+        Assert.assertFalse(data.objects().contains(dataFactory.newUnclassifiedObject("first", params)));
+        Assert.assertFalse(data.objects().contains(dataFactory.newUnclassifiedObject("fourth", sameParams)));
+        Assert.assertFalse(data.objects().contains("first"));
+    }
+
+    private UnclassifiedObject newObject(int index) {
+        Set<Parameter<?>> params = new HashSet<>();
+
+        for (int j = 0; j < paramNames.size(); j++) {
+            params.add(dataFactory.newParameter(paramNames.get(j), columns[j][index], BasicDataTypes.REAL));
+        }
+
+        return dataFactory.newUnclassifiedObject(ids.get(index), params);
+    }
+}
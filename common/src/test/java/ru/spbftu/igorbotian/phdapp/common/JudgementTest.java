@@ -18,6 +18,7 @@
 
 package ru.spbftu.igorbotian.phdapp.common;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Collections;
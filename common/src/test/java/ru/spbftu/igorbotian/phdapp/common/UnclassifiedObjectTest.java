@@ -90,4 +90,17 @@ public class UnclassifiedObjectTest extends BaseDataTest<UnclassifiedObject> {
         testEquals(obj, differentObj, similarObj);
         testEquals(obj, objWithSameNameAndDifferentParams, similarObj);
     }
+
+    @Test
+    public void testHashCodeIsNotAffectedBySourceSetModification() {
+        Set<Parameter<?>> params = new HashSet<>(setOfParams);
+        UnclassifiedObject obj = dataFactory.newUnclassifiedObject("obj", params);
+        int hashCode = obj.hashCode();
+
+        params.add(dataFactory.newParameter(randomString(), randomString(), BasicDataTypes.STRING));
+
+        Assert.assertEquals(hashCode, obj.hashCode());
+        Assert.assertEquals(setOfParams.size(), obj.parameters().size());
+        Assert.assertEquals(similarObj, obj);
+    }
 }
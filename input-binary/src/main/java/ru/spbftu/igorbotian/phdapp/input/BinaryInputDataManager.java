@@ -0,0 +1,446 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.input;
+
+import com.google.inject.Singleton;
+import ru.spbftu.igorbotian.phdapp.common.*;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Реализация средства для работы с исходными данными, использующая двоичный поколоночный формат.
+ * Формат предназначен для наборов данных, объекты которых имеют одинаковые вещественнозначные параметры.
+ * <p>
+ * Файл состоит из заголовка (сигнатура, версия формата, классы классификации) и двух разделов: множества объектов,
+ * подлежащих классификации, и обучающей выборки. Каждый раздел содержит количество объектов и параметров,
+ * названия параметров (схему раздела), идентификаторы объектов, для обучающей выборки - номера реальных классов
+ * объектов, а затем значения каждого параметра всех объектов подряд, выровненные по границе 8 байт.
+ * Целые и вещественные числа записываются в порядке байтов little-endian, строки - длиной в байтах
+ * и содержимым в кодировке UTF-8.
+ * <p>
+ * Файл отображается в память, и колонки значений параметров используются наборами данных непосредственно,
+ * без чтения и копирования, поэтому загрузка набора данных сводится к чтению заголовков и идентификаторов.
+ * Файл перезаписывается путём замены новым файлом, чтобы не изменять содержимое уже отображённых в память файлов.
+ *
+ * @see ru.spbftu.igorbotian.phdapp.input.InputDataManager
+ * @see ru.spbftu.igorbotian.phdapp.input.FileBasedInputDataManager
+ */
+@Singleton
+class BinaryInputDataManager extends FileBasedInputDataManager {
+
+    /**
+     * Расширение файлов в двоичном формате
+     */
+    private static final String BINARY_FILE_EXT = "bin";
+
+    /**
+     * Сигнатура файла ("PHDB")
+     */
+    static final int MAGIC = 0x50484442;
+
+    /**
+     * Версия формата
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Порядок байтов в файле
+     */
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Размер буфера записи
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Фабрика объектов предметной области
+     */
+    private final DataFactory dataFactory;
+
+    /**
+     * Фабрика объектов исходных данных
+     */
+    private final InputDataFactory inputDataFactory;
+
+    @Inject
+    BinaryInputDataManager(ApplicationConfiguration config, DataFactory dataFactory,
+                           InputDataFactory inputDataFactory) {
+        super(Objects.requireNonNull(config), BINARY_FILE_EXT);
+
+        this.dataFactory = Objects.requireNonNull(dataFactory);
+        this.inputDataFactory = Objects.requireNonNull(inputDataFactory);
+    }
+
+    @Override
+    protected PointwiseInputData deserialize(Path file) throws IOException, DataException {
+        Objects.requireNonNull(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataException("Input data file is too large: " + file);
+            }
+
+            // отображение остаётся действительным и после закрытия канала
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    protected PointwiseInputData deserialize(InputStream stream) throws IOException, DataException {
+        Objects.requireNonNull(stream);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[WRITE_BUFFER_SIZE];
+        int read;
+
+        while ((read = stream.read(chunk)) != -1) {
+            bytes.write(chunk, 0, read);
+        }
+
+        return decode(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    @Override
+    protected void serialize(PointwiseInputData data, Path file) throws IOException, DataException {
+        Objects.requireNonNull(data);
+        Objects.requireNonNull(file);
+
+        Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+
+        try {
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                serialize(data, stream);
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    protected void serialize(PointwiseInputData data, OutputStream stream) throws IOException, DataException {
+        Objects.requireNonNull(data);
+        Objects.requireNonNull(stream);
+
+        List<DataClass> classes = new ArrayList<>(data.classes());
+        Encoder encoder = new Encoder(Channels.newChannel(stream));
+
+        encoder.putInt(MAGIC);
+        encoder.putInt(VERSION);
+        encoder.putInt(classes.size());
+
+        for (DataClass clazz : classes) {
+            encoder.putString(clazz.name());
+        }
+
+        encodeSection(encoder, data.testingSet(), null);
+        encodeSection(encoder, data.trainingSet(), classes);
+        encoder.flush();
+    }
+
+    //-------------------------------------------------------------------------
+
+    private void encodeSection(Encoder encoder, Set<? extends UnclassifiedObject> objects, List<DataClass> classes)
+            throws IOException, DataException {
+
+        List<String> paramNames = objects.isEmpty() ? Collections.emptyList()
+                : new ArrayList<>(paramNamesOf(objects.iterator().next()));
+        Map<String, Integer> columnIndices = new HashMap<>();
+
+        for (int j = 0; j < paramNames.size(); j++) {
+            columnIndices.put(paramNames.get(j), j);
+        }
+
+        double[][] columns = new double[paramNames.size()][objects.size()];
+        int i = 0;
+
+        encoder.putInt(objects.size());
+        encoder.putInt(paramNames.size());
+
+        for (String name : paramNames) {
+            encoder.putString(name);
+        }
+
+        for (UnclassifiedObject obj : objects) {
+            if (obj.parameters().size() != paramNames.size()) {
+                throw new DataException("All objects should have the same parameters: " + obj.id());
+            }
+
+            for (Parameter<?> param : obj.parameters()) {
+                Integer j = columnIndices.get(param.name());
+
+                if (j == null || param.valueType() != BasicDataTypes.REAL) {
+                    throw new DataException("Binary format supports only objects with the same real-valued parameters: "
+                            + obj.id());
+                }
+
+                columns[j][i] = (Double) param.value();
+            }
+
+            encoder.putString(obj.id());
+            i++;
+        }
+
+        if (classes != null) {
+            for (UnclassifiedObject obj : objects) {
+                int classIndex = classes.indexOf(((PointwiseTrainingObject) obj).realClass());
+
+                if (classIndex < 0) {
+                    throw new DataException("Unknown real class of object " + obj.id());
+                }
+
+                encoder.putInt(classIndex);
+            }
+        }
+
+        encoder.align(Double.BYTES);
+
+        for (double[] column : columns) {
+            for (double value : column) {
+                encoder.putDouble(value);
+            }
+        }
+    }
+
+    private static Set<String> paramNamesOf(UnclassifiedObject obj) {
+        Set<String> names = new LinkedHashSet<>();
+        obj.parameters().forEach(param -> names.add(param.name()));
+        return names;
+    }
+
+    private PointwiseInputData decode(ByteBuffer buffer) throws DataException {
+        buffer.order(BYTE_ORDER);
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new DataException("Input data file has unknown format");
+            }
+
+            int version = buffer.getInt();
+
+            if (version != VERSION) {
+                throw new DataException("Unsupported version of input data file format: " + version);
+            }
+
+            int classesCount = getCount(buffer);
+            List<DataClass> classes = new ArrayList<>(classesCount);
+
+            for (int k = 0; k < classesCount; k++) {
+                classes.add(dataFactory.newClass(getString(buffer)));
+            }
+
+            Set<DataClass> classSet = new LinkedHashSet<>(classes);
+            Section testingSet = decodeSection(buffer, classes, false);
+            Section trainingSet = decodeSection(buffer, classes, true);
+
+            return inputDataFactory.newPointwiseData(
+                    dataFactory.newPointwiseTrainingSet(classSet, trainingSet.ids, trainingSet.paramNames,
+                            trainingSet.columns, trainingSet.realClasses),
+                    dataFactory.newUnclassifiedData(classSet, testingSet.ids, testingSet.paramNames,
+                            testingSet.columns));
+        } catch (BufferUnderflowException e) {
+            throw new DataException("Unexpected end of input data file", e);
+        }
+    }
+
+    private Section decodeSection(ByteBuffer buffer, List<DataClass> classes, boolean training)
+            throws DataException {
+
+        Section section = new Section();
+        int rows = getCount(buffer);
+        int columns = getCount(buffer);
+
+        for (int j = 0; j < columns; j++) {
+            section.paramNames.add(getString(buffer));
+        }
+
+        for (int i = 0; i < rows; i++) {
+            section.ids.add(getString(buffer));
+        }
+
+        if (training) {
+            for (int i = 0; i < rows; i++) {
+                int classIndex = buffer.getInt();
+
+                if (classIndex < 0 || classIndex >= classes.size()) {
+                    throw new DataException("Unknown real class of object " + section.ids.get(i));
+                }
+
+                section.realClasses.add(classes.get(classIndex));
+            }
+        }
+
+        align(buffer, Double.BYTES);
+        section.columns = new DoubleBuffer[columns];
+
+        for (int j = 0; j < columns; j++) {
+            section.columns[j] = getDoubles(buffer, rows);
+        }
+
+        return section;
+    }
+
+    private static int getCount(ByteBuffer buffer) throws DataException {
+        int count = buffer.getInt();
+
+        if (count < 0) {
+            throw new DataException("Input data file is corrupted");
+        }
+
+        return count;
+    }
+
+    private static String getString(ByteBuffer buffer) throws DataException {
+        int length = getCount(buffer);
+
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Представление заданного количества вещественных чисел, начиная с текущей позиции буфера, без их копирования
+     */
+    private static DoubleBuffer getDoubles(ByteBuffer buffer, int count) {
+        if ((long) count * Double.BYTES > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        ByteBuffer slice = buffer.slice().order(BYTE_ORDER);
+        slice.limit(count * Double.BYTES);
+        buffer.position(buffer.position() + count * Double.BYTES);
+
+        return slice.asDoubleBuffer();
+    }
+
+    private static void align(ByteBuffer buffer, int alignment) {
+        int padding = padding(buffer.position(), alignment);
+
+        if (padding > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        buffer.position(buffer.position() + padding);
+    }
+
+    private static int padding(long position, int alignment) {
+        return (int) ((alignment - position % alignment) % alignment);
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Раздел файла, соответствующий одному набору объектов
+     */
+    private static class Section {
+
+        final List<String> paramNames = new ArrayList<>();
+        final List<String> ids = new ArrayList<>();
+        final List<DataClass> realClasses = new ArrayList<>();
+        DoubleBuffer[] columns;
+    }
+
+    /**
+     * Средство буферизованной записи данных в формате файла
+     */
+    private static class Encoder {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(BYTE_ORDER);
+
+        /**
+         * Количество уже записанных в канал байтов
+         */
+        private long written = 0;
+
+        Encoder(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensureRemaining(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+
+            if (bytes.length > buffer.remaining()) {
+                flush();
+                write(ByteBuffer.wrap(bytes));
+            } else {
+                buffer.put(bytes);
+            }
+        }
+
+        void align(int alignment) throws IOException {
+            int padding = padding(written + buffer.position(), alignment);
+            ensureRemaining(padding);
+            buffer.put(new byte[padding]);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void write(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                written += channel.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.input;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.spbftu.igorbotian.phdapp.common.*;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Модульные тесты для класса <code>BinaryInputDataManager</code>
+ *
+ * @see ru.spbftu.igorbotian.phdapp.input.BinaryInputDataManager
+ */
+public class BinaryInputDataManagerTest {
+
+    /**
+     * Объект тестируемого класса
+     */
+    private BinaryInputDataManager dataManager;
+
+    /**
+     * Фабрика объектов предметной области
+     */
+    private DataFactory dataFactory;
+
+    /**
+     * Фабрика объектов исходных данных
+     */
+    private InputDataFactory inputDataFactory;
+
+    /**
+     * Классы классификации
+     */
+    private Set<DataClass> classes;
+
+    /**
+     * Директория для хранения наборов исходных данных
+     */
+    private Path dataFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        Injector injector = Guice.createInjector(new DataModule(), new InputDataModule());
+        dataFactory = injector.getInstance(DataFactory.class);
+        inputDataFactory = injector.getInstance(InputDataFactory.class);
+        dataManager = new BinaryInputDataManager(mockConfigWithNoProperties(), dataFactory, inputDataFactory);
+
+        dataFolder = Files.createTempDirectory("phdapp");
+        dataManager.setDefaultInputDataFolder(dataFolder);
+
+        classes = Stream.of(
+                dataFactory.newClass("firstClass"),
+                dataFactory.newClass("secondClass")
+        ).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private ApplicationConfiguration mockConfigWithNoProperties() {
+        ApplicationConfiguration config = EasyMock.createNiceMock(ApplicationConfiguration.class);
+
+        EasyMock.expect(config.hasParam(EasyMock.anyString())).andReturn(false);
+        EasyMock.replay(config);
+
+        return config;
+    }
+
+    private PointwiseInputData makeRealValuedData(int size, double shift) throws DataException {
+        Set<UnclassifiedObject> testingSet = new LinkedHashSet<>();
+        Set<PointwiseTrainingObject> trainingSet = new LinkedHashSet<>();
+        DataClass[] classArray = classes.toArray(new DataClass[classes.size()]);
+
+        for (int i = 0; i < size; i++) {
+            Set<Parameter<?>> params = Stream.of(
+                    dataFactory.newParameter("firstParam", shift + 0.5 * i, BasicDataTypes.REAL),
+                    dataFactory.newParameter("secondParam", -1.0 / (i + 1), BasicDataTypes.REAL)
+            ).collect(Collectors.toSet());
+
+            testingSet.add(dataFactory.newUnclassifiedObject("тестовый" + i, params));
+            trainingSet.add(dataFactory.newPointwiseTrainingObject("trainingObject" + i, params,
+                    classArray[i % classArray.length]));
+        }
+
+        return inputDataFactory.newPointwiseData(classes, trainingSet, testingSet);
+    }
+
+    @Test
+    public void testSerializationMechanism() throws IOException, DataException {
+        PointwiseInputData data = makeRealValuedData(1000, 0.0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dataManager.serialize(data, bytes);
+        Assert.assertEquals(data, dataManager.deserialize(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testMemoryMappedLoading() throws IOException, DataException {
+        PointwiseInputData data = makeRealValuedData(100, 0.0);
+
+        dataManager.save("dataset", data);
+        PointwiseInputData loaded = dataManager.getById("dataset");
+        Assert.assertEquals(data, loaded);
+
+        // перезапись файла не должна затрагивать уже загруженный из него набор данных
+        PointwiseInputData otherData = makeRealValuedData(50, 10.0);
+        dataManager.save("dataset", otherData);
+
+        Assert.assertEquals(data, loaded);
+        Assert.assertEquals(otherData, dataManager.getById("dataset"));
+    }
+
+    @Test(expected = DataException.class)
+    public void testSerializationOfNonRealValuedData() throws IOException, DataException {
+        Set<Parameter<?>> params = Stream.of(
+                dataFactory.newParameter("firstParam", "firstValue", BasicDataTypes.STRING)
+        ).collect(Collectors.toSet());
+        Set<UnclassifiedObject> testingSet = Stream.of(
+                dataFactory.newUnclassifiedObject("firstObject", params)
+        ).collect(Collectors.toSet());
+        Set<PointwiseTrainingObject> trainingSet = Stream.of(
+                dataFactory.newPointwiseTrainingObject("secondObject", params, classes.iterator().next())
+        ).collect(Collectors.toSet());
+
+        dataManager.serialize(inputDataFactory.newPointwiseData(classes, trainingSet, testingSet),
+                new ByteArrayOutputStream());
+    }
+
+    @Test(expected = DataException.class)
+    public void testDeserializationOfUnknownFormat() throws IOException, DataException {
+        dataManager.deserialize(new ByteArrayInputStream("{\"classes\":[]}".getBytes()));
+    }
+
+    @Test(expected = DataException.class)
+    public void testDeserializationOfTruncatedData() throws IOException, DataException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dataManager.serialize(makeRealValuedData(10, 0.0), bytes);
+
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 8);
+        dataManager.deserialize(new ByteArrayInputStream(truncated));
+    }
+}
@@ -19,7 +19,6 @@
 package ru.spbftu.igorbotian.phdapp.input;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import com.google.inject.Singleton;
 import ru.spbftu.igorbotian.phdapp.common.DataException;
 import ru.spbftu.igorbotian.phdapp.common.DataFactory;
@@ -77,12 +76,8 @@ class JsonInputDataManager extends FileBasedInputDataManager {
     protected PointwiseInputData deserialize(InputStream stream) throws IOException, DataException {
         Objects.requireNonNull(stream);
 
-        try {
-            return gson.fromJson(new InputStreamReader(stream, StandardCharsets.UTF_8),
-                    PointwiseInputDataPDU.class).toObject(dataFactory, inputDataFactory);
-        } catch (JsonSyntaxException e) {
-            throw new DataException("Failed to deserialize input data", e);
-        }
+        return new JsonInputDataReader(dataFactory, inputDataFactory)
+                .read(new InputStreamReader(stream, StandardCharsets.UTF_8));
     }
 
     @Override
@@ -0,0 +1,452 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.input;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import ru.spbftu.igorbotian.phdapp.common.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.DoubleBuffer;
+import java.util.*;
+
+/**
+ * Потоковое чтение исходных данных для поточечной классификации в формате JSON.
+ * В отличие от преобразования всего документа в дерево объектов передачи данных (PDU), объекты читаются
+ * по одному непосредственно из потока. Пока все объекты набора имеют одинаковый список вещественнозначных
+ * параметров, их значения накапливаются в колонках без упаковки, и набор создаётся в поколоночном представлении;
+ * иначе набор формируется из обычных объектов предметной области.
+ * Формат документа совпадает с форматом, используемым {@link ru.spbftu.igorbotian.phdapp.common.pdu.PointwiseInputDataPDU}.
+ * Экземпляры класса не являются потокобезопасными и предназначены для чтения одного документа.
+ *
+ * @see ru.spbftu.igorbotian.phdapp.input.JsonInputDataManager
+ */
+final class JsonInputDataReader {
+
+    /**
+     * Начальная ёмкость колонок значений параметров
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Фабрика объектов предметной области
+     */
+    private final DataFactory dataFactory;
+
+    /**
+     * Фабрика объектов исходных данных
+     */
+    private final InputDataFactory inputDataFactory;
+
+    /**
+     * Классы классификации, уже встретившиеся в документе (по названиям)
+     */
+    private final Map<String, DataClass> classesByName = new HashMap<>();
+
+    JsonInputDataReader(DataFactory dataFactory, InputDataFactory inputDataFactory) {
+        this.dataFactory = Objects.requireNonNull(dataFactory);
+        this.inputDataFactory = Objects.requireNonNull(inputDataFactory);
+    }
+
+    /**
+     * Чтение исходных данных
+     *
+     * @param reader поток символов документа в формате JSON
+     * @return исходные данные для поточечной классификации
+     * @throws IOException   в случае ошибки чтения из потока
+     * @throws DataException если документ имеет некорректный формат или содержит некорректные данные
+     */
+    PointwiseInputData read(Reader reader) throws IOException, DataException {
+        Objects.requireNonNull(reader);
+
+        JsonReader json = new JsonReader(reader);
+        json.setLenient(true); // как и при преобразовании средствами Gson
+
+        try {
+            Set<DataClass> classes = null;
+            ObjectSetBuilder testingSet = null;
+            ObjectSetBuilder trainingSet = null;
+
+            json.beginObject();
+
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "classes":
+                        classes = readClasses(json);
+                        break;
+                    case "testingSet":
+                        testingSet = readObjects(json, false);
+                        break;
+                    case "trainingSet":
+                        trainingSet = readObjects(json, true);
+                        break;
+                    default:
+                        json.skipValue();
+                }
+            }
+
+            json.endObject();
+
+            if (classes == null || testingSet == null || trainingSet == null) {
+                throw new DataException("Input data should contain classes, testing set and training set");
+            }
+
+            return inputDataFactory.newPointwiseData(trainingSet.buildTrainingSet(classes),
+                    testingSet.buildTestingSet(classes));
+        } catch (IllegalStateException | NumberFormatException | MalformedJsonException | EOFException e) {
+            throw new DataException("Failed to deserialize input data", e);
+        }
+    }
+
+    private Set<DataClass> readClasses(JsonReader json) throws IOException, DataException {
+        Set<DataClass> classes = new LinkedHashSet<>();
+        json.beginArray();
+
+        while (json.hasNext()) {
+            classes.add(dataClass(readName(json)));
+        }
+
+        json.endArray();
+        return classes;
+    }
+
+    private DataClass dataClass(String name) {
+        return classesByName.computeIfAbsent(name, dataFactory::newClass);
+    }
+
+    /**
+     * Чтение JSON-объекта, единственным значимым полем которого является название
+     * (описания классов классификации и типов данных)
+     */
+    private String readName(JsonReader json) throws IOException, DataException {
+        String name = null;
+        json.beginObject();
+
+        while (json.hasNext()) {
+            if ("name".equals(json.nextName())) {
+                name = json.nextString();
+            } else {
+                json.skipValue();
+            }
+        }
+
+        json.endObject();
+
+        if (name == null) {
+            throw new DataException("Name should be specified");
+        }
+
+        return name;
+    }
+
+    private ObjectSetBuilder readObjects(JsonReader json, boolean training) throws IOException, DataException {
+        ObjectSetBuilder builder = new ObjectSetBuilder(training);
+        PendingObject obj = new PendingObject();
+        json.beginArray();
+
+        while (json.hasNext()) {
+            obj.clear();
+            readObject(json, obj);
+            builder.add(obj);
+        }
+
+        json.endArray();
+        return builder;
+    }
+
+    private void readObject(JsonReader json, PendingObject obj) throws IOException, DataException {
+        json.beginObject();
+
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id":
+                    obj.id = json.nextString();
+                    break;
+                case "params":
+                    json.beginArray();
+
+                    while (json.hasNext()) {
+                        readParameter(json, obj);
+                    }
+
+                    json.endArray();
+                    break;
+                case "realClass":
+                    obj.realClass = dataClass(readName(json));
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+
+        json.endObject();
+
+        if (obj.id == null) {
+            throw new DataException("Object ID should be specified");
+        }
+    }
+
+    private void readParameter(JsonReader json, PendingObject obj) throws IOException, DataException {
+        String name = null;
+        String value = null;
+        String typeName = null;
+
+        json.beginObject();
+
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "name":
+                    name = json.nextString();
+                    break;
+                case "value":
+                    value = readRawValue(json);
+                    break;
+                case "valueType":
+                    typeName = readName(json);
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+
+        json.endObject();
+
+        if (name == null || value == null || typeName == null) {
+            throw new DataException("Parameter should have a name, a value and a value type");
+        }
+
+        DataTypeAdapter<?> adapter = DataTypeAdapterRegistry.INSTANCE.getTypeAdapterNamedAs(typeName);
+
+        if (adapter == null) {
+            throw new DataException("Unknown data type: " + typeName);
+        }
+
+        obj.paramNames.add(name);
+        obj.paramTypes.add(adapter);
+        obj.paramValues.add(value);
+    }
+
+    /**
+     * Чтение значения параметра в виде строки, которая затем преобразуется адаптером его типа данных
+     */
+    private String readRawValue(JsonReader json) throws IOException, DataException {
+        JsonToken token = json.peek();
+
+        switch (token) {
+            case NUMBER:
+            case STRING:
+                return json.nextString();
+            case BOOLEAN:
+                return Boolean.toString(json.nextBoolean());
+            default:
+                throw new DataException("Unsupported parameter value: " + token);
+        }
+    }
+
+    private <T> Parameter<T> newParameter(String name, DataTypeAdapter<T> adapter, String value)
+            throws DataException {
+
+        return dataFactory.newParameter(name, adapter.fromString(value), adapter.targetType());
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Прочитанный, но ещё не добавленный в набор объект (переиспользуется для всех объектов набора)
+     */
+    private static class PendingObject {
+
+        String id;
+        DataClass realClass;
+        final List<String> paramNames = new ArrayList<>();
+        final List<DataTypeAdapter<?>> paramTypes = new ArrayList<>();
+        final List<String> paramValues = new ArrayList<>();
+
+        void clear() {
+            id = null;
+            realClass = null;
+            paramNames.clear();
+            paramTypes.clear();
+            paramValues.clear();
+        }
+    }
+
+    /**
+     * Средство формирования набора объектов по мере их чтения
+     */
+    private class ObjectSetBuilder {
+
+        /**
+         * Является ли набор обучающей выборкой
+         */
+        private final boolean training;
+
+        /**
+         * Накапливаются ли объекты в поколоночном представлении
+         */
+        private boolean columnar = true;
+
+        /**
+         * Названия параметров объектов (задаются первым объектом набора)
+         */
+        private List<String> schema;
+
+        private final List<String> ids = new ArrayList<>();
+        private final Set<String> uniqueIds = new HashSet<>();
+        private final List<DataClass> realClasses = new ArrayList<>();
+        private double[][] columns;
+        private int size = 0;
+
+        /**
+         * Объекты набора в случае, если поколоночное представление неприменимо
+         */
+        private final Set<UnclassifiedObject> objects = new LinkedHashSet<>();
+        private final Set<PointwiseTrainingObject> trainingObjects = new LinkedHashSet<>();
+
+        ObjectSetBuilder(boolean training) {
+            this.training = training;
+        }
+
+        void add(PendingObject obj) throws DataException {
+            if (training && obj.realClass == null) {
+                throw new DataException("Real class of object " + obj.id + " should be specified");
+            }
+
+            if (columnar && !fitsColumns(obj)) {
+                switchToObjects();
+            }
+
+            if (columnar) {
+                addRow(obj);
+            } else {
+                addObject(obj.id, parameters(obj), obj.realClass);
+            }
+        }
+
+        private boolean fitsColumns(PendingObject obj) throws DataException {
+            if (!uniqueIds.add(obj.id) || obj.paramNames.isEmpty()) {
+                return false;
+            }
+
+            for (DataTypeAdapter<?> type : obj.paramTypes) {
+                if (type.targetType() != BasicDataTypes.REAL) {
+                    return false;
+                }
+            }
+
+            if (schema == null) {
+                schema = new ArrayList<>(obj.paramNames);
+                columns = new double[schema.size()][INITIAL_CAPACITY];
+                return new HashSet<>(schema).size() == schema.size();
+            }
+
+            return schema.equals(obj.paramNames);
+        }
+
+        private void addRow(PendingObject obj) throws DataException {
+            if (size == columns[0].length) {
+                for (int j = 0; j < columns.length; j++) {
+                    columns[j] = Arrays.copyOf(columns[j], 2 * size);
+                }
+            }
+
+            for (int j = 0; j < columns.length; j++) {
+                columns[j][size] = (Double) obj.paramTypes.get(j).fromString(obj.paramValues.get(j));
+            }
+
+            ids.add(obj.id);
+            realClasses.add(obj.realClass);
+            size++;
+        }
+
+        private Set<Parameter<?>> parameters(PendingObject obj) throws DataException {
+            Set<Parameter<?>> params = new LinkedHashSet<>();
+
+            for (int j = 0; j < obj.paramNames.size(); j++) {
+                params.add(newParameter(obj.paramNames.get(j), obj.paramTypes.get(j), obj.paramValues.get(j)));
+            }
+
+            return params;
+        }
+
+        private void addObject(String id, Set<Parameter<?>> params, DataClass realClass) {
+            if (training) {
+                trainingObjects.add(dataFactory.newPointwiseTrainingObject(id, params, realClass));
+            } else {
+                objects.add(dataFactory.newUnclassifiedObject(id, params));
+            }
+        }
+
+        /**
+         * Отказ от поколоночного представления с преобразованием уже накопленных строк в объекты
+         */
+        private void switchToObjects() {
+            for (int i = 0; i < size; i++) {
+                Set<Parameter<?>> params = new LinkedHashSet<>();
+
+                for (int j = 0; j < columns.length; j++) {
+                    params.add(dataFactory.newParameter(schema.get(j), columns[j][i], BasicDataTypes.REAL));
+                }
+
+                addObject(ids.get(i), params, realClasses.get(i));
+            }
+
+            columnar = false;
+            columns = null;
+            size = 0;
+            ids.clear();
+            uniqueIds.clear();
+            realClasses.clear();
+        }
+
+        /**
+         * Колонки значений без лишней ёмкости, оставшейся после их расширения
+         */
+        private DoubleBuffer[] buffers() {
+            DoubleBuffer[] buffers = new DoubleBuffer[columns.length];
+
+            for (int j = 0; j < columns.length; j++) {
+                buffers[j] = DoubleBuffer.wrap(size == columns[j].length ? columns[j] : Arrays.copyOf(columns[j], size));
+            }
+
+            return buffers;
+        }
+
+        UnclassifiedData buildTestingSet(Set<DataClass> classes) throws DataException {
+            if (columnar && size > 0) {
+                return dataFactory.newUnclassifiedData(classes, ids, schema, buffers());
+            }
+
+            switchToObjects();
+            return dataFactory.newUnclassifiedData(classes, objects);
+        }
+
+        PointwiseTrainingSet buildTrainingSet(Set<DataClass> classes) throws DataException {
+            if (columnar && size > 0 && classes.containsAll(realClasses)) {
+                return dataFactory.newPointwiseTrainingSet(classes, ids, schema, buffers(), realClasses);
+            }
+
+            switchToObjects();
+            return dataFactory.newPointwiseTrainingSet(classes, trainingObjects);
+        }
+    }
+}
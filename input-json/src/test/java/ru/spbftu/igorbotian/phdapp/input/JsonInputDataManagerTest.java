@@ -30,6 +30,9 @@ import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -51,6 +54,11 @@ public class JsonInputDataManagerTest {
      */
     private PointwiseInputData data;
 
+    /**
+     * Тестовый набор исходных данных, все параметры объектов которого являются вещественнозначными
+     */
+    private PointwiseInputData realData;
+
     @Before
     public void setUp() throws DataException {
         Injector injector = Guice.createInjector(new DataModule(), new InputDataModule());
@@ -76,6 +84,22 @@ public class JsonInputDataManagerTest {
         ).collect(Collectors.toSet());
 
         data = inputDataFactory.newPointwiseData(classes, trainingSet, testingSet);
+
+        Set<UnclassifiedObject> realTestingSet = new LinkedHashSet<>();
+        Set<PointwiseTrainingObject> realTrainingSet = new LinkedHashSet<>();
+
+        for (int i = 0; i < 50; i++) {
+            Set<Parameter<?>> realParams = Stream.of(
+                    dataFactory.newParameter("firstParam", 0.5 * i, BasicDataTypes.REAL),
+                    dataFactory.newParameter("secondParam", -1.0 / (i + 1), BasicDataTypes.REAL)
+            ).collect(Collectors.toSet());
+
+            realTestingSet.add(dataFactory.newUnclassifiedObject("testingObject" + i, realParams));
+            realTrainingSet.add(dataFactory.newPointwiseTrainingObject("trainingObject" + i, realParams,
+                    (i % 2 == 0) ? dataFactory.newClass("firstClass") : dataFactory.newClass("secondClass")));
+        }
+
+        realData = inputDataFactory.newPointwiseData(classes, realTrainingSet, realTestingSet);
     }
 
     private ApplicationConfiguration mockConfigWithNoProperties() {
@@ -93,4 +117,41 @@ public class JsonInputDataManagerTest {
         dataManager.serialize(data, json);
         Assert.assertEquals(data, dataManager.deserialize(new ByteArrayInputStream(json.toByteArray())));
     }
+
+    @Test
+    public void testSerializationOfRealValuedData() throws IOException, DataException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        dataManager.serialize(realData, json);
+
+        PointwiseInputData result = dataManager.deserialize(new ByteArrayInputStream(json.toByteArray()));
+        Assert.assertEquals(realData, result);
+        Assert.assertEquals(realData.testingSet(), result.testingSet());
+        Assert.assertEquals(realData.trainingSet(), result.trainingSet());
+    }
+
+    @Test
+    public void testDeserializationIgnoresUnknownFields() throws IOException, DataException {
+        String json = "{\"comment\":[1,{\"a\":2}],"
+                + "\"trainingSet\":[{\"id\":\"trainingObject\",\"realClass\":{\"name\":\"firstClass\"},"
+                + "\"params\":[{\"valueType\":{\"name\":\"real\"},\"value\":1.5,\"name\":\"param\"}]}],"
+                + "\"testingSet\":[{\"params\":[{\"name\":\"param\",\"value\":2.5,"
+                + "\"valueType\":{\"name\":\"real\"}}],\"id\":\"testingObject\"}],"
+                + "\"classes\":[{\"name\":\"firstClass\"},{\"name\":\"secondClass\"}]}";
+
+        PointwiseInputData result = dataManager.deserialize(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(2, result.classes().size());
+        Assert.assertEquals("testingObject", result.testingSet().iterator().next().id());
+        Assert.assertEquals("firstClass", result.trainingSet().iterator().next().realClass().name());
+    }
+
+    @Test(expected = DataException.class)
+    public void testDeserializationOfMalformedData() throws IOException, DataException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        dataManager.serialize(data, json);
+
+        byte[] truncated = Arrays.copyOf(json.toByteArray(), json.size() / 2);
+        dataManager.deserialize(new ByteArrayInputStream(truncated));
+    }
 }
\ No newline at end of file
@@ -24,6 +24,20 @@ public interface InputDataFactory {
                                         Set<? extends PointwiseTrainingObject> trainingSet,
                                         Set<? extends UnclassifiedObject> objects) throws DataException;
 
+    /**
+     * Создание объекта типа <code>PointwiseInputData</code> из уже сформированных наборов данных.
+     * Наборы используются без копирования, что позволяет сохранить их представление (например, поколоночное)
+     *
+     * @param trainingSet обучающая выборка
+     * @param testingSet  множество объектов, подлежащих классификации
+     * @return объект типа <code>PointwiseInputData</code>
+     * @throws DataException если обучающая выборка и множество объектов, подлежащих классификации,
+     *                       имеют различающиеся наборы классов
+     * @see ru.spbftu.igorbotian.phdapp.common.PointwiseInputData
+     */
+    PointwiseInputData newPointwiseData(PointwiseTrainingSet trainingSet,
+                                        UnclassifiedData testingSet) throws DataException;
+
     /**
      * Создание объекта типа <code>PairwiseInputData</code>
      *
@@ -49,6 +49,19 @@ class InputDataFactoryImpl implements InputDataFactory {
                 dataFactory.newPointwiseTrainingSet(classes, trainingSet));
     }
 
+    @Override
+    public PointwiseInputData newPointwiseData(PointwiseTrainingSet trainingSet,
+                                               UnclassifiedData testingSet) throws DataException {
+        Objects.requireNonNull(trainingSet);
+        Objects.requireNonNull(testingSet);
+
+        if (!trainingSet.classes().equals(testingSet.classes())) {
+            throw new DataException("Training and testing sets should have the same classes");
+        }
+
+        return new PointwiseInputDataImpl(testingSet, trainingSet);
+    }
+
     @Override
     public PairwiseInputData newPairwiseData(Set<? extends DataClass> classes,
                                              Set<? extends Judgement> trainingSet,
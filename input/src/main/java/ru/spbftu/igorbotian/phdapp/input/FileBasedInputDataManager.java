@@ -31,18 +31,18 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
- * Средство для работы с наборами исходных данных, хранящихся в виде файлов
+ * Средство для работы с наборами исходных данных, хранящихся в виде файлов.
+ * Перечень наборов поддерживается каталогом, отслеживающим изменения директории, а загруженные наборы
+ * кэшируются до изменения соответствующих им файлов
  *
+ * @see ru.spbftu.igorbotian.phdapp.input.InputDataCatalog
+ * @see ru.spbftu.igorbotian.phdapp.input.InputDataCache
  * @see ru.spbftu.igorbotian.phdapp.input.InputDataManager
  */
 public abstract class FileBasedInputDataManager implements InputDataManager, ShutdownHook {
@@ -57,6 +57,17 @@ public abstract class FileBasedInputDataManager implements InputDataManager, Shu
      */
     static final String DATA_FOLDER_CONFIG_SETTING = "phdapp.data.folder";
 
+    /**
+     * Настройка конфигурации приложения, указывающая ёмкость кэша наборов исходных данных
+     * (суммарное количество значений параметров объектов наборов)
+     */
+    static final String DATA_CACHE_SIZE_CONFIG_SETTING = "phdapp.data.cache.size";
+
+    /**
+     * Ёмкость кэша наборов исходных данных по умолчанию
+     */
+    static final int DEFAULT_DATA_CACHE_SIZE = 10_000_000;
+
     /**
      * Средства конфигурации приложения
      */
@@ -70,7 +81,17 @@ public abstract class FileBasedInputDataManager implements InputDataManager, Shu
     /**
      * Директория для хранения наборов исходных данных
      */
-    private Path dataFolder;
+    private volatile Path dataFolder;
+
+    /**
+     * Каталог наборов исходных данных, хранящихся в директории
+     */
+    private volatile InputDataCatalog catalog;
+
+    /**
+     * Кэш загруженных наборов исходных данных
+     */
+    private final InputDataCache cache;
 
     @Inject
     public FileBasedInputDataManager(ApplicationConfiguration config, String fileExtension) {
@@ -84,6 +105,10 @@ public abstract class FileBasedInputDataManager implements InputDataManager, Shu
         this.config = config;
         this.fileExtension = fileExtension;
         dataFolder = initDataFolder();
+        cache = new InputDataCache(config.hasParam(DATA_CACHE_SIZE_CONFIG_SETTING)
+                ? config.getInteger(DATA_CACHE_SIZE_CONFIG_SETTING)
+                : DEFAULT_DATA_CACHE_SIZE);
+        catalog = newCatalog(dataFolder);
     }
 
     private Path initDataFolder() {
@@ -99,6 +124,10 @@ public abstract class FileBasedInputDataManager implements InputDataManager, Shu
         return folder;
     }
 
+    private InputDataCatalog newCatalog(Path folder) {
+        return new InputDataCatalog(folder, fileExtension, cache::remove);
+    }
+
     /**
      * Получение директории для хранения наборов исходных данных по умолчанию
      *
@@ -114,35 +143,37 @@ public abstract class FileBasedInputDataManager implements InputDataManager, Shu
      * @param folder директория
      * @throws java.lang.NullPointerException если директория не задана
      */
-    public void setDefaultInputDataFolder(Path folder) {
+    public synchronized void setDefaultInputDataFolder(Path folder) {
         Objects.requireNonNull(folder);
+
+        closeCatalog();
         this.dataFolder = folder;
+        this.catalog = newCatalog(folder);
+        cache.clear();
     }
 
     @Override
     public void onExit() {
         config.setString(DATA_FOLDER_CONFIG_SETTING, dataFolder.toString());
+        closeCatalog();
     }
 
-    @Override
-    public Set<String> listIds() throws IOException {
-        Predicate<Path> byExtension = file -> file.getFileName().endsWith("." + fileExtension);
-        Function<Path, String> toFileName = file -> file.getFileName().toString();
-
-        if (!Files.exists(dataFolder)) {
-            return Collections.emptySet();
+    private void closeCatalog() {
+        try {
+            catalog.close();
+        } catch (IOException e) {
+            // отслеживание изменений директории прекращается в любом случае
         }
+    }
 
-        return Files.walk(dataFolder)
-                .filter(byExtension)
-                .map(toFileName)
-                .collect(
-                        Collectors.toCollection(LinkedHashSet::new)
-                );
+    @Override
+    public Set<String> listIds() throws IOException {
+        return catalog.ids();
     }
 
     @Override
     public PointwiseInputData getById(String id) throws IOException, DataException {
+        Objects.requireNonNull(id);
         Path targetFile = dataFolder.resolve(id + "." + fileExtension);
 
         if (!Files.exists(targetFile)) {
@@ -150,18 +181,68 @@ public abstract class FileBasedInputDataManager implements InputDataManager, Shu
                     + targetFile.toAbsolutePath().toString());
         }
 
-        return deserialize(Files.newInputStream(targetFile));
+        Object version = versionOf(targetFile);
+        PointwiseInputData data = cache.get(id, version);
+
+        if (data == null) {
+            data = deserialize(targetFile);
+            cache.put(id, version, data);
+        }
+
+        return data;
     }
 
     @Override
     public void save(String id, PointwiseInputData data) throws IOException, DataException {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(data);
         Path targetFile = dataFolder.resolve(id + "." + fileExtension);
 
         if (!Files.exists(dataFolder)) {
             Files.createDirectories(dataFolder);
         }
 
-        serialize(data, Files.newOutputStream(targetFile, StandardOpenOption.CREATE));
+        cache.remove(id);
+        serialize(data, targetFile);
+        catalog.add(id);
+    }
+
+    /**
+     * Версия файла, определяемая временем его изменения, размером и ключом (например, номером индексного дескриптора)
+     */
+    private static Object versionOf(Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        return Arrays.asList(attrs.lastModifiedTime(), attrs.size(), attrs.fileKey());
+    }
+
+    /**
+     * Десериализация набора исходных данных из заданного файла.
+     * По умолчанию файл читается как поток; реализации могут переопределить метод, чтобы, например,
+     * отобразить файл в память
+     *
+     * @param file файл, содержащий набор исходных данных
+     * @return набор исходных данных
+     * @throws java.io.IOException                              в случае проблемы чтения файла
+     * @throws ru.spbftu.igorbotian.phdapp.common.DataException если из данных, хранящихся в файле, невозможно сформировать набор исходных данных
+     */
+    protected PointwiseInputData deserialize(Path file) throws IOException, DataException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return deserialize(stream);
+        }
+    }
+
+    /**
+     * Сериализация заданного набора исходных данных в заданный файл (существующий файл перезаписывается)
+     *
+     * @param data набор исходных данных
+     * @param file файл
+     * @throws java.io.IOException                              в случае проблемы записи файла
+     * @throws ru.spbftu.igorbotian.phdapp.common.DataException в случае проблемы формирования сериализованного представления набора исходных данных
+     */
+    protected void serialize(PointwiseInputData data, Path file) throws IOException, DataException {
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            serialize(data, stream);
+        }
     }
 
     /**
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.input;
+
+import ru.spbftu.igorbotian.phdapp.common.PointwiseInputData;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Кэш загруженных наборов исходных данных с вытеснением давно не использовавшихся наборов (LRU).
+ * Размер набора оценивается количеством значений параметров его объектов; суммарный размер наборов в кэше
+ * не превышает заданной ёмкости. Каждый набор хранится вместе с версией файла, из которого он был загружен,
+ * и выдаётся только для той же версии файла.
+ */
+final class InputDataCache {
+
+    /**
+     * Максимальный суммарный размер наборов в кэше
+     */
+    private final long capacity;
+
+    /**
+     * Наборы исходных данных в порядке обращения к ним (от давних к недавним)
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Суммарный размер наборов в кэше
+     */
+    private long size = 0;
+
+    /**
+     * Создание кэша
+     *
+     * @param capacity максимальное суммарное количество значений параметров объектов наборов в кэше
+     *                 (нулевое значение отключает кэширование)
+     * @throws IllegalArgumentException если ёмкость отрицательна
+     */
+    InputDataCache(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative");
+        }
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Получение набора исходных данных из кэша
+     *
+     * @param id      идентификатор набора
+     * @param version версия файла, содержащего набор
+     * @return набор или <code>null</code>, если он отсутствует в кэше или был загружен из другой версии файла
+     */
+    synchronized PointwiseInputData get(String id, Object version) {
+        Entry entry = entries.get(Objects.requireNonNull(id));
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (!entry.version.equals(version)) {
+            remove(id);
+            return null;
+        }
+
+        return entry.data;
+    }
+
+    /**
+     * Помещение набора исходных данных в кэш с вытеснением давно не использовавшихся наборов.
+     * Набор, размер которого превышает ёмкость кэша, не кэшируется
+     */
+    synchronized void put(String id, Object version, PointwiseInputData data) {
+        Objects.requireNonNull(version);
+        Objects.requireNonNull(data);
+        remove(id);
+
+        long dataSize = sizeOf(data);
+
+        if (dataSize > capacity) {
+            return;
+        }
+
+        entries.put(id, new Entry(version, data, dataSize));
+        size += dataSize;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+
+        while (size > capacity) {
+            size -= eldest.next().size;
+            eldest.remove();
+        }
+    }
+
+    synchronized void remove(String id) {
+        Entry entry = entries.remove(Objects.requireNonNull(id));
+
+        if (entry != null) {
+            size -= entry.size;
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Оценка размера набора исходных данных (количество значений параметров его объектов)
+     */
+    static long sizeOf(PointwiseInputData data) {
+        return sizeOf(data.testingSet()) + sizeOf(data.trainingSet());
+    }
+
+    private static long sizeOf(Set<? extends UnclassifiedObject> objects) {
+        return objects.isEmpty() ? 0 : (long) objects.size() * Math.max(1, objects.iterator().next().parameters().size());
+    }
+
+    //-------------------------------------------------------------------------
+
+    private static class Entry {
+
+        final Object version;
+        final PointwiseInputData data;
+        final long size;
+
+        Entry(Object version, PointwiseInputData data, long size) {
+            this.version = version;
+            this.data = data;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.input;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Каталог наборов исходных данных, хранящихся в виде файлов с заданным расширением в заданной директории.
+ * Содержимое директории просматривается один раз, после чего каталог обновляется по событиям файловой системы
+ * ({@link java.nio.file.WatchService}), которые обрабатываются при очередном обращении к каталогу.
+ * Если файловая система не поддерживает отслеживание изменений или директорию не удалось зарегистрировать
+ * для отслеживания (например, при исчерпании лимита отслеживаемых директорий), то директория просматривается
+ * при каждом обращении.
+ * Вложенные директории не просматриваются.
+ */
+final class InputDataCatalog implements Closeable {
+
+    /**
+     * Директория для хранения наборов исходных данных
+     */
+    private final Path folder;
+
+    /**
+     * Окончание названий файлов, содержащих наборы исходных данных (точка и расширение)
+     */
+    private final String suffix;
+
+    /**
+     * Получатель идентификаторов наборов, файлы которых были созданы, изменены или удалены
+     */
+    private final Consumer<String> changeListener;
+
+    /**
+     * Идентификаторы наборов исходных данных
+     */
+    private final Set<String> ids = new TreeSet<>();
+
+    /**
+     * Средство отслеживания изменений директории (<code>null</code>, пока изменения не отслеживаются)
+     */
+    private WatchService watchService;
+
+    /**
+     * Возможно ли отслеживание изменений директории
+     */
+    private boolean watchSupported = true;
+
+    InputDataCatalog(Path folder, String fileExtension, Consumer<String> changeListener) {
+        this.folder = Objects.requireNonNull(folder);
+        this.suffix = "." + Objects.requireNonNull(fileExtension);
+        this.changeListener = Objects.requireNonNull(changeListener);
+    }
+
+    /**
+     * Получение идентификаторов наборов исходных данных, хранящихся в директории
+     *
+     * @return упорядоченное множество идентификаторов (не изменяется при дальнейших изменениях каталога)
+     * @throws IOException в случае проблемы просмотра директории
+     */
+    synchronized Set<String> ids() throws IOException {
+        if (watchService != null) {
+            processEvents();
+        } else if (!Files.isDirectory(folder)) {
+            ids.clear();
+        } else {
+            if (watchSupported) {
+                startWatching();
+            }
+
+            // при отслеживании изменений директория просматривается после регистрации, чтобы не пропустить изменения
+            scan();
+        }
+
+        return Collections.unmodifiableSet(new LinkedHashSet<>(ids));
+    }
+
+    /**
+     * Добавление в каталог набора, файл которого был только что записан
+     * (не дожидаясь поступления соответствующего события файловой системы)
+     */
+    synchronized void add(String id) {
+        ids.add(Objects.requireNonNull(id));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Начало отслеживания изменений директории.
+     * Средство отслеживания сохраняется лишь после успешной регистрации директории; в противном случае оно
+     * закрывается, и директория в дальнейшем просматривается при каждом обращении к каталогу
+     */
+    private void startWatching() {
+        WatchService service = null;
+
+        try {
+            service = folder.getFileSystem().newWatchService();
+            folder.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+        } catch (IOException | RuntimeException e) {
+            watchSupported = false;
+
+            if (service != null) {
+                try {
+                    service.close();
+                } catch (IOException ignored) {
+                    // средство отслеживания не использовалось, поэтому ошибка его закрытия ни на что не влияет
+                }
+            }
+        }
+    }
+
+    private void scan() throws IOException {
+        ids.clear();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+            for (Path file : files) {
+                String id = idOf(file);
+
+                if (id != null && Files.isRegularFile(file)) {
+                    ids.add(id);
+                }
+            }
+        }
+    }
+
+    private void processEvents() throws IOException {
+        WatchKey key;
+
+        while ((key = watchService.poll()) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    scan();
+                    continue;
+                }
+
+                String id = idOf((Path) event.context());
+
+                if (id == null) {
+                    continue;
+                }
+
+                if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                    ids.remove(id);
+                } else if (Files.isRegularFile(folder.resolve((Path) event.context()))) {
+                    ids.add(id);
+                }
+
+                changeListener.accept(id);
+            }
+
+            if (!key.reset()) {
+                // директория была удалена; отслеживание возобновится, когда она появится снова
+                close();
+                ids.clear();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Получение идентификатора набора исходных данных по названию файла
+     *
+     * @return идентификатор или <code>null</code>, если файл имеет другое расширение
+     */
+    private String idOf(Path file) {
+        String fileName = file.getFileName().toString();
+
+        return (fileName.endsWith(suffix) && fileName.length() > suffix.length())
+                ? fileName.substring(0, fileName.length() - suffix.length())
+                : null;
+    }
+}
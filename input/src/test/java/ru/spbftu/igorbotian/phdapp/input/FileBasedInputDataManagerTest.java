@@ -18,11 +18,12 @@
 
 package ru.spbftu.igorbotian.phdapp.input;
 
+import com.google.inject.Guice;
+import com.google.inject.Injector;
 import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
-import ru.spbftu.igorbotian.phdapp.common.DataException;
-import ru.spbftu.igorbotian.phdapp.common.PointwiseInputData;
+import ru.spbftu.igorbotian.phdapp.common.*;
 import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
 
 import java.io.IOException;
@@ -31,6 +32,13 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Модульные тесты для класса <code>FileBasedInputDataManager</code>
@@ -83,6 +91,106 @@ public class FileBasedInputDataManagerTest {
         }
     }
 
+    @Test
+    public void testListIds() throws IOException, DataException {
+        Path dataFolder = Files.createTempDirectory("phdapp");
+
+        try {
+            CountingInputDataManager instance = new CountingInputDataManager(mockConfigWithNoProperties());
+            instance.setDefaultInputDataFolder(dataFolder.resolve("data"));
+            Assert.assertTrue(instance.listIds().isEmpty());
+
+            Files.createDirectories(dataFolder.resolve("data").resolve("nested.any"));
+            Files.write(dataFolder.resolve("data").resolve("first.any"), new byte[1]);
+            Files.write(dataFolder.resolve("data").resolve("second.other"), new byte[1]);
+            Files.write(dataFolder.resolve("data").resolve(".any"), new byte[1]);
+            Assert.assertEquals(Collections.singleton("first"), instance.listIds());
+
+            instance.save("second", instance.data);
+            Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), instance.listIds());
+            instance.onExit();
+        } finally {
+            deleteRecursively(dataFolder);
+        }
+    }
+
+    @Test
+    public void testLoadedDataIsCached() throws IOException, DataException {
+        Path dataFolder = Files.createTempDirectory("phdapp");
+
+        try {
+            CountingInputDataManager instance = new CountingInputDataManager(mockConfigWithNoProperties());
+            instance.setDefaultInputDataFolder(dataFolder);
+            instance.save("first", instance.data);
+
+            Assert.assertSame(instance.data, instance.getById("first"));
+            Assert.assertSame(instance.data, instance.getById("first"));
+            Assert.assertEquals(1, instance.deserializations);
+
+            // изменённый файл загружается заново
+            Files.write(dataFolder.resolve("first.any"), new byte[2]);
+            instance.getById("first");
+            Assert.assertEquals(2, instance.deserializations);
+
+            instance.save("first", instance.data);
+            instance.getById("first");
+            Assert.assertEquals(3, instance.deserializations);
+            instance.onExit();
+        } finally {
+            deleteRecursively(dataFolder);
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDataIsEvicted() throws IOException, DataException {
+        Path dataFolder = Files.createTempDirectory("phdapp");
+
+        try {
+            // каждый набор содержит три объекта с одним параметром, то есть имеет размер 3
+            CountingInputDataManager instance = new CountingInputDataManager(mockConfigWithCacheSize(6));
+            instance.setDefaultInputDataFolder(dataFolder);
+
+            for (String id : Arrays.asList("first", "second", "third")) {
+                instance.save(id, instance.data);
+            }
+
+            instance.getById("first");
+            instance.getById("second");
+            instance.getById("first");
+            instance.getById("third"); // вытесняет "second"
+            Assert.assertEquals(3, instance.deserializations);
+
+            instance.getById("first");
+            instance.getById("third");
+            Assert.assertEquals(3, instance.deserializations);
+
+            instance.getById("second");
+            Assert.assertEquals(4, instance.deserializations);
+            instance.onExit();
+        } finally {
+            deleteRecursively(dataFolder);
+        }
+    }
+
+    private static void deleteRecursively(Path folder) throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private ApplicationConfiguration mockConfigWithCacheSize(int cacheSize) {
+        ApplicationConfiguration config = EasyMock.createNiceMock(ApplicationConfiguration.class);
+
+        EasyMock.expect(config.hasParam(FileBasedInputDataManager.DATA_CACHE_SIZE_CONFIG_SETTING)).andReturn(true);
+        EasyMock.expect(config.getInteger(FileBasedInputDataManager.DATA_CACHE_SIZE_CONFIG_SETTING)).andReturn(
+                cacheSize);
+        EasyMock.replay(config);
+
+        return config;
+    }
+
     private ApplicationConfiguration mockConfigWithNoProperties() {
         ApplicationConfiguration config = EasyMock.createNiceMock(ApplicationConfiguration.class);
 
@@ -119,4 +227,44 @@ public class FileBasedInputDataManagerTest {
             // nothing
         }
     }
+
+    /**
+     * Реализация, возвращающая при десериализации заданный набор исходных данных и подсчитывающая количество
+     * десериализаций
+     */
+    private class CountingInputDataManager extends FileBasedInputDataManager {
+
+        private final PointwiseInputData data;
+
+        private int deserializations = 0;
+
+        private CountingInputDataManager(ApplicationConfiguration config) throws DataException {
+            super(config, "any");
+
+            Injector injector = Guice.createInjector(new DataModule(), new InputDataModule());
+            DataFactory dataFactory = injector.getInstance(DataFactory.class);
+            Set<DataClass> classes = dataFactory.newClasses("firstClass", "secondClass");
+            Set<Parameter<?>> params = Stream.of(dataFactory.newParameter("param", 1.0, BasicDataTypes.REAL))
+                    .collect(Collectors.toSet());
+
+            data = injector.getInstance(InputDataFactory.class).newPointwiseData(classes,
+                    Collections.singleton(dataFactory.newPointwiseTrainingObject("trainingObject", params,
+                            classes.iterator().next())),
+                    Stream.of(
+                            dataFactory.newUnclassifiedObject("firstObject", params),
+                            dataFactory.newUnclassifiedObject("secondObject", params)
+                    ).collect(Collectors.toSet()));
+        }
+
+        @Override
+        protected PointwiseInputData deserialize(InputStream stream) throws IOException, DataException {
+            deserializations++;
+            return data;
+        }
+
+        @Override
+        protected void serialize(PointwiseInputData data, OutputStream stream) throws IOException, DataException {
+            stream.write(0);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package ru.spbftu.igorbotian.phdapp.quadprog;
 
+import java.util.Objects;
+
 /**
  * Метод решения задачи квадратичного программирования, предложенный Гольдфарбом и Иднани.
  * Описание в оригинальной статье "A numerical stable dual method for solving strictly convex quadratic programs".
@@ -27,4 +29,157 @@ public interface ActiveDualSetAlgorithm {
      */
     double[] apply(double[][] matrix, double[] vector,
                    double[][] constraintMatrix, double[] constraintVector) throws QuadraticProgrammingException;
+
+    /**
+     * Решение задачи квадратичного программирования по методу Гольдфарба-Иднани с использованием результата решения
+     * близкой задачи в качестве начального приближения ("тёплый старт").
+     * Начальное приближение имеет смысл только для задачи с теми же неизвестными и тем же порядком ограничений
+     * (например, для той же задачи с другим вектором ограничений); на результат решения оно не влияет,
+     * а лишь сокращает количество итераций.
+     * Реализация по умолчанию не поддерживает тёплый старт и решает задачу с нуля.
+     *
+     * @param matrix           матрица квадратичной функции (Dmat)
+     * @param vector           вектор квадратичной функции (dvec)
+     * @param constraintMatrix матрица ограничений вида A * x >= b (Amat)
+     * @param constraintVector вектор ограничений (bvec)
+     * @param initialGuess     результат решения близкой задачи (<code>null</code>, если отсутствует)
+     * @return результат решения, содержащий помимо решения множество активных ограничений и множители Лагранжа
+     * @throws QuadraticProgrammingException в случае невозможности решения задачи квадратичного программирования
+     *                                       или некорректно сформированных входных данных
+     */
+    default ActiveDualSetSolution apply(double[][] matrix, double[] vector,
+                                        double[][] constraintMatrix, double[] constraintVector,
+                                        ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+        return new ActiveDualSetSolution(apply(matrix, vector, constraintMatrix, constraintVector));
+    }
+
+    /**
+     * Решение задачи квадратичного программирования по методу Гольдфарба-Иднани с ограничениями на суммы неизвестных
+     * групп, заданными в структурированном виде.
+     * Реализация по умолчанию строит эквивалентные матрицу и вектор ограничений и решает задачу в общем виде;
+     * реализации, учитывающие структуру ограничений, обходятся без построения матрицы ограничений.
+     *
+     * @param matrix       матрица квадратичной функции (Dmat)
+     * @param vector       вектор квадратичной функции (dvec)
+     * @param constraints  ограничения на суммы неизвестных групп
+     * @param initialGuess результат решения близкой задачи (<code>null</code>, если отсутствует)
+     * @return результат решения, содержащий помимо решения множество активных ограничений и множители Лагранжа
+     * @throws QuadraticProgrammingException в случае невозможности решения задачи квадратичного программирования
+     *                                       или некорректно сформированных входных данных
+     * @see GroupedBoxConstraints
+     */
+    default ActiveDualSetSolution apply(double[][] matrix, double[] vector, GroupedBoxConstraints constraints,
+                                        ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+        return apply(matrix, vector, constraints.toConstraintMatrix(), constraints.toConstraintVector(),
+                initialGuess);
+    }
+
+    /**
+     * Решение задачи квадратичного программирования по методу Гольдфарба-Иднани с матрицей квадратичной функции,
+     * заданной в упакованном виде, и ограничениями на суммы неизвестных групп.
+     * Реализация по умолчанию преобразует матрицу в массив строк и решает задачу в общем виде.
+     *
+     * @param matrix       матрица квадратичной функции в упакованном виде (Dmat)
+     * @param vector       вектор квадратичной функции (dvec)
+     * @param constraints  ограничения на суммы неизвестных групп
+     * @param initialGuess результат решения близкой задачи (<code>null</code>, если отсутствует)
+     * @return результат решения, содержащий помимо решения множество активных ограничений и множители Лагранжа
+     * @throws QuadraticProgrammingException в случае невозможности решения задачи квадратичного программирования
+     *                                       или некорректно сформированных входных данных
+     * @see SymmetricMatrix
+     */
+    default ActiveDualSetSolution apply(SymmetricMatrix matrix, double[] vector, GroupedBoxConstraints constraints,
+                                        ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+        return apply(matrix.toArray(), vector, constraints, initialGuess);
+    }
+
+    /**
+     * Решение задачи квадратичного программирования по методу Гольдфарба-Иднани с матрицей квадратичной функции,
+     * разложение которой получено при её приведении к положительно определённому виду
+     * ({@link #factorizePositiveDefinite(SymmetricMatrix)}), и ограничениями на суммы неизвестных групп.
+     * Реализация по умолчанию решает задачу с разложенной матрицей, не используя её разложение.
+     *
+     * @param factorization разложение матрицы квадратичной функции (Dmat)
+     * @param vector        вектор квадратичной функции (dvec)
+     * @param constraints   ограничения на суммы неизвестных групп
+     * @param initialGuess  результат решения близкой задачи (<code>null</code>, если отсутствует)
+     * @return результат решения, содержащий помимо решения множество активных ограничений и множители Лагранжа
+     * @throws QuadraticProgrammingException в случае невозможности решения задачи квадратичного программирования
+     *                                       или некорректно сформированных входных данных
+     */
+    default ActiveDualSetSolution apply(CholeskyFactorization factorization, double[] vector,
+                                        GroupedBoxConstraints constraints,
+                                        ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+        return apply(factorization.matrix(), vector, constraints, initialGuess);
+    }
+
+    /**
+     * Приведение матрицы квадратичной функции к положительно определённому виду перед решением задачи.
+     * Если разложение Холецкого матрицы не существует или матрица близка к вырожденной, то к её диагональным
+     * элементам добавляется минимальное положительное число, при котором разложение существует.
+     * Матрица изменяется на месте.
+     *
+     * @param matrix симметричная матрица квадратичной функции (Dmat)
+     * @return число, добавленное к диагональным элементам матрицы (<code>0</code>, если матрица не изменилась)
+     * @throws NullPointerException          если матрица не задана
+     * @throws QuadraticProgrammingException если матрицу не удалось привести к положительно определённому виду
+     */
+    default double makePositiveDefinite(double[][] matrix) throws QuadraticProgrammingException {
+        return CholeskyFactorization.condition(Objects.requireNonNull(matrix)).jitter();
+    }
+
+    /**
+     * Приведение матрицы квадратичной функции, заданной в упакованном виде, к положительно определённому виду
+     * перед решением задачи (аналогично {@link #makePositiveDefinite(double[][])})
+     *
+     * @param matrix матрица квадратичной функции в упакованном виде (Dmat)
+     * @return число, добавленное к диагональным элементам матрицы (<code>0</code>, если матрица не изменилась)
+     * @throws NullPointerException          если матрица не задана
+     * @throws QuadraticProgrammingException если матрицу не удалось привести к положительно определённому виду
+     */
+    default double makePositiveDefinite(SymmetricMatrix matrix) throws QuadraticProgrammingException {
+        return factorizePositiveDefinite(matrix).jitter();
+    }
+
+    /**
+     * Приведение матрицы квадратичной функции, заданной в упакованном виде, к положительно определённому виду
+     * (аналогично {@link #makePositiveDefinite(double[][])}) с получением её разложения, которое передаётся
+     * в {@link #apply(CholeskyFactorization, double[], GroupedBoxConstraints, ActiveDualSetSolution)}, чтобы
+     * не вычислять его повторно. Матрица не копируется и после разложения не должна изменяться
+     *
+     * @param matrix матрица квадратичной функции в упакованном виде (Dmat)
+     * @return разложение изменённой матрицы
+     * @throws NullPointerException          если матрица не задана
+     * @throws QuadraticProgrammingException если матрицу не удалось привести к положительно определённому виду
+     */
+    default CholeskyFactorization factorizePositiveDefinite(SymmetricMatrix matrix)
+            throws QuadraticProgrammingException {
+        return CholeskyFactorization.condition(Objects.requireNonNull(matrix));
+    }
+
+    /**
+     * Приведение матрицы квадратичной функции, заданной в упакованном виде, к положительно определённому виду
+     * с получением её разложения (аналогично {@link #factorizePositiveDefinite(SymmetricMatrix)}) с использованием
+     * результата решения близкой задачи. Если начальное приближение содержит разложение, полученное приведением
+     * к положительно определённому виду матрицы, совпадающей с заданной, то возвращается это разложение,
+     * а заданная матрица не изменяется и далее не используется (например, при решении задачи с той же матрицей
+     * и другим значением штрафного параметра)
+     *
+     * @param matrix       матрица квадратичной функции в упакованном виде (Dmat)
+     * @param initialGuess результат решения близкой задачи (<code>null</code>, если отсутствует)
+     * @return разложение изменённой матрицы или разложение из начального приближения
+     * @throws NullPointerException          если матрица не задана
+     * @throws QuadraticProgrammingException если матрицу не удалось привести к положительно определённому виду
+     */
+    default CholeskyFactorization factorizePositiveDefinite(SymmetricMatrix matrix, ActiveDualSetSolution initialGuess)
+            throws QuadraticProgrammingException {
+        Objects.requireNonNull(matrix);
+
+        if (initialGuess != null && initialGuess.factorization != null
+                && initialGuess.factorization.isConditioningOf(matrix)) {
+            return initialGuess.factorization;
+        }
+
+        return factorizePositiveDefinite(matrix);
+    }
 }
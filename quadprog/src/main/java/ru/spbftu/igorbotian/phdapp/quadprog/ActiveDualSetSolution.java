@@ -0,0 +1,104 @@
+package ru.spbftu.igorbotian.phdapp.quadprog;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Результат решения задачи квадратичного программирования по методу Гольдфарба-Иднани.
+ * Помимо самого решения содержит множество активных ограничений и соответствующие им множители Лагранжа,
+ * что позволяет использовать его в качестве начального приближения ("тёплого старта") для решения близкой задачи
+ * (например, той же задачи с другим значением вектора ограничений).
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see ActiveDualSetAlgorithm
+ */
+public final class ActiveDualSetSolution {
+
+    /**
+     * Решение задачи квадратичного программирования
+     */
+    private final double[] solution;
+
+    /**
+     * Индексы ограничений (строк матрицы ограничений), активных в точке решения
+     */
+    private final int[] activeConstraints;
+
+    /**
+     * Множители Лагранжа активных ограничений
+     */
+    private final double[] lagrangianMultipliers;
+
+    /**
+     * Разложение матрицы квадратичной функции, которое может быть повторно использовано при решении задачи
+     * с той же матрицей (может отсутствовать)
+     */
+    final CholeskyFactorization factorization;
+
+    /**
+     * Создание результата решения задачи, для которого сведения об активных ограничениях отсутствуют
+     *
+     * @param solution решение задачи квадратичного программирования
+     * @throws NullPointerException если решение не задано
+     */
+    public ActiveDualSetSolution(double[] solution) {
+        this(solution, new int[0], new double[0], null);
+    }
+
+    /**
+     * Создание результата решения задачи квадратичного программирования
+     *
+     * @param solution              решение задачи квадратичного программирования
+     * @param activeConstraints     индексы ограничений, активных в точке решения
+     * @param lagrangianMultipliers множители Лагранжа активных ограничений (в том же порядке)
+     * @throws NullPointerException     если хотя бы один из параметров не задан
+     * @throws IllegalArgumentException если количество множителей Лагранжа не совпадает с количеством
+     *                                  активных ограничений
+     */
+    public ActiveDualSetSolution(double[] solution, int[] activeConstraints, double[] lagrangianMultipliers) {
+        this(solution, activeConstraints, lagrangianMultipliers, null);
+    }
+
+    ActiveDualSetSolution(double[] solution, int[] activeConstraints, double[] lagrangianMultipliers,
+                          CholeskyFactorization factorization) {
+        Objects.requireNonNull(solution);
+        Objects.requireNonNull(activeConstraints);
+        Objects.requireNonNull(lagrangianMultipliers);
+
+        if (activeConstraints.length != lagrangianMultipliers.length) {
+            throw new IllegalArgumentException("Each active constraint should have a Lagrangian multiplier");
+        }
+
+        this.solution = solution;
+        this.activeConstraints = activeConstraints;
+        this.lagrangianMultipliers = lagrangianMultipliers;
+        this.factorization = factorization;
+    }
+
+    /**
+     * Получение решения задачи квадратичного программирования
+     *
+     * @return вектор, порядок элементов которого соответствует порядку неизвестных в исходной задаче
+     */
+    public double[] solution() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+
+    /**
+     * Получение индексов ограничений, активных в точке решения (iact)
+     *
+     * @return массив индексов строк матрицы ограничений (может быть пустым)
+     */
+    public int[] activeConstraints() {
+        return Arrays.copyOf(activeConstraints, activeConstraints.length);
+    }
+
+    /**
+     * Получение множителей Лагранжа активных ограничений
+     *
+     * @return массив, порядок элементов которого соответствует порядку активных ограничений
+     */
+    public double[] lagrangianMultipliers() {
+        return Arrays.copyOf(lagrangianMultipliers, lagrangianMultipliers.length);
+    }
+}
@@ -0,0 +1,381 @@
+package ru.spbftu.igorbotian.phdapp.quadprog;
+
+import java.util.Objects;
+
+/**
+ * Разложение Холецкого матрицы квадратичной функции (<code>D = L * L^T</code>) вместе с обратной к множителю
+ * матрицей <code>L^-T</code>, которая является начальным значением матрицы <code>J</code> в методе Гольдфарба-Иднани.
+ * Разложение неизменяемо и может повторно использоваться для задач с той же матрицей квадратичной функции.
+ * Обе треугольные матрицы хранятся построчно в упакованном виде, т.е. без нулевых элементов.
+ * <p>
+ * Матрица, не являющаяся положительно определённой (например, вырожденная матрица ядра), может быть приведена
+ * к положительно определённому виду добавлением к её диагонали минимального числа из ряда, возрастающего в 10 раз
+ * (см. {@link #condition(double[][])}). В отличие от добавления числа ко всем элементам матрицы такое изменение
+ * сохраняет её структуру и лишь незначительно изменяет решение задачи.
+ * <p>
+ * Разложение, полученное при приведении матрицы к положительно определённому виду, возвращается вызывающей стороне
+ * ({@link ActiveDualSetAlgorithm#factorizePositiveDefinite(SymmetricMatrix)}) и передаётся ею в решение задачи
+ * явно; вне пакета оно непрозрачно.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see GoldfarbIdnaniSolver
+ */
+public final class CholeskyFactorization {
+
+    /**
+     * Наименьшее число, добавляемое к диагонали матрицы, относительно наибольшего по модулю диагонального элемента
+     */
+    private static final double MIN_RELATIVE_JITTER = 1e-10;
+
+    /**
+     * Наибольшее количество попыток добавления числа к диагонали матрицы
+     */
+    private static final int MAX_JITTER_ATTEMPTS = 20;
+
+    /**
+     * Исходная матрица квадратичной функции (хранится в упакованном виде)
+     */
+    private final SymmetricMatrix matrix;
+
+    /**
+     * Размерность матрицы
+     */
+    private final int size;
+
+    /**
+     * Нижняя треугольная матрица L: строка <code>i</code> занимает элементы с индекса <code>i * (i + 1) / 2</code>
+     */
+    private final double[] lower;
+
+    /**
+     * Верхняя треугольная матрица L^-T: строка <code>i</code> начинается с диагонального элемента
+     */
+    private final double[] inverse;
+
+    /**
+     * След исходной матрицы
+     */
+    final double trace;
+
+    /**
+     * След матрицы L^-T
+     */
+    final double inverseTrace;
+
+    /**
+     * Число, добавленное к диагональным элементам исходной матрицы перед разложением
+     */
+    private final double jitter;
+
+    /**
+     * Диагональные элементы исходной матрицы до добавления к ним числа (<code>null</code>, если матрица
+     * не изменялась)
+     */
+    private final double[] originalDiagonal;
+
+    private CholeskyFactorization(SymmetricMatrix matrix, double[] lower, double[] inverse,
+                                  double trace, double inverseTrace, double jitter, double[] originalDiagonal) {
+        this.matrix = matrix;
+        this.size = matrix.size();
+        this.lower = lower;
+        this.inverse = inverse;
+        this.trace = trace;
+        this.inverseTrace = inverseTrace;
+        this.jitter = jitter;
+        this.originalDiagonal = originalDiagonal;
+    }
+
+    /**
+     * Разложение заданной матрицы
+     *
+     * @param matrix симметричная положительно определённая матрица
+     * @return разложение матрицы
+     * @throws NullPointerException          если матрица не задана
+     * @throws QuadraticProgrammingException если матрица не является положительно определённой
+     */
+    static CholeskyFactorization of(double[][] matrix) throws QuadraticProgrammingException {
+        return of(SymmetricMatrix.of(Objects.requireNonNull(matrix)));
+    }
+
+    /**
+     * Разложение заданной матрицы. Матрица не копируется и не должна изменяться после разложения
+     *
+     * @param matrix положительно определённая матрица
+     * @return разложение матрицы
+     * @throws NullPointerException          если матрица не задана
+     * @throws QuadraticProgrammingException если матрица не является положительно определённой
+     */
+    static CholeskyFactorization of(SymmetricMatrix matrix) throws QuadraticProgrammingException {
+        Objects.requireNonNull(matrix);
+
+        double[] lower = new double[packedLength(matrix.size())];
+
+        if (!decompose(matrix, lower, 0.0)) {
+            throw new QuadraticProgrammingException("Quadratic function matrix should be positive definite");
+        }
+
+        return newFactorization(matrix, lower, 0.0, null);
+    }
+
+    /**
+     * Приведение заданной матрицы к положительно определённому виду и её разложение.
+     * Сначала выполняется попытка разложения самой матрицы; если какой-либо из диагональных элементов множителя
+     * оказывается неположительным или пренебрежимо малым по сравнению с диагональю матрицы (матрица вырождена
+     * или близка к вырожденной), то к диагонали матрицы добавляется наименьшее из чисел ряда
+     * <code>10^-10 * max|D_ii|, 10^-9 * max|D_ii|, ...</code>, при котором разложение существует.
+     * Матрица изменяется на месте.
+     *
+     * @param matrix симметричная матрица
+     * @return разложение изменённой матрицы; добавленное к диагонали число доступно как {@link #jitter()}
+     * @throws NullPointerException          если матрица не задана
+     * @throws QuadraticProgrammingException если матрицу не удалось привести к положительно определённому виду
+     */
+    static CholeskyFactorization condition(double[][] matrix) throws QuadraticProgrammingException {
+        SymmetricMatrix packed = SymmetricMatrix.of(Objects.requireNonNull(matrix));
+        CholeskyFactorization factorization = conditionInPlace(packed);
+
+        if (factorization.jitter() != 0.0) {
+            for (int i = 0; i < matrix.length; i++) {
+                matrix[i][i] = packed.get(i, i);
+            }
+        }
+
+        return factorization;
+    }
+
+    /**
+     * Приведение заданной матрицы к положительно определённому виду и её разложение
+     * (аналогично {@link #condition(double[][])}). Матрица изменяется на месте и не копируется:
+     * разложение ссылается на неё, поэтому после разложения она не должна изменяться.
+     * При одинарной точности хранения элементов матрицы наименьшее добавляемое к диагонали число
+     * соответствует погрешности их представления
+     */
+    static CholeskyFactorization condition(SymmetricMatrix matrix) throws QuadraticProgrammingException {
+        return conditionInPlace(Objects.requireNonNull(matrix));
+    }
+
+    /**
+     * Приведение матрицы к положительно определённому виду и её разложение; матрица сохраняется в разложении
+     */
+    private static CholeskyFactorization conditionInPlace(SymmetricMatrix matrix)
+            throws QuadraticProgrammingException {
+
+        int n = matrix.size();
+        double[] diagonal = new double[n];
+        double scale = 0.0;
+
+        for (int i = 0; i < n; i++) {
+            diagonal[i] = matrix.get(i, i);
+            scale = Math.max(scale, Math.abs(diagonal[i]));
+        }
+
+        if (scale == 0.0) {
+            scale = 1.0;
+        }
+
+        double epsilon = matrix.precision().epsilon;
+        double minPivot = n * epsilon * scale;
+        double[] lower = new double[packedLength(n)];
+        double jitter = 0.0;
+
+        for (int attempt = 0; !decompose(matrix, lower, minPivot); attempt++) {
+            if (attempt == MAX_JITTER_ATTEMPTS) {
+                throw new QuadraticProgrammingException("Quadratic function matrix cannot be made positive definite");
+            }
+
+            double nextJitter = (attempt == 0) ? Math.max(MIN_RELATIVE_JITTER, epsilon) * scale : 10.0 * jitter;
+            matrix.addToDiagonal(nextJitter - jitter);
+            jitter = nextJitter;
+        }
+
+        return newFactorization(matrix, lower, jitter, (jitter != 0.0) ? diagonal : null);
+    }
+
+    /**
+     * Вычисление множителя L для заданной матрицы
+     *
+     * @param matrix   симметричная матрица
+     * @param lower    упакованная матрица, в которую записывается множитель
+     * @param minPivot число, которое должны превышать квадраты диагональных элементов множителя
+     * @return <code>false</code>, если разложение не существует (матрица не является положительно определённой)
+     */
+    private static boolean decompose(SymmetricMatrix matrix, double[] lower, double minPivot) {
+        int n = matrix.size();
+
+        for (int i = 0; i < n; i++) {
+            int rowI = rowOffset(i);
+
+            for (int k = i; k < n; k++) {
+                int rowK = rowOffset(k);
+                double sum = matrix.get(i, k);
+
+                for (int p = 0; p < i; p++) {
+                    sum -= lower[rowI + p] * lower[rowK + p];
+                }
+
+                if (i == k) {
+                    if (!(sum > minPivot)) {
+                        return false;
+                    }
+
+                    lower[rowI + i] = Math.sqrt(sum);
+                } else {
+                    lower[rowK + i] = sum / lower[rowI + i];
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static CholeskyFactorization newFactorization(SymmetricMatrix matrix, double[] lower, double jitter,
+                                                          double[] originalDiagonal) {
+        int n = matrix.size();
+        double trace = 0.0;
+
+        for (int i = 0; i < n; i++) {
+            trace += matrix.get(i, i);
+        }
+
+        // строка i матрицы L^-T - это столбец i матрицы L^-1, элементы которого выше диагонали равны нулю
+        double[] inverse = new double[lower.length];
+        double inverseTrace = 0.0;
+        double[] e = new double[n];
+        double[] column = new double[n];
+        int offset = 0;
+
+        for (int i = 0; i < n; i++) {
+            e[i] = 1.0;
+            forwardElimination(lower, n, e, column);
+            System.arraycopy(column, i, inverse, offset, n - i);
+            offset += n - i;
+            inverseTrace += column[i];
+            e[i] = 0.0;
+        }
+
+        return new CholeskyFactorization(matrix, lower, inverse, trace, inverseTrace, jitter, originalDiagonal);
+    }
+
+    /**
+     * Число, добавленное к диагональным элементам исходной матрицы перед разложением
+     * (<code>0</code>, если матрица не изменялась)
+     */
+    public double jitter() {
+        return jitter;
+    }
+
+    /**
+     * Исходная матрица квадратичной функции (с учётом добавленного к диагонали числа)
+     */
+    SymmetricMatrix matrix() {
+        return matrix;
+    }
+
+    /**
+     * Проверка того, что данное разложение получено для заданной матрицы
+     */
+    boolean isFactorizationOf(double[][] other) {
+        return matrix.matches(other);
+    }
+
+    /**
+     * Проверка того, что данное разложение получено для заданной матрицы
+     */
+    boolean isFactorizationOf(SymmetricMatrix other) {
+        return matrix.equals(other);
+    }
+
+    /**
+     * Проверка того, что данное разложение получено приведением к положительно определённому виду матрицы,
+     * совпадающей с заданной (т.е. с исходной матрицей до добавления числа к её диагонали)
+     */
+    boolean isConditioningOf(SymmetricMatrix other) {
+        if (other == null || other.size() != size || other.precision() != matrix.precision()) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            double diagonal = (originalDiagonal != null) ? originalDiagonal[i] : matrix.get(i, i);
+
+            if (Double.compare(other.get(i, i), diagonal) != 0) {
+                return false;
+            }
+
+            for (int j = i + 1; j < size; j++) {
+                if (Double.compare(other.get(i, j), matrix.get(i, j)) != 0) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Размерность разложенной матрицы
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Получение строки матрицы L^-T
+     *
+     * @param i номер строки
+     * @return новый массив, содержащий все элементы строки (в том числе нулевые)
+     */
+    double[] inverseRow(int i) {
+        double[] row = new double[size];
+        System.arraycopy(inverse, (int) ((long) i * (2L * size - i + 1) / 2), row, i, size - i);
+        return row;
+    }
+
+    /**
+     * Решение системы <code>D * y = rhs</code>
+     */
+    void solve(double[] rhs, double[] y) {
+        int n = size;
+        double[] tmp = new double[n];
+        forwardElimination(lower, n, rhs, tmp);
+
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = tmp[i];
+
+            for (int k = i + 1; k < n; k++) {
+                sum -= lower[rowOffset(k) + i] * y[k];
+            }
+
+            y[i] = sum / lower[rowOffset(i) + i];
+        }
+    }
+
+    /**
+     * Решение системы <code>L * y = rhs</code>
+     */
+    private static void forwardElimination(double[] lower, int n, double[] rhs, double[] y) {
+        for (int i = 0; i < n; i++) {
+            int row = rowOffset(i);
+            double sum = rhs[i];
+
+            for (int k = 0; k < i; k++) {
+                sum -= lower[row + k] * y[k];
+            }
+
+            y[i] = sum / lower[row + i];
+        }
+    }
+
+    /**
+     * Индекс первого элемента строки <code>i</code> упакованной нижней треугольной матрицы
+     */
+    private static int rowOffset(int i) {
+        return (int) ((long) i * (i + 1) / 2);
+    }
+
+    /**
+     * Количество элементов упакованной треугольной матрицы заданной размерности
+     */
+    private static int packedLength(int n) {
+        return rowOffset(n);
+    }
+}
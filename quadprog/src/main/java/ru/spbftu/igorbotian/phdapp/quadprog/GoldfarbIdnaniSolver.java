@@ -0,0 +1,933 @@
+package ru.spbftu.igorbotian.phdapp.quadprog;
+
+import org.apache.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Реализация решения задачи квадратичного программирования по методу Гольдфарба-Иднани средствами Java
+ * (без обращения к среде R).
+ * <p>
+ * Решается задача вида <code>min(-d^T b + 1/2 b^T D b)</code> при ограничениях <code>A b &gt;= b0</code>,
+ * что соответствует вызову <code>solve.QP(Dmat, dvec, t(Amat), bvec)</code> из R-пакета 'quadprog'
+ * (все ограничения являются неравенствами, матрица <code>Dmat</code> не факторизована).
+ * Реализация повторяет схему алгоритма, применяемую в 'quadprog', поэтому при положительно определённой матрице
+ * квадратичной функции решение совпадает с решением <code>solve.QP</code> с абсолютной погрешностью не более
+ * <code>1e-6</code> (на практике расхождение определяется лишь погрешностью вычислений с плавающей точкой).
+ * <p>
+ * Матрица квадратичной функции не изменяется при решении задачи, но изменяется на месте при её приведении
+ * к положительно определённому виду ({@link #makePositiveDefinite(double[][])},
+ * {@link #factorizePositiveDefinite(SymmetricMatrix)}): к её диагональным элементам добавляется число,
+ * при котором разложение Холецкого существует. Полученное при этом разложение передаётся в решение задачи явно.
+ * Если результат решения задачи с той же (до приведения) матрицей передан в качестве начального приближения
+ * ({@link #factorizePositiveDefinite(SymmetricMatrix, ActiveDualSetSolution)}), то разложение не вычисляется
+ * повторно, а матрица не изменяется.
+ * <p>
+ * Матрица квадратичной функции может быть задана в упакованном виде ({@link SymmetricMatrix}); разложение
+ * в этом случае хранит копию матрицы с той же точностью хранения элементов (разложение, полученное при приведении
+ * матрицы к положительно определённому виду, ссылается на саму матрицу).
+ * <p>
+ * Треугольные матрицы (множитель Холецкого L, матрица L^-T и матрица R из QR-разложения матрицы активных
+ * ограничений) хранятся в упакованном виде, поэтому помимо матрицы квадратичной функции решение задачи с n
+ * неизвестными требует столько же памяти, сколько две с половиной плотные матрицы n x n двойной точности
+ * (матрица J и три упакованные треугольные матрицы), а не четыре, как при хранении всех матриц целиком.
+ * <p>
+ * Поддерживается "тёплый старт": если в качестве начального приближения передан результат решения задачи
+ * с той же матрицей квадратичной функции, то её разложение не вычисляется повторно, а решение начинается
+ * с активного множества ограничений, полученного ранее. При незначительном изменении вектора ограничений
+ * (например, штрафного параметра) это требует лишь нескольких дополнительных итераций.
+ * <p>
+ * Ограничения на суммы неизвестных групп ({@link GroupedBoxConstraints}) обрабатываются без построения матрицы
+ * ограничений: значение ограничения и его произведение на матрицу J вычисляются только по неизвестным группы.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see <a href="http://cran.r-project.org/web/packages/quadprog/index.html">http://cran.r-project.org/web/packages/quadprog/index.html</a>
+ */
+class GoldfarbIdnaniSolver implements ActiveDualSetAlgorithm {
+
+    private static final Logger LOGGER = Logger.getLogger(GoldfarbIdnaniSolver.class);
+
+    /**
+     * Машинная точность вычислений с плавающей точкой
+     */
+    private static final double EPSILON = Math.ulp(1.0);
+
+    @Override
+    public double makePositiveDefinite(double[][] matrix) throws QuadraticProgrammingException {
+        return conditioned(CholeskyFactorization.condition(Objects.requireNonNull(matrix))).jitter();
+    }
+
+    @Override
+    public CholeskyFactorization factorizePositiveDefinite(SymmetricMatrix matrix)
+            throws QuadraticProgrammingException {
+        return conditioned(CholeskyFactorization.condition(Objects.requireNonNull(matrix)));
+    }
+
+    @Override
+    public CholeskyFactorization factorizePositiveDefinite(SymmetricMatrix matrix, ActiveDualSetSolution initialGuess)
+            throws QuadraticProgrammingException {
+        Objects.requireNonNull(matrix);
+
+        CholeskyFactorization factorization = reusableFactorization(initialGuess, f -> f.isConditioningOf(matrix));
+        return (factorization != null) ? factorization : factorizePositiveDefinite(matrix);
+    }
+
+    private CholeskyFactorization conditioned(CholeskyFactorization factorization) {
+        if (factorization.jitter() > 0.0) {
+            LOGGER.debug("Quadratic function matrix was made positive definite by adding "
+                    + factorization.jitter() + " to its diagonal");
+        }
+
+        return factorization;
+    }
+
+    @Override
+    public double[] apply(double[][] matrix, double[] vector, double[][] constraintMatrix, double[] constraintVector)
+            throws QuadraticProgrammingException {
+
+        return apply(matrix, vector, constraintMatrix, constraintVector, null).solution();
+    }
+
+    @Override
+    public ActiveDualSetSolution apply(double[][] matrix, double[] vector,
+                                       double[][] constraintMatrix, double[] constraintVector,
+                                       ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+
+        Objects.requireNonNull(matrix);
+        Objects.requireNonNull(vector);
+        Objects.requireNonNull(constraintMatrix);
+        Objects.requireNonNull(constraintVector);
+
+        checkDimensions(matrix, vector);
+        checkDimensions(vector, constraintMatrix, constraintVector);
+
+        return solve(matrix, vector, new DenseConstraints(constraintMatrix, constraintVector), initialGuess);
+    }
+
+    @Override
+    public ActiveDualSetSolution apply(double[][] matrix, double[] vector, GroupedBoxConstraints constraints,
+                                       ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+
+        Objects.requireNonNull(matrix);
+        Objects.requireNonNull(vector);
+        Objects.requireNonNull(constraints);
+
+        checkDimensions(matrix, vector);
+
+        if (constraints.variables() != vector.length) {
+            throw new QuadraticProgrammingException("Constraints should be defined for exactly " + vector.length
+                    + " variables: " + constraints.variables());
+        }
+
+        return solve(matrix, vector, new StructuredConstraints(constraints), initialGuess);
+    }
+
+    @Override
+    public ActiveDualSetSolution apply(SymmetricMatrix matrix, double[] vector, GroupedBoxConstraints constraints,
+                                       ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+
+        Objects.requireNonNull(matrix);
+        Objects.requireNonNull(vector);
+        Objects.requireNonNull(constraints);
+
+        checkDimensions(matrix.size(), vector, constraints);
+
+        CholeskyFactorization factorization = reusableFactorization(initialGuess, f -> f.isFactorizationOf(matrix));
+
+        if (factorization == null) {
+            factorization = CholeskyFactorization.of(matrix.copy());
+        }
+
+        return solve(factorization, vector, new StructuredConstraints(constraints), initialGuess);
+    }
+
+    @Override
+    public ActiveDualSetSolution apply(CholeskyFactorization factorization, double[] vector,
+                                       GroupedBoxConstraints constraints,
+                                       ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+
+        Objects.requireNonNull(factorization);
+        Objects.requireNonNull(vector);
+        Objects.requireNonNull(constraints);
+
+        checkDimensions(factorization.size(), vector, constraints);
+        return solve(factorization, vector, new StructuredConstraints(constraints), initialGuess);
+    }
+
+    private ActiveDualSetSolution solve(double[][] matrix, double[] vector, Constraints constraints,
+                                        ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+        CholeskyFactorization factorization = reusableFactorization(initialGuess, f -> f.isFactorizationOf(matrix));
+
+        if (factorization == null) {
+            factorization = CholeskyFactorization.of(matrix);
+        }
+
+        return solve(factorization, vector, constraints, initialGuess);
+    }
+
+    /**
+     * Поиск ранее вычисленного разложения матрицы квадратичной функции в начальном приближении
+     *
+     * @return разложение или <code>null</code>, если начальное приближение не содержит разложения матрицы
+     */
+    private CholeskyFactorization reusableFactorization(ActiveDualSetSolution initialGuess,
+                                                        Predicate<CholeskyFactorization> isFactorizationOfMatrix) {
+        if (initialGuess != null && initialGuess.factorization != null
+                && isFactorizationOfMatrix.test(initialGuess.factorization)) {
+            LOGGER.debug("Reusing factorization of the quadratic function matrix");
+            return initialGuess.factorization;
+        }
+
+        return null;
+    }
+
+    private ActiveDualSetSolution solve(CholeskyFactorization factorization, double[] vector, Constraints constraints,
+                                        ActiveDualSetSolution initialGuess) throws QuadraticProgrammingException {
+        Problem problem = new Problem(factorization, vector, constraints);
+        return problem.solve(initialGuess == null ? new int[0] : initialGuess.activeConstraints());
+    }
+
+    private void checkDimensions(double[][] matrix, double[] vector) throws QuadraticProgrammingException {
+        int n = vector.length;
+
+        if (n == 0) {
+            throw new QuadraticProgrammingException("Quadratic function vector cannot be empty");
+        }
+
+        if (matrix.length != n) {
+            throw new QuadraticProgrammingException("Quadratic function matrix and vector have incompatible " +
+                    "dimensions: " + matrix.length + " vs " + n);
+        }
+
+        for (double[] row : matrix) {
+            if (row.length != n) {
+                throw new QuadraticProgrammingException("Quadratic function matrix should be square");
+            }
+        }
+    }
+
+    private void checkDimensions(int size, double[] vector, GroupedBoxConstraints constraints)
+            throws QuadraticProgrammingException {
+
+        if (vector.length == 0) {
+            throw new QuadraticProgrammingException("Quadratic function vector cannot be empty");
+        }
+
+        if (size != vector.length) {
+            throw new QuadraticProgrammingException("Quadratic function matrix and vector have incompatible " +
+                    "dimensions: " + size + " vs " + vector.length);
+        }
+
+        if (constraints.variables() != vector.length) {
+            throw new QuadraticProgrammingException("Constraints should be defined for exactly " + vector.length
+                    + " variables: " + constraints.variables());
+        }
+    }
+
+    private void checkDimensions(double[] vector, double[][] constraintMatrix, double[] constraintVector)
+            throws QuadraticProgrammingException {
+
+        int n = vector.length;
+
+        if (constraintMatrix.length != constraintVector.length) {
+            throw new QuadraticProgrammingException("Constraint matrix and vector have incompatible dimensions: "
+                    + constraintMatrix.length + " vs " + constraintVector.length);
+        }
+
+        for (double[] row : constraintMatrix) {
+            if (row.length != n) {
+                throw new QuadraticProgrammingException("Each constraint should have exactly " + n + " coefficients");
+            }
+        }
+    }
+
+    /**
+     * Ограничения задачи вида <code>A * x &gt;= b</code>
+     */
+    private interface Constraints {
+
+        /**
+         * Количество ограничений
+         */
+        int size();
+
+        /**
+         * Значение вектора ограничений для заданного ограничения: <code>b_i</code>
+         */
+        double bound(int i);
+
+        /**
+         * Скалярное произведение нормали заданного ограничения на вектор: <code>a_i^T * x</code>
+         */
+        double dot(int i, double[] x);
+
+        /**
+         * Произведение транспонированной квадратной матрицы на нормаль заданного ограничения:
+         * <code>d = M^T * a_i</code>
+         */
+        void transposedProduct(double[][] m, int i, double[] d);
+    }
+
+    /**
+     * Ограничения, заданные матрицей и вектором ограничений
+     */
+    private static final class DenseConstraints implements Constraints {
+
+        /**
+         * Матрица ограничений (строка соответствует одному ограничению)
+         */
+        final double[][] a;
+
+        /**
+         * Вектор ограничений
+         */
+        final double[] b;
+
+        DenseConstraints(double[][] a, double[] b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public int size() {
+            return b.length;
+        }
+
+        @Override
+        public double bound(int i) {
+            return b[i];
+        }
+
+        @Override
+        public double dot(int i, double[] x) {
+            return Problem.dot(a[i], x);
+        }
+
+        @Override
+        public void transposedProduct(double[][] m, int i, double[] d) {
+            double[] normal = a[i];
+
+            for (int c = 0; c < d.length; c++) {
+                double sum = 0.0;
+
+                for (int k = 0; k < normal.length; k++) {
+                    sum += m[k][c] * normal[k];
+                }
+
+                d[c] = sum;
+            }
+        }
+    }
+
+    /**
+     * Ограничения на суммы неизвестных групп: вычисления затрагивают только неизвестные группы ограничения
+     */
+    private static final class StructuredConstraints implements Constraints {
+
+        final GroupedBoxConstraints constraints;
+
+        StructuredConstraints(GroupedBoxConstraints constraints) {
+            this.constraints = constraints;
+        }
+
+        @Override
+        public int size() {
+            return constraints.size();
+        }
+
+        @Override
+        public double bound(int i) {
+            return constraints.bound(i);
+        }
+
+        @Override
+        public double dot(int i, double[] x) {
+            double sum = 0.0;
+
+            for (int k : constraints.groupOf(i)) {
+                sum += x[k];
+            }
+
+            return GroupedBoxConstraints.signOf(i) * sum;
+        }
+
+        @Override
+        public void transposedProduct(double[][] m, int i, double[] d) {
+            int[] group = constraints.groupOf(i);
+            double sign = GroupedBoxConstraints.signOf(i);
+
+            for (int c = 0; c < d.length; c++) {
+                double sum = 0.0;
+
+                for (int k : group) {
+                    sum += m[k][c];
+                }
+
+                d[c] = sign * sum;
+            }
+        }
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Состояние решения отдельно взятой задачи квадратичного программирования
+     */
+    private static final class Problem {
+
+        /**
+         * Количество неизвестных
+         */
+        final int n;
+
+        /**
+         * Количество ограничений
+         */
+        final int m;
+
+        /**
+         * Разложение Холецкого матрицы квадратичной функции
+         */
+        final CholeskyFactorization factorization;
+
+        /**
+         * Вектор квадратичной функции (с обратным знаком, т.е. линейная часть минимизируемой функции)
+         */
+        final double[] g;
+
+        /**
+         * Ограничения задачи
+         */
+        final Constraints constraints;
+
+        /**
+         * Матрица J = L^-T * Q, применяемая для вычисления направления шага
+         */
+        final double[][] j;
+
+        /**
+         * Верхняя треугольная матрица R из QR-разложения матрицы активных ограничений, хранящаяся по столбцам
+         * в упакованном виде: столбец <code>k</code> занимает элементы с индекса <code>k * (k + 1) / 2</code>
+         */
+        final double[] r;
+
+        /**
+         * Текущее решение
+         */
+        final double[] x;
+
+        /**
+         * Множители Лагранжа активных ограничений
+         */
+        final double[] u;
+
+        /**
+         * Индексы активных ограничений
+         */
+        final int[] active;
+
+        /**
+         * Значения ограничений для текущего решения: <code>a_i^T x - b_i</code>
+         */
+        final double[] slack;
+
+        /**
+         * Количество активных ограничений
+         */
+        int q;
+
+        /**
+         * Норма матрицы R, применяемая для выявления линейной зависимости ограничений
+         */
+        double rNorm = 1.0;
+
+        Problem(CholeskyFactorization factorization, double[] vector, Constraints constraints) {
+            this.factorization = factorization;
+            this.constraints = constraints;
+            n = vector.length;
+            m = constraints.size();
+            g = new double[n];
+
+            for (int i = 0; i < n; i++) {
+                g[i] = -vector[i];
+            }
+
+            j = new double[n][];
+            r = new double[(int) ((long) n * (n + 1) / 2)];
+
+            for (int i = 0; i < n; i++) {
+                j[i] = factorization.inverseRow(i);
+            }
+
+            x = new double[n];
+            u = new double[m + 1];
+            active = new int[m + 1];
+            slack = new double[m];
+        }
+
+        /**
+         * Решение задачи
+         *
+         * @param initialActiveSet индексы ограничений, которые предполагаются активными в точке решения
+         *                         (для холодного старта - пустой массив)
+         */
+        ActiveDualSetSolution solve(int[] initialActiveSet) throws QuadraticProgrammingException {
+            unconstrainedMinimum();
+
+            if (m == 0) {
+                return solution();
+            }
+
+            if (initialActiveSet.length > 0) {
+                warmStart(initialActiveSet);
+            }
+
+            // ограничения, которые уже активны
+            boolean[] skipped = new boolean[m];
+
+            double[] d = new double[n];
+            double[] z = new double[n];
+            double[] rv = new double[n + 1];
+            double tolerance = m * EPSILON * factorization.trace * factorization.inverseTrace * 100.0;
+            int iterations = 0;
+
+            while (true) {
+                // шаг 1: вычисление значений ограничений для текущего решения
+                iterations++;
+                Arrays.fill(skipped, false);
+
+                for (int i = 0; i < q; i++) {
+                    skipped[active[i]] = true;
+                }
+
+                double infeasibility = 0.0;
+
+                for (int i = 0; i < m; i++) {
+                    slack[i] = constraintValue(i);
+                    infeasibility += Math.min(0.0, slack[i]);
+                }
+
+                if (Math.abs(infeasibility) <= tolerance) {
+                    LOGGER.debug("Quadratic programming problem solved in " + iterations + " iterations");
+                    return solution();
+                }
+
+                // шаг 2: выбор нарушенного ограничения
+                int ip = -1;
+                double minSlack = 0.0;
+
+                for (int i = 0; i < m; i++) {
+                    if (slack[i] < minSlack && !skipped[i]) {
+                        minSlack = slack[i];
+                        ip = i;
+                    }
+                }
+
+                if (ip < 0) {
+                    LOGGER.debug("Quadratic programming problem solved in " + iterations + " iterations");
+                    return solution();
+                }
+
+                u[q] = 0.0;
+                active[q] = ip;
+
+                while (true) {
+                    // шаг 2a: определение направления шага в прямом (z) и двойственном (rv) пространствах
+                    computeD(d, ip);
+                    updateZ(z, d);
+                    updateR(rv, d);
+
+                    // шаг 2b: определение длины шага
+                    int dropped = -1;
+                    double partialStep = Double.POSITIVE_INFINITY;
+
+                    for (int k = 0; k < q; k++) {
+                        if (rv[k] > 0.0 && u[k] / rv[k] < partialStep) {
+                            partialStep = u[k] / rv[k];
+                            dropped = active[k];
+                        }
+                    }
+
+                    // если ограничение линейно зависимо от активных (его нормаль лежит в их линейной оболочке),
+                    // то шаг в прямом пространстве невозможен
+                    double fullStep = Double.POSITIVE_INFINITY;
+
+                    if (dot(z, z) > EPSILON && !isLinearlyDependent(d)) {
+                        fullStep = -slack[ip] / constraints.dot(ip, z);
+                    }
+
+                    double step = Math.min(partialStep, fullStep);
+
+                    // шаг 2c: определение нового решения и, при необходимости, смена активного множества
+                    if (step == Double.POSITIVE_INFINITY) {
+                        throw new QuadraticProgrammingException("Constraints are inconsistent, " +
+                                "no solution exists");
+                    }
+
+                    if (fullStep == Double.POSITIVE_INFINITY) {
+                        // шаг только в двойственном пространстве
+                        for (int k = 0; k < q; k++) {
+                            u[k] -= step * rv[k];
+                        }
+
+                        u[q] += step;
+                        skipped[dropped] = false;
+                        deleteConstraint(dropped);
+                        continue;
+                    }
+
+                    // шаг в прямом и двойственном пространствах
+                    for (int k = 0; k < n; k++) {
+                        x[k] += step * z[k];
+                    }
+
+                    for (int k = 0; k < q; k++) {
+                        u[k] -= step * rv[k];
+                    }
+
+                    u[q] += step;
+
+                    if (Math.abs(step - fullStep) < EPSILON) {
+                        // полный шаг: добавление ограничения в активное множество
+                        // (линейная независимость ограничения проверена до выполнения шага)
+                        addConstraint(d);
+                        break;
+                    }
+
+                    // частичный шаг: удаление блокирующего ограничения из активного множества
+                    skipped[dropped] = false;
+                    deleteConstraint(dropped);
+                    slack[ip] = constraintValue(ip);
+                }
+            }
+        }
+
+        /**
+         * Проверка того, что ограничение, для которого вычислен вектор <code>d = J^T * a_i</code>,
+         * линейно зависимо от активных ограничений: диагональный элемент матрицы R, который появился бы
+         * при его добавлении в активное множество (норма <code>d2</code>), пренебрежимо мал
+         */
+        private boolean isLinearlyDependent(double[] d) {
+            double sum = 0.0;
+
+            for (int k = q; k < n; k++) {
+                sum += d[k] * d[k];
+            }
+
+            return Math.sqrt(sum) <= EPSILON * rNorm;
+        }
+
+        /**
+         * Решение задачи без ограничений: <code>x = -D^-1 * g</code>
+         */
+        private void unconstrainedMinimum() {
+            factorization.solve(g, x);
+
+            for (int i = 0; i < n; i++) {
+                x[i] = -x[i];
+            }
+        }
+
+        /**
+         * Формирование начального активного множества из заданных ограничений.
+         * Ограничения добавляются в активное множество как равенства, после чего из него последовательно исключаются
+         * ограничения с отрицательными множителями Лагранжа до тех пор, пока текущее решение не станет допустимым
+         * для двойственной задачи. Полученное состояние является корректной отправной точкой метода,
+         * поэтому результат решения не зависит от качества начального приближения.
+         */
+        private void warmStart(int[] initialActiveSet) {
+            boolean[] added = new boolean[m];
+            double[] d = new double[n];
+
+            for (int constraint : initialActiveSet) {
+                if (constraint < 0 || constraint >= m || added[constraint] || q >= n) {
+                    continue;
+                }
+
+                computeD(d, constraint);
+                active[q] = constraint;
+
+                if (addConstraint(d)) {
+                    added[constraint] = true;
+                } else {
+                    // ограничение линейно зависимо от уже добавленных
+                    q--;
+
+                    Arrays.fill(r, column(q), column(q + 1), 0.0);
+                }
+            }
+
+            double[] w = new double[n];
+
+            while (q > 0) {
+                projectOnActiveSet(w);
+
+                int mostNegative = -1;
+
+                for (int k = 0; k < q; k++) {
+                    if (u[k] < 0.0 && (mostNegative < 0 || u[k] < u[mostNegative])) {
+                        mostNegative = k;
+                    }
+                }
+
+                if (mostNegative < 0) {
+                    break;
+                }
+
+                deleteConstraint(active[mostNegative]);
+            }
+
+            if (q == 0) {
+                unconstrainedMinimum();
+            }
+
+            LOGGER.debug("Warm start: " + q + " of " + initialActiveSet.length + " constraints kept active");
+        }
+
+        /**
+         * Вычисление минимума квадратичной функции при условии, что активные ограничения выполняются как равенства,
+         * а также соответствующих множителей Лагранжа:
+         * <code>x = J1 * R^-T * b_A - J2 * J2^T * g</code>, <code>u = R^-1 * (R^-T * b_A + J1^T * g)</code>
+         */
+        private void projectOnActiveSet(double[] w) {
+            // w = R^-T * b_A
+            for (int i = 0; i < q; i++) {
+                double sum = constraints.bound(active[i]);
+
+                int offset = column(i);
+
+                for (int k = 0; k < i; k++) {
+                    sum -= r[offset + k] * w[k];
+                }
+
+                w[i] = sum / r[offset + i];
+            }
+
+            double[] jtg = new double[n];
+
+            for (int i = 0; i < n; i++) {
+                double sum = 0.0;
+
+                for (int k = 0; k < n; k++) {
+                    sum += j[k][i] * g[k];
+                }
+
+                jtg[i] = sum;
+            }
+
+            for (int i = 0; i < n; i++) {
+                double sum = 0.0;
+
+                for (int k = 0; k < q; k++) {
+                    sum += j[i][k] * w[k];
+                }
+
+                for (int k = q; k < n; k++) {
+                    sum -= j[i][k] * jtg[k];
+                }
+
+                x[i] = sum;
+            }
+
+            for (int i = q - 1; i >= 0; i--) {
+                double sum = w[i] + jtg[i];
+
+                for (int k = i + 1; k < q; k++) {
+                    sum -= r[column(k) + i] * u[k];
+                }
+
+                u[i] = sum / r[column(i) + i];
+            }
+        }
+
+        private ActiveDualSetSolution solution() {
+            return new ActiveDualSetSolution(
+                    Arrays.copyOf(x, n),
+                    Arrays.copyOf(active, q),
+                    Arrays.copyOf(u, q),
+                    factorization
+            );
+        }
+
+        private double constraintValue(int i) {
+            return constraints.dot(i, x) - constraints.bound(i);
+        }
+
+        /**
+         * <code>d = J^T * a_i</code>
+         */
+        private void computeD(double[] d, int i) {
+            constraints.transposedProduct(j, i, d);
+        }
+
+        /**
+         * Направление шага в прямом пространстве: <code>z = J2 * d2</code>
+         */
+        private void updateZ(double[] z, double[] d) {
+            for (int i = 0; i < n; i++) {
+                double sum = 0.0;
+
+                for (int k = q; k < n; k++) {
+                    sum += j[i][k] * d[k];
+                }
+
+                z[i] = sum;
+            }
+        }
+
+        /**
+         * Направление шага в двойственном пространстве: <code>rv = R^-1 * d1</code>
+         */
+        private void updateR(double[] rv, double[] d) {
+            for (int i = q - 1; i >= 0; i--) {
+                double sum = 0.0;
+
+                for (int k = i + 1; k < q; k++) {
+                    sum += r[column(k) + i] * rv[k];
+                }
+
+                rv[i] = (d[i] - sum) / r[column(i) + i];
+            }
+        }
+
+        /**
+         * Добавление ограничения в активное множество с обновлением матриц J и R вращениями Гивенса
+         *
+         * @return <code>false</code>, если добавляемое ограничение линейно зависимо от уже активных
+         */
+        private boolean addConstraint(double[] d) {
+            for (int k = n - 1; k >= q + 1; k--) {
+                double cc = d[k - 1];
+                double ss = d[k];
+                double h = Math.hypot(cc, ss);
+
+                if (h == 0.0) {
+                    continue;
+                }
+
+                d[k] = 0.0;
+                ss /= h;
+                cc /= h;
+
+                if (cc < 0.0) {
+                    cc = -cc;
+                    ss = -ss;
+                    d[k - 1] = -h;
+                } else {
+                    d[k - 1] = h;
+                }
+
+                double xny = ss / (1.0 + cc);
+
+                for (int i = 0; i < n; i++) {
+                    double t1 = j[i][k - 1];
+                    double t2 = j[i][k];
+                    j[i][k - 1] = t1 * cc + t2 * ss;
+                    j[i][k] = xny * (t1 + j[i][k - 1]) - t2;
+                }
+            }
+
+            q++;
+            System.arraycopy(d, 0, r, column(q - 1), q);
+
+            if (Math.abs(d[q - 1]) <= EPSILON * rNorm) {
+                return false;
+            }
+
+            rNorm = Math.max(rNorm, Math.abs(d[q - 1]));
+            return true;
+        }
+
+        /**
+         * Удаление ограничения из активного множества с обновлением матриц J и R вращениями Гивенса
+         */
+        private void deleteConstraint(int constraint) {
+            int qq = -1;
+
+            for (int i = 0; i < q; i++) {
+                if (active[i] == constraint) {
+                    qq = i;
+                    break;
+                }
+            }
+
+            if (qq < 0) {
+                // ограничение ещё не было добавлено в активное множество
+                return;
+            }
+
+            for (int i = qq; i < q - 1; i++) {
+                active[i] = active[i + 1];
+                u[i] = u[i + 1];
+            }
+
+            active[q - 1] = active[q];
+            u[q - 1] = u[q];
+            active[q] = 0;
+            u[q] = 0.0;
+            q--;
+
+            // каждый следующий за удалённым столбец R сдвигается на одну позицию влево; перед сдвигом его элемент,
+            // который оказался бы под диагональю, исключается вращением Гивенса
+            for (int k = qq; k < q; k++) {
+                int shifted = column(k + 1);
+                double cc = r[shifted + k];
+                double ss = r[shifted + k + 1];
+                double h = Math.hypot(cc, ss);
+
+                if (h != 0.0) {
+                    cc /= h;
+                    ss /= h;
+
+                    if (cc < 0.0) {
+                        r[shifted + k] = -h;
+                        cc = -cc;
+                        ss = -ss;
+                    } else {
+                        r[shifted + k] = h;
+                    }
+
+                    double xny = ss / (1.0 + cc);
+
+                    for (int i = k + 2; i <= q; i++) {
+                        int other = column(i);
+                        double t1 = r[other + k];
+                        double t2 = r[other + k + 1];
+                        r[other + k] = t1 * cc + t2 * ss;
+                        r[other + k + 1] = xny * (t1 + r[other + k]) - t2;
+                    }
+
+                    for (int i = 0; i < n; i++) {
+                        double t1 = j[i][k];
+                        double t2 = j[i][k + 1];
+                        j[i][k] = t1 * cc + t2 * ss;
+                        j[i][k + 1] = xny * (j[i][k] + t1) - t2;
+                    }
+                }
+
+                System.arraycopy(r, shifted, r, column(k), k + 1);
+            }
+
+            Arrays.fill(r, column(q), column(q + 1), 0.0);
+        }
+
+        /**
+         * Индекс первого элемента столбца <code>k</code> упакованной матрицы R
+         */
+        private static int column(int k) {
+            return (int) ((long) k * (k + 1) / 2);
+        }
+
+        private static double dot(double[] first, double[] second) {
+            double sum = 0.0;
+
+            for (int i = 0; i < first.length; i++) {
+                sum += first[i] * second[i];
+            }
+
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ru.spbftu.igorbotian.phdapp.quadprog;
+
+import java.util.Objects;
+
+/**
+ * Ограничения задачи квадратичного программирования вида <code>lower &lt;= сумма неизвестных группы &lt;= upper</code>,
+ * заданные в структурированном виде: для каждой группы хранятся лишь индексы входящих в неё неизвестных.
+ * <p>
+ * Ограничения эквивалентны матрице ограничений вида <code>A * x &gt;= b</code>, в которой группе с индексом
+ * <code>g</code> соответствуют две строки: <code>2g</code> (нижнее ограничение, коэффициенты неизвестных группы
+ * равны <code>1</code>, а значение вектора ограничений - <code>lower</code>) и <code>2g + 1</code>
+ * (верхнее ограничение, коэффициенты равны <code>-1</code>, а значение вектора ограничений - <code>-upper</code>).
+ * Индексы ограничений в результате решения задачи ({@link ActiveDualSetSolution#activeConstraints()})
+ * соответствуют номерам этих строк. Построение и хранение такой матрицы, почти целиком состоящей из нулей,
+ * при этом не требуется.
+ * Экземпляры класса неизменяемы.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see ActiveDualSetAlgorithm#apply(double[][], double[], GroupedBoxConstraints, ActiveDualSetSolution)
+ */
+public final class GroupedBoxConstraints {
+
+    /**
+     * Количество неизвестных задачи
+     */
+    private final int variables;
+
+    /**
+     * Индексы неизвестных каждой группы
+     */
+    private final int[][] groups;
+
+    /**
+     * Нижняя граница суммы неизвестных группы
+     */
+    private final double lower;
+
+    /**
+     * Верхняя граница суммы неизвестных группы
+     */
+    private final double upper;
+
+    /**
+     * Создание ограничений
+     *
+     * @param variables количество неизвестных задачи
+     * @param groups    индексы неизвестных каждой группы (в пределах группы индексы не должны повторяться)
+     * @param lower     нижняя граница суммы неизвестных группы
+     * @param upper     верхняя граница суммы неизвестных группы (не меньше нижней)
+     * @throws NullPointerException     если группы или хотя бы одна из них не заданы
+     * @throws IllegalArgumentException если количество неизвестных отрицательно, индекс неизвестной выходит
+     *                                  за допустимые пределы или повторяется в пределах группы,
+     *                                  либо нижняя граница больше верхней
+     */
+    public GroupedBoxConstraints(int variables, int[][] groups, double lower, double upper) {
+        Objects.requireNonNull(groups);
+
+        if (variables < 0) {
+            throw new IllegalArgumentException("Number of variables cannot be negative: " + variables);
+        }
+
+        if (!(lower <= upper)) {
+            throw new IllegalArgumentException("Lower bound cannot be greater than upper bound: "
+                    + lower + " > " + upper);
+        }
+
+        this.variables = variables;
+        this.groups = new int[groups.length][];
+        this.lower = lower;
+        this.upper = upper;
+
+        boolean[] used = new boolean[variables];
+
+        for (int g = 0; g < groups.length; g++) {
+            int[] group = Objects.requireNonNull(groups[g]).clone();
+
+            for (int i : group) {
+                if (i < 0 || i >= variables) {
+                    throw new IllegalArgumentException("Variable index is out of range: " + i);
+                }
+
+                if (used[i]) {
+                    throw new IllegalArgumentException("Variable " + i + " occurs in group " + g + " more than once");
+                }
+
+                used[i] = true;
+            }
+
+            for (int i : group) {
+                used[i] = false;
+            }
+
+            this.groups[g] = group;
+        }
+    }
+
+    /**
+     * Количество неизвестных задачи
+     */
+    public int variables() {
+        return variables;
+    }
+
+    /**
+     * Количество групп неизвестных
+     */
+    public int groups() {
+        return groups.length;
+    }
+
+    /**
+     * Количество ограничений (по два на каждую группу)
+     */
+    public int size() {
+        return 2 * groups.length;
+    }
+
+    /**
+     * Нижняя граница суммы неизвестных группы
+     */
+    public double lower() {
+        return lower;
+    }
+
+    /**
+     * Верхняя граница суммы неизвестных группы
+     */
+    public double upper() {
+        return upper;
+    }
+
+    /**
+     * Построение эквивалентной матрицы ограничений вида <code>A * x &gt;= b</code> (Amat)
+     *
+     * @return матрица, количество строк в которой равно количеству ограничений, а столбцов - количеству неизвестных
+     */
+    public double[][] toConstraintMatrix() {
+        double[][] matrix = new double[size()][variables];
+
+        for (int g = 0; g < groups.length; g++) {
+            for (int i : groups[g]) {
+                matrix[2 * g][i] = 1.0;
+                matrix[2 * g + 1][i] = -1.0;
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Построение эквивалентного вектора ограничений (bvec)
+     *
+     * @return вектор, размер которого равен количеству ограничений
+     */
+    public double[] toConstraintVector() {
+        double[] vector = new double[size()];
+
+        for (int g = 0; g < groups.length; g++) {
+            vector[2 * g] = bound(2 * g);
+            vector[2 * g + 1] = bound(2 * g + 1);
+        }
+
+        return vector;
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Индексы неизвестных группы, к которой относится заданное ограничение
+     */
+    int[] groupOf(int constraint) {
+        return groups[constraint >> 1];
+    }
+
+    /**
+     * Коэффициент неизвестных группы в заданном ограничении (<code>1</code> или <code>-1</code>)
+     */
+    static double signOf(int constraint) {
+        return ((constraint & 1) == 0) ? 1.0 : -1.0;
+    }
+
+    /**
+     * Значение вектора ограничений для заданного ограничения
+     */
+    double bound(int constraint) {
+        return ((constraint & 1) == 0) ? lower : -upper;
+    }
+}
@@ -3,7 +3,8 @@ package ru.spbftu.igorbotian.phdapp.quadprog;
 import ru.spbftu.igorbotian.phdapp.ioc.PhDAppModule;
 
 /**
- * Модуль, предоставляющий средства решения задач квадратичного программирования
+ * Модуль, предоставляющий средства решения задач квадратичного программирования.
+ * По умолчанию используется реализация метода Гольдфарба-Иднани на Java, не требующая наличия среды R
  *
  * @author Igor Botian <igor.botian@gmail.com>
  */
@@ -11,6 +12,6 @@ public class QuadraticProgrammingModule extends PhDAppModule {
 
     @Override
     protected void configure() {
-        bind(ActiveDualSetAlgorithm.class).to(RQuadProgSolver.class);
+        bind(ActiveDualSetAlgorithm.class).to(GoldfarbIdnaniSolver.class);
     }
 }
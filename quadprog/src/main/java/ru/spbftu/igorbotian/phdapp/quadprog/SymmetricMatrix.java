@@ -0,0 +1,277 @@
+package ru.spbftu.igorbotian.phdapp.quadprog;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Симметричная квадратная матрица (например, матрица квадратичной функции), хранящая лишь элементы главной диагонали
+ * и элементы над ней. Элементы хранятся построчно в одном непрерывном массиве, что вдвое сокращает объём памяти
+ * по сравнению с массивом строк <code>double[n][n]</code> и улучшает локальность обращений к памяти.
+ * <p>
+ * Элементы могут храниться с двойной ({@link Precision#DOUBLE}) или одинарной ({@link Precision#FLOAT}) точностью.
+ * Одинарная точность сокращает объём памяти ещё вдвое, но вносит в элементы матрицы относительную погрешность
+ * порядка <code>1e-7</code>; вычисления с элементами матрицы в любом случае выполняются с двойной точностью.
+ * Экземпляры класса не являются потокобезопасными.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see ActiveDualSetAlgorithm#apply(SymmetricMatrix, double[], GroupedBoxConstraints, ActiveDualSetSolution)
+ */
+public final class SymmetricMatrix {
+
+    /**
+     * Точность хранения элементов матрицы
+     */
+    public enum Precision {
+
+        /**
+         * Двойная точность (8 байт на элемент)
+         */
+        DOUBLE(Math.ulp(1.0)),
+
+        /**
+         * Одинарная точность (4 байта на элемент)
+         */
+        FLOAT(Math.ulp(1.0f));
+
+        /**
+         * Относительная погрешность представления элементов матрицы
+         */
+        final double epsilon;
+
+        Precision(double epsilon) {
+            this.epsilon = epsilon;
+        }
+    }
+
+    /**
+     * Размерность матрицы
+     */
+    private final int size;
+
+    /**
+     * Элементы матрицы двойной точности (<code>null</code> при одинарной точности)
+     */
+    private final double[] doubles;
+
+    /**
+     * Элементы матрицы одинарной точности (<code>null</code> при двойной точности)
+     */
+    private final float[] floats;
+
+    private SymmetricMatrix(int size, double[] doubles, float[] floats) {
+        this.size = size;
+        this.doubles = doubles;
+        this.floats = floats;
+    }
+
+    /**
+     * Создание нулевой матрицы
+     *
+     * @param size      размерность матрицы
+     * @param precision точность хранения элементов матрицы
+     * @throws NullPointerException     если точность не задана
+     * @throws IllegalArgumentException если размерность матрицы отрицательна или количество её элементов
+     *                                  над главной диагональю и на ней превышает {@link Integer#MAX_VALUE}
+     */
+    public SymmetricMatrix(int size, Precision precision) {
+        this(size, newDoubles(size, precision), newFloats(size, precision));
+    }
+
+    private static double[] newDoubles(int size, Precision precision) {
+        return (Objects.requireNonNull(precision) == Precision.DOUBLE) ? new double[packedLength(size)] : null;
+    }
+
+    private static float[] newFloats(int size, Precision precision) {
+        return (Objects.requireNonNull(precision) == Precision.FLOAT) ? new float[packedLength(size)] : null;
+    }
+
+    private static int packedLength(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Matrix size cannot be negative: " + size);
+        }
+
+        long length = (long) size * (size + 1) / 2;
+
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Matrix of size " + size + " is too large");
+        }
+
+        return (int) length;
+    }
+
+    /**
+     * Создание матрицы двойной точности из элементов главной диагонали и элементов над ней заданной квадратной матрицы
+     *
+     * @param matrix квадратная матрица
+     * @return симметричная матрица
+     * @throws NullPointerException     если матрица или хотя бы одна из её строк не заданы
+     * @throws IllegalArgumentException если матрица не является квадратной
+     */
+    public static SymmetricMatrix of(double[][] matrix) {
+        Objects.requireNonNull(matrix);
+
+        int n = matrix.length;
+        SymmetricMatrix result = new SymmetricMatrix(n, Precision.DOUBLE);
+        int k = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (Objects.requireNonNull(matrix[i]).length != n) {
+                throw new IllegalArgumentException("Matrix should be square");
+            }
+
+            System.arraycopy(matrix[i], i, result.doubles, k, n - i);
+            k += n - i;
+        }
+
+        return result;
+    }
+
+    /**
+     * Размерность матрицы
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Точность хранения элементов матрицы
+     */
+    public Precision precision() {
+        return (doubles != null) ? Precision.DOUBLE : Precision.FLOAT;
+    }
+
+    /**
+     * Получение элемента матрицы
+     *
+     * @param i номер строки
+     * @param j номер столбца
+     * @return значение элемента (с учётом точности его хранения)
+     * @throws IndexOutOfBoundsException если номер строки или столбца выходит за пределы матрицы
+     */
+    public double get(int i, int j) {
+        int index = index(i, j);
+        return (doubles != null) ? doubles[index] : floats[index];
+    }
+
+    /**
+     * Задание значения элемента матрицы (а также симметричного ему элемента)
+     *
+     * @param i     номер строки
+     * @param j     номер столбца
+     * @param value значение элемента
+     * @throws IndexOutOfBoundsException если номер строки или столбца выходит за пределы матрицы
+     */
+    public void set(int i, int j, double value) {
+        int index = index(i, j);
+
+        if (doubles != null) {
+            doubles[index] = value;
+        } else {
+            floats[index] = (float) value;
+        }
+    }
+
+    /**
+     * Прибавление заданного числа к каждому элементу главной диагонали матрицы
+     */
+    public void addToDiagonal(double value) {
+        for (int i = 0; i < size; i++) {
+            set(i, i, get(i, i) + value);
+        }
+    }
+
+    /**
+     * Создание копии матрицы с той же точностью хранения элементов
+     */
+    public SymmetricMatrix copy() {
+        return new SymmetricMatrix(
+                size,
+                (doubles != null) ? doubles.clone() : null,
+                (floats != null) ? floats.clone() : null
+        );
+    }
+
+    /**
+     * Преобразование матрицы в массив строк
+     *
+     * @return квадратная матрица, в которой заполнены оба треугольника
+     */
+    public double[][] toArray() {
+        double[][] matrix = new double[size][size];
+
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                matrix[i][j] = matrix[j][i] = get(i, j);
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Проверка того, что элементы главной диагонали и элементы над ней заданной квадратной матрицы совпадают
+     * с элементами данной матрицы
+     */
+    boolean matches(double[][] other) {
+        if (other == null || other.length != size) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (other[i] == null || other[i].length != size) {
+                return false;
+            }
+
+            for (int j = i; j < size; j++) {
+                if (Double.compare(other[i][j], get(i, j)) != 0) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Индекс элемента в массиве: строки верхнего треугольника следуют одна за другой
+     */
+    private int index(int i, int j) {
+        if (i > j) {
+            int tmp = i;
+            i = j;
+            j = tmp;
+        }
+
+        if (i < 0 || j >= size) {
+            throw new IndexOutOfBoundsException("(" + i + ", " + j + ") is out of matrix of size " + size);
+        }
+
+        return (int) ((long) i * (2L * size - i + 1) / 2) + (j - i);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, Arrays.hashCode(doubles), Arrays.hashCode(floats));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (obj == null || !(obj instanceof SymmetricMatrix)) {
+            return false;
+        }
+
+        SymmetricMatrix other = (SymmetricMatrix) obj;
+        return size == other.size
+                && Arrays.equals(doubles, other.doubles)
+                && Arrays.equals(floats, other.floats);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(toArray());
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.Test;
 import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfigurationModule;
 
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * Проверка корректности результатов решения задачи квадратичного программирования с помощью алгоритма Гольдфарба-Иднани.
@@ -94,4 +96,216 @@ public class ActiveDualSetAlgorithmTest {
         double[] solution = solver.apply(matrix, vector, constraintMatrix, constraintVector);
         Assert.assertArrayEquals(expectedSolution, solution, PRECISION);
     }
+
+    /*
+     Тест для проверки того, что решение с использованием начального приближения совпадает с решением с нуля.
+     Начальным приближением является решение исходной задачи, после чего изменяется вектор ограничений.
+     */
+    @Test
+    public void testWarmStart() throws Exception {
+        ActiveDualSetSolution initialGuess = solver.apply(matrix, vector, constraintMatrix, constraintVector, null);
+        Assert.assertArrayEquals(expectedSolution, initialGuess.solution(), PRECISION);
+
+        double[] changedConstraintVector = new double[]{-8, -2, 1};
+        double[] expected = solver.apply(matrix, vector, constraintMatrix, changedConstraintVector);
+        ActiveDualSetSolution actual = solver.apply(matrix, vector, constraintMatrix, changedConstraintVector,
+                initialGuess);
+
+        Assert.assertArrayEquals(expected, actual.solution(), PRECISION);
+    }
+
+    /*
+     Тест для проверки того, что решение задачи с ограничениями на суммы неизвестных групп, заданными
+     в структурированном виде, совпадает с решением той же задачи с эквивалентной матрицей ограничений
+     */
+    @Test
+    public void testGroupedBoxConstraints() throws Exception {
+        int n = 8;
+        double[][] qfMatrix = randomPositiveDefiniteMatrix(n);
+        double[] qfVector = new double[n];
+        Arrays.fill(qfVector, 1.0);
+        GroupedBoxConstraints constraints = new GroupedBoxConstraints(n,
+                new int[][]{{0, 1, 2}, {2, 3}, {4, 5}, {5, 6, 7}, {7}}, 0.0, 0.5);
+
+        double[] expected = solver.apply(qfMatrix, qfVector, constraints.toConstraintMatrix(),
+                constraints.toConstraintVector());
+        ActiveDualSetSolution actual = solver.apply(qfMatrix, qfVector, constraints, null);
+        Assert.assertArrayEquals(expected, actual.solution(), PRECISION);
+
+        double[] sums = new double[]{
+                expected[0] + expected[1] + expected[2], expected[2] + expected[3], expected[4] + expected[5],
+                expected[5] + expected[6] + expected[7], expected[7]
+        };
+
+        for (double sum : sums) {
+            Assert.assertTrue(sum >= -PRECISION && sum <= 0.5 + PRECISION);
+        }
+
+        GroupedBoxConstraints changed = new GroupedBoxConstraints(n,
+                new int[][]{{0, 1, 2}, {2, 3}, {4, 5}, {5, 6, 7}, {7}}, 0.0, 0.25);
+        double[] expectedChanged = solver.apply(qfMatrix, qfVector, changed, null).solution();
+        Assert.assertArrayEquals(expectedChanged, solver.apply(qfMatrix, qfVector, changed, actual).solution(),
+                PRECISION);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRepeatedVariableInGroup() {
+        new GroupedBoxConstraints(3, new int[][]{{0, 1, 0}}, 0.0, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVariableIndexOutOfRange() {
+        new GroupedBoxConstraints(3, new int[][]{{0, 3}}, 0.0, 1.0);
+    }
+
+    @Test(expected = QuadraticProgrammingException.class)
+    public void testGroupedBoxConstraintsOfDifferentDimension() throws Exception {
+        solver.apply(matrix, vector, new GroupedBoxConstraints(2, new int[][]{{0, 1}}, 0.0, 1.0), null);
+    }
+
+    /*
+     Тест для проверки того, что положительно определённая матрица не изменяется при её приведении
+     к положительно определённому виду
+     */
+    @Test
+    public void testPositiveDefiniteMatrixIsNotConditioned() throws Exception {
+        double[][] qfMatrix = randomPositiveDefiniteMatrix(5);
+        double[][] copy = Arrays.stream(qfMatrix).map(double[]::clone).toArray(double[][]::new);
+
+        Assert.assertEquals(0.0, solver.makePositiveDefinite(qfMatrix), 0.0);
+        Assert.assertTrue(Arrays.deepEquals(copy, qfMatrix));
+    }
+
+    /*
+     Тест для проверки того, что вырожденная матрица приводится к положительно определённому виду изменением
+     лишь её диагонали, после чего задача с ней решается
+     */
+    @Test
+    public void testSingularMatrixIsConditioned() throws Exception {
+        double[][] qfMatrix = new double[][]{
+                {1, 1, 0},
+                {1, 1, 0},
+                {0, 0, 1}
+        };
+        double jitter = solver.makePositiveDefinite(qfMatrix);
+
+        Assert.assertTrue(jitter > 0.0 && jitter < 1e-6);
+
+        for (int i = 0; i < qfMatrix.length; i++) {
+            for (int j = 0; j < qfMatrix.length; j++) {
+                Assert.assertEquals((i == j ? 1.0 + jitter : (i < 2 && j < 2 ? 1.0 : 0.0)), qfMatrix[i][j], 0.0);
+            }
+        }
+
+        double[] solution = solver.apply(qfMatrix, new double[]{1, 1, 1},
+                new GroupedBoxConstraints(3, new int[][]{{0, 1}, {2}}, 0.0, 0.5), null).solution();
+
+        Assert.assertEquals(0.5, solution[0] + solution[1], PRECISION);
+        Assert.assertEquals(0.5, solution[2], PRECISION);
+    }
+
+    /*
+     Тест для проверки того, что разложение, полученное при приведении упакованной матрицы к положительно
+     определённому виду, передаётся в решение задачи явно, а сама матрица при этом не копируется
+     */
+    @Test
+    public void testConditionedFactorizationIsPassedExplicitly() throws Exception {
+        SymmetricMatrix qfMatrix = SymmetricMatrix.of(new double[][]{
+                {1, 1, 0},
+                {1, 1, 0},
+                {0, 0, 1}
+        });
+        GroupedBoxConstraints constraints = new GroupedBoxConstraints(3, new int[][]{{0, 1}, {2}}, 0.0, 0.5);
+        CholeskyFactorization factorization = solver.factorizePositiveDefinite(qfMatrix);
+
+        Assert.assertTrue(factorization.jitter() > 0.0);
+        Assert.assertEquals(1.0 + factorization.jitter(), qfMatrix.get(0, 0), 0.0);
+        Assert.assertSame(qfMatrix, factorization.matrix());
+
+        double[] expected = solver.apply(qfMatrix, new double[]{1, 1, 1}, constraints, null).solution();
+        double[] actual = solver.apply(factorization, new double[]{1, 1, 1}, constraints, null).solution();
+
+        Assert.assertArrayEquals(expected, actual, PRECISION);
+    }
+
+    @Test(expected = QuadraticProgrammingException.class)
+    public void testSingularMatrixWithoutConditioning() throws Exception {
+        solver.apply(new double[][]{{1, 1}, {1, 1}}, new double[]{1, 1}, new double[0][], new double[0]);
+    }
+
+    /*
+     Тест для проверки того, что решение задачи с матрицей квадратичной функции в упакованном виде совпадает
+     с решением задачи с исходной матрицей, а при одинарной точности хранения элементов - близко к нему
+     */
+    @Test
+    public void testPackedMatrix() throws Exception {
+        int n = 8;
+        double[][] qfMatrix = randomPositiveDefiniteMatrix(n);
+        double[] qfVector = new double[n];
+        Arrays.fill(qfVector, 1.0);
+        GroupedBoxConstraints constraints = new GroupedBoxConstraints(n,
+                new int[][]{{0, 1, 2}, {2, 3}, {4, 5}, {5, 6, 7}, {7}}, 0.0, 0.5);
+
+        double[] expected = solver.apply(qfMatrix, qfVector, constraints, null).solution();
+        SymmetricMatrix packed = SymmetricMatrix.of(qfMatrix);
+        Assert.assertTrue(Arrays.deepEquals(qfMatrix, packed.toArray()));
+
+        ActiveDualSetSolution actual = solver.apply(packed, qfVector, constraints, null);
+        Assert.assertArrayEquals(expected, actual.solution(), PRECISION);
+        Assert.assertArrayEquals(expected, solver.apply(packed, qfVector, constraints, actual).solution(), PRECISION);
+
+        SymmetricMatrix single = new SymmetricMatrix(n, SymmetricMatrix.Precision.FLOAT);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                single.set(i, j, qfMatrix[i][j]);
+            }
+        }
+
+        Assert.assertEquals(0.0, solver.makePositiveDefinite(single), 0.0);
+        Assert.assertArrayEquals(expected, solver.apply(single, qfVector, constraints, null).solution(), 1e-4);
+    }
+
+    @Test
+    public void testPackedMatrixElements() {
+        SymmetricMatrix matrix = new SymmetricMatrix(3, SymmetricMatrix.Precision.DOUBLE);
+        matrix.set(0, 2, 5.0);
+        matrix.set(2, 1, 7.0);
+        matrix.addToDiagonal(1.0);
+
+        Assert.assertArrayEquals(new double[][]{{1, 0, 5}, {0, 1, 7}, {5, 7, 1}}, matrix.toArray());
+        Assert.assertEquals(matrix, matrix.copy());
+        Assert.assertEquals(SymmetricMatrix.Precision.FLOAT,
+                new SymmetricMatrix(3, SymmetricMatrix.Precision.FLOAT).precision());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPackedMatrixElementOutOfRange() {
+        new SymmetricMatrix(3, SymmetricMatrix.Precision.DOUBLE).get(1, 3);
+    }
+
+    private static double[][] randomPositiveDefiniteMatrix(int n) {
+        Random random = new Random(42);
+        double[][] factor = new double[n][n];
+
+        for (double[] row : factor) {
+            for (int j = 0; j < n; j++) {
+                row[j] = random.nextDouble() - 0.5;
+            }
+        }
+
+        double[][] result = new double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < n; k++) {
+                    result[i][j] += factor[k][i] * factor[k][j];
+                }
+            }
+
+            result[i][i] += 1.0;
+        }
+
+        return result;
+    }
 }
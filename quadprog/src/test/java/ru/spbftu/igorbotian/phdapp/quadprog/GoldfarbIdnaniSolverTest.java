@@ -0,0 +1,211 @@
+package ru.spbftu.igorbotian.phdapp.quadprog;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Модульные тесты для класса <code>GoldfarbIdnaniSolver</code>.
+ * <p>
+ * Результаты решения задач большой размерности проверяются по условиям Каруша-Куна-Таккера (допустимость решения,
+ * неотрицательность множителей Лагранжа, дополняющая нежёсткость и стационарность функции Лагранжа)
+ * с абсолютной погрешностью <code>1e-6</code>. При положительно определённой матрице квадратичной функции
+ * решение, удовлетворяющее этим условиям, единственно, поэтому совпадает с решением <code>solve.QP</code>
+ * из R-пакета 'quadprog' без обращения к R при сборке.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+public class GoldfarbIdnaniSolverTest {
+
+    /**
+     * Точность сравнения вещественных чисел
+     */
+    private static final double PRECISION = 0.000001;
+
+    private final GoldfarbIdnaniSolver solver = new GoldfarbIdnaniSolver();
+
+    private final Random random = new Random(42);
+
+    /*
+     require(quadprog)
+     solve.QP(diag(1), c(0), t(matrix(c(1, -1), nrow=2)), c(2, -1))
+     Error in solve.QP(...) : constraints are inconsistent, no solution!
+     */
+    @Test(expected = QuadraticProgrammingException.class)
+    public void testInconsistentConstraints() throws Exception {
+        solver.apply(new double[][]{{1}}, new double[]{0}, new double[][]{{1}, {-1}}, new double[]{2, -1});
+    }
+
+    @Test(expected = QuadraticProgrammingException.class)
+    public void testInconsistentLinearlyDependentConstraints() throws Exception {
+        solver.apply(
+                new double[][]{{1, 0}, {0, 1}},
+                new double[]{0, 0},
+                new double[][]{{1, 1}, {-2, -2}},
+                new double[]{4, -6}
+        );
+    }
+
+    @Test
+    public void testInactiveConstraints() throws Exception {
+        ActiveDualSetSolution solution = solver.apply(
+                new double[][]{{1, 0}, {0, 1}},
+                new double[]{1, 2},
+                new double[][]{{1, 1}, {1, 0}},
+                new double[]{0, -5},
+                null
+        );
+
+        Assert.assertArrayEquals(new double[]{1, 2}, solution.solution(), PRECISION);
+        Assert.assertEquals(0, solution.activeConstraints().length);
+    }
+
+    /*
+     Ограничения линейно зависимы (второе и третье совпадают с первым с точностью до множителя),
+     но совместны: решение совпадает с решением задачи только с первым ограничением
+     */
+    @Test
+    public void testLinearlyDependentConstraints() throws Exception {
+        double[][] matrix = new double[][]{{1, 0}, {0, 1}};
+        double[] vector = new double[]{0, 0};
+        double[][] constraintMatrix = new double[][]{{1, 1}, {1, 1}, {2, 2}};
+        double[] constraintVector = new double[]{4, 4, 8};
+
+        ActiveDualSetSolution solution = solver.apply(matrix, vector, constraintMatrix, constraintVector, null);
+
+        Assert.assertArrayEquals(new double[]{2, 2}, solution.solution(), PRECISION);
+        checkOptimality(matrix, vector, constraintMatrix, constraintVector, solution);
+    }
+
+    /*
+     Проекция точки на параллелепипед: минимум 1/2 |x - c|^2 при l <= x <= u равен покоординатному
+     ограничению точки c отрезками [l_i; u_i]
+     */
+    @Test
+    public void testProjectionOntoBox() throws Exception {
+        int n = 50;
+        double[][] matrix = new double[n][n];
+        double[] vector = new double[n];
+        double[][] constraintMatrix = new double[2 * n][n];
+        double[] constraintVector = new double[2 * n];
+        double[] expected = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            matrix[i][i] = 1.0;
+            vector[i] = 4.0 * random.nextDouble() - 2.0;
+
+            constraintMatrix[2 * i][i] = 1.0;
+            constraintVector[2 * i] = -1.0;
+            constraintMatrix[2 * i + 1][i] = -1.0;
+            constraintVector[2 * i + 1] = -1.0;
+
+            expected[i] = Math.max(-1.0, Math.min(1.0, vector[i]));
+        }
+
+        ActiveDualSetSolution solution = solver.apply(matrix, vector, constraintMatrix, constraintVector, null);
+
+        Assert.assertArrayEquals(expected, solution.solution(), PRECISION);
+        checkOptimality(matrix, vector, constraintMatrix, constraintVector, solution);
+    }
+
+    @Test
+    public void testLargeProblemSatisfiesOptimalityConditions() throws Exception {
+        for (int n : new int[]{10, 30, 60}) {
+            int m = 2 * n;
+            double[][] matrix = randomPositiveDefiniteMatrix(n);
+            double[] vector = randomVector(n, 10.0);
+            double[][] constraintMatrix = new double[m][];
+            double[] constraintVector = new double[m];
+            double[] feasiblePoint = randomVector(n, 1.0);
+
+            // ограничения выполняются в заданной точке, поэтому задача имеет решение
+            for (int i = 0; i < m; i++) {
+                constraintMatrix[i] = randomVector(n, 1.0);
+                constraintVector[i] = dot(constraintMatrix[i], feasiblePoint) - random.nextDouble();
+            }
+
+            ActiveDualSetSolution solution = solver.apply(matrix, vector, constraintMatrix, constraintVector, null);
+
+            Assert.assertTrue(solution.activeConstraints().length > 0);
+            checkOptimality(matrix, vector, constraintMatrix, constraintVector, solution);
+        }
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Проверка условий Каруша-Куна-Таккера для задачи <code>min(-d^T x + 1/2 x^T D x)</code>
+     * при <code>A x &gt;= b</code>
+     */
+    private static void checkOptimality(double[][] matrix, double[] vector, double[][] constraintMatrix,
+                                        double[] constraintVector, ActiveDualSetSolution solution) {
+        double[] x = solution.solution();
+        int[] active = solution.activeConstraints();
+        double[] multipliers = solution.lagrangianMultipliers();
+
+        for (int i = 0; i < constraintMatrix.length; i++) {
+            Assert.assertTrue("Constraint " + i + " is violated",
+                    dot(constraintMatrix[i], x) - constraintVector[i] >= -PRECISION);
+        }
+
+        double[] gradient = new double[x.length];
+
+        for (int i = 0; i < x.length; i++) {
+            gradient[i] = dot(matrix[i], x) - vector[i];
+        }
+
+        for (int k = 0; k < active.length; k++) {
+            Assert.assertTrue("Lagrangian multiplier is negative", multipliers[k] >= -PRECISION);
+            Assert.assertEquals(constraintVector[active[k]], dot(constraintMatrix[active[k]], x), PRECISION);
+
+            for (int i = 0; i < x.length; i++) {
+                gradient[i] -= multipliers[k] * constraintMatrix[active[k]][i];
+            }
+        }
+
+        Assert.assertArrayEquals(new double[x.length], gradient, PRECISION);
+    }
+
+    private double[][] randomPositiveDefiniteMatrix(int n) {
+        double[][] factor = new double[n][];
+
+        for (int i = 0; i < n; i++) {
+            factor[i] = randomVector(n, 1.0);
+        }
+
+        double[][] result = new double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < n; k++) {
+                    result[i][j] += factor[k][i] * factor[k][j];
+                }
+            }
+
+            result[i][i] += 1.0;
+        }
+
+        return result;
+    }
+
+    private double[] randomVector(int n, double scale) {
+        double[] vector = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            vector[i] = scale * (2.0 * random.nextDouble() - 1.0);
+        }
+
+        return vector;
+    }
+
+    private static double dot(double[] first, double[] second) {
+        double sum = 0.0;
+
+        for (int i = 0; i < first.length; i++) {
+            sum += first[i] * second[i];
+        }
+
+        return sum;
+    }
+}
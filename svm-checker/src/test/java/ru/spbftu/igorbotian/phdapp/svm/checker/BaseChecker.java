@@ -21,6 +21,7 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.report.SvmValidationReportMana
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.SvmValidationIntervalSampleManagementModule;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.SvmValidationPreciseSampleManagementModule;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.SvmValidationSampleManagementModule;
+import ru.spbftu.igorbotian.phdapp.utils.UtilsModule;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -84,7 +85,8 @@ public abstract class BaseChecker {
                 new CSVOutputDataManagementModule(),
                 new CrossValidationParametrizationModule(),
                 new SvmValidationReportManagementModule(),
-                new SvmValidationSampleManagementModule()
+                new SvmValidationSampleManagementModule(),
+                new UtilsModule()
         );
 
         Set<AbstractModule> intervalInjectorModules = new HashSet<>(injectClassifierModules());
@@ -1,22 +1,86 @@
 package ru.spbftu.igorbotian.phdapp.svm;
 
+import ru.spbftu.igorbotian.phdapp.common.Parameter;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 /**
- * Средство вычисления расстояния между центрами двух кластеров данных с вещественнозначными параметрами
+ * Центр кластера данных с вещественнозначными параметрами, то есть множества объектов, подлежащих классификации.
+ * Центр хранится в виде вещественного вектора, элементы которого упорядочены по названиям параметров,
+ * поэтому расстояние между центрами вычисляется одним проходом по двум массивам.
+ * Экземпляры класса неизменяемы.
  *
  * @author Igor Botian <igor.botian@gmail.com>
  */
-class ClusterCentroid {
+final class ClusterCentroid {
 
-    private ClusterCentroid() {
-        //
+    /**
+     * Названия параметров, упорядоченные по возрастанию
+     */
+    private final String[] params;
+
+    /**
+     * Значения параметров центра кластера (в том же порядке)
+     */
+    private final double[] coordinates;
+
+    private ClusterCentroid(String[] params, double[] coordinates) {
+        this.params = params;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * Вычисление центра кластера
+     *
+     * @param cluster непустое множество объектов, имеющих вещественнозначные параметры с одинаковыми названиями
+     * @return центр кластера
+     * @throws NullPointerException     если кластер не задан
+     * @throws IllegalArgumentException если кластер пуст, объекты кластера имеют различающиеся наборы параметров
+     *                                  или значение какого-либо из параметров не может быть приведено
+     *                                  к вещественному значению
+     */
+    public static ClusterCentroid of(Set<? extends UnclassifiedObject> cluster) {
+        Objects.requireNonNull(cluster);
+
+        if (cluster.isEmpty()) {
+            throw new IllegalArgumentException("Cluster cannot be empty");
+        }
+
+        Map<String, Double> sums = new TreeMap<>();
+        int paramsCount = cluster.iterator().next().parameters().size();
+
+        for (UnclassifiedObject item : cluster) {
+            Set<? extends Parameter<?>> parameters = item.parameters();
+
+            if (parameters.size() != paramsCount) {
+                throw new IllegalArgumentException("All objects in a cluster should have the same parameters");
+            }
+
+            for (Parameter<?> param : parameters) {
+                sums.merge(param.name(), UnclassifiedObjectUtils.toDoubleValue(param), Double::sum);
+            }
+        }
+
+        if (sums.size() != paramsCount) {
+            throw new IllegalArgumentException("All objects in a cluster should have the same parameters");
+        }
+
+        String[] params = new String[sums.size()];
+        double[] coordinates = new double[sums.size()];
+        int i = 0;
+
+        for (Map.Entry<String, Double> sum : sums.entrySet()) {
+            params[i] = sum.getKey();
+            coordinates[i] = sum.getValue() / cluster.size();
+            i++;
+        }
+
+        return new ClusterCentroid(params, coordinates);
     }
 
     /**
@@ -39,53 +103,61 @@ class ClusterCentroid {
             throw new IllegalArgumentException("Second cluster cannot be empty");
         }
 
-        return computeDistance(
-                first.stream().map(UnclassifiedObjectUtils::decompose).collect(Collectors.toSet()),
-                second.stream().map(UnclassifiedObjectUtils::decompose).collect(Collectors.toSet())
-        );
+        return of(first).distanceTo(of(second));
     }
 
     /**
-     * Вычисление расстояние между двумя кластерами
+     * Вычисление расстояния до центра другого кластера.
+     * Параметры, отсутствующие у одного из центров, считаются у него нулевыми
+     *
+     * @param other центр другого кластера
+     * @return неотрицательное вещественное число
+     * @throws NullPointerException если центр другого кластера не задан
      */
-    private static double computeDistance(Set<Map<String, Double>> first, Set<Map<String, Double>> second) {
-        assert first != null;
-        assert second != null;
-
-        return computeDistanceBetween(
-                computeCentroid(first),
-                computeCentroid(second)
-        );
-    }
+    public double distanceTo(ClusterCentroid other) {
+        Objects.requireNonNull(other);
 
-    /**
-     * Вычисление центра заданного кластера
-     */
-    private static Map<String, Double> computeCentroid(Set<Map<String, Double>> cluster) {
-        assert cluster != null;
-        assert !cluster.isEmpty();
-        Map<String, Double> centroid = new HashMap<>();
+        if (Arrays.equals(params, other.params)) {
+            double sum = 0.0;
+
+            for (int i = 0; i < coordinates.length; i++) {
+                double diff = coordinates[i] - other.coordinates[i];
+                sum += diff * diff;
+            }
 
-        for(String param : cluster.iterator().next().keySet()) {
-            centroid.put(param, cluster.stream().mapToDouble(item -> item.get(param)).average().getAsDouble());
+            return Math.sqrt(sum);
         }
 
-        return centroid;
+        return Math.sqrt(squaredDistanceToDifferentlyParametrized(other));
     }
 
     /**
-     * Вычисление расстояния между двумя точками в N-мерном пространстве
+     * Вычисление квадрата расстояния до центра с другим набором параметров (слиянием упорядоченных массивов)
      */
-    private static double computeDistanceBetween(Map<String, Double> from, Map<String, Double> to) {
-        assert from != null;
-        assert to != null;
+    private double squaredDistanceToDifferentlyParametrized(ClusterCentroid other) {
+        assert other != null;
+
         double sum = 0.0;
+        int i = 0;
+        int j = 0;
+
+        while (i < params.length || j < other.params.length) {
+            int cmp = (i == params.length) ? 1
+                    : (j == other.params.length) ? -1
+                    : params[i].compareTo(other.params[j]);
+            double diff;
+
+            if (cmp == 0) {
+                diff = coordinates[i++] - other.coordinates[j++];
+            } else if (cmp < 0) {
+                diff = coordinates[i++];
+            } else {
+                diff = other.coordinates[j++];
+            }
 
-        for(String param : from.keySet()) {
-            double diff = Math.abs(from.get(param) - to.get(param));
             sum += diff * diff;
         }
 
-        return Math.sqrt(sum);
+        return sum;
     }
 }
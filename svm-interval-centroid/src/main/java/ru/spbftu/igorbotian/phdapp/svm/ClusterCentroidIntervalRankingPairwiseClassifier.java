@@ -47,19 +47,13 @@ public class ClusterCentroidIntervalRankingPairwiseClassifier extends AbstractIn
     }
 
     @Override
-    public boolean classify(UnclassifiedObject first,
-                            UnclassifiedObject second,
-                            Set<? extends ClassifierParameter<?>> params)
-            throws ClassificationException {
-
-        Objects.requireNonNull(first);
-        Objects.requireNonNull(second);
+    protected UnclassifiedObject asDecisionFunctionArgument(UnclassifiedObject object) {
+        return new UnclassifiedObjectSet(Collections.singleton(object));
+    }
 
-        return super.classify(
-                new UnclassifiedObjectSet(Collections.singleton(first)),
-                new UnclassifiedObjectSet(Collections.singleton(second)),
-                params
-        );
+    @Override
+    public IntervalRankingPairwiseClassifier newInstance() {
+        return new ClusterCentroidIntervalRankingPairwiseClassifier(qpSolver(), dataFactory);
     }
 
     private PairwiseTrainingSet convertToPrecise(PairwiseTrainingSet trainingSet) {
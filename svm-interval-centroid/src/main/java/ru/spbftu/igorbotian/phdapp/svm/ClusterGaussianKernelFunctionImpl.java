@@ -3,11 +3,15 @@ package ru.spbftu.igorbotian.phdapp.svm;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
+ * Функция Гауссова ядра для контейнеров объектов, подлежащих классификации.
+ * Расстоянием между контейнерами считается расстояние между центрами образованных ими кластеров,
+ * которые вычисляются однократно для каждого контейнера
+ *
  * @author Igor Botian <igor.botian@gmail.com>
+ * @see UnclassifiedObjectSet
  */
 public class ClusterGaussianKernelFunctionImpl extends GaussianKernelFunction<UnclassifiedObject> {
 
@@ -17,11 +21,11 @@ public class ClusterGaussianKernelFunctionImpl extends GaussianKernelFunction<Un
 
     @Override
     protected BiFunction<UnclassifiedObject, UnclassifiedObject, Double> distanceFunction() {
-        return this::computeDistance;
+        return this::distance;
     }
 
-    @SuppressWarnings("unchecked")
-    private double computeDistance(UnclassifiedObject first, UnclassifiedObject second) {
+    @Override
+    protected double distance(UnclassifiedObject first, UnclassifiedObject second) {
         Objects.requireNonNull(first);
         Objects.requireNonNull(second);
 
@@ -33,9 +37,6 @@ public class ClusterGaussianKernelFunctionImpl extends GaussianKernelFunction<Un
             throw new IllegalArgumentException("Second parameter should be a set of unclassified objects");
         }
 
-        return ClusterCentroid.computeDistanceBetween(
-                (Set<? extends UnclassifiedObject>) first.parameters().iterator().next().value(),
-                (Set<? extends UnclassifiedObject>) second.parameters().iterator().next().value()
-        );
+        return ((UnclassifiedObjectSet) first).centroid().distanceTo(((UnclassifiedObjectSet) second).centroid());
     }
 }
@@ -10,22 +10,53 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Контейнер для объектов, подлежащих классификации
+ * Контейнер для объектов, подлежащих классификации.
+ * Центр кластера, образованного объектами контейнера, вычисляется при первом обращении и далее берётся из кэша
  *
  * @author Igor Botian <igor.botian@gmail.com>
  */
 public class UnclassifiedObjectSet implements UnclassifiedObject {
 
     private static final UnclassifiedObjectSetType TYPE = new UnclassifiedObjectSetType();
-    private Set<UnclassifiedObject> objects;
+    private final Set<UnclassifiedObject> objects;
+
+    /**
+     * Хэш-код контейнера (контейнер неизменяем, поэтому хэш-код вычисляется однократно)
+     */
+    private final int hash;
+
+    /**
+     * Центр кластера, образованного объектами контейнера (вычисляется при первом обращении)
+     */
+    private volatile ClusterCentroid centroid;
 
     public UnclassifiedObjectSet(Set<? extends UnclassifiedObject> objects) {
         this.objects = Collections.unmodifiableSet(new HashSet<>(objects));
+        this.hash = this.objects.hashCode();
+    }
+
+    /**
+     * Получение центра кластера, образованного объектами контейнера
+     *
+     * @throws IllegalArgumentException если контейнер пуст или центр кластера его объектов не может быть вычислен
+     * @see ClusterCentroid#of(Set)
+     */
+    ClusterCentroid centroid() {
+        ClusterCentroid result = centroid;
+
+        if (result == null) {
+            // при одновременном обращении из нескольких потоков центр может быть вычислен несколько раз,
+            // но все вычисленные экземпляры равнозначны
+            result = ClusterCentroid.of(objects);
+            centroid = result;
+        }
+
+        return result;
     }
 
     @Override
     public String id() {
-        return Integer.toString(objects.hashCode());
+        return Integer.toString(hash);
     }
 
     @Override
@@ -51,7 +82,7 @@ public class UnclassifiedObjectSet implements UnclassifiedObject {
 
     @Override
     public int hashCode() {
-        return objects.hashCode();
+        return hash;
     }
 
     @Override
@@ -63,7 +94,8 @@ public class UnclassifiedObjectSet implements UnclassifiedObject {
         }
 
         UnclassifiedObjectSet other = (UnclassifiedObjectSet) obj;
-        return objects.size() == other.objects.size()
+        return hash == other.hash
+                && objects.size() == other.objects.size()
                 && objects.containsAll(other.objects);
     }
 
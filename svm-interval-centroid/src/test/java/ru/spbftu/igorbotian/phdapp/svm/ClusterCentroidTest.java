@@ -10,6 +10,7 @@ import ru.spbftu.igorbotian.phdapp.common.DataFactory;
 import ru.spbftu.igorbotian.phdapp.common.DataModule;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -45,6 +46,38 @@ public class ClusterCentroidTest {
         Assert.assertEquals(4.0, ClusterCentroid.computeDistanceBetween(first, second), 0.1);
     }
 
+    @Test
+    public void testCentroidIsCached() {
+        UnclassifiedObjectSet cluster = new UnclassifiedObjectSet(newCluster(newPoint(0, 0), newPoint(2, 2)));
+        UnclassifiedObjectSet other = new UnclassifiedObjectSet(newCluster(newPoint(4, 1), newPoint(6, 1)));
+
+        Assert.assertSame(cluster.centroid(), cluster.centroid());
+        Assert.assertEquals(4.0, cluster.centroid().distanceTo(other.centroid()), 1e-12);
+        Assert.assertEquals(4.0, new ClusterGaussianKernelFunctionImpl(1.0).distance(cluster, other), 1e-12);
+    }
+
+    @Test
+    public void testDistanceBetweenDifferentlyParametrizedCentroids() {
+        UnclassifiedObject point = dataFactory.newUnclassifiedObject("(3)", Collections.singleton(
+                dataFactory.newParameter("x", 3.0, BasicDataTypes.REAL)
+        ));
+
+        ClusterCentroid first = ClusterCentroid.of(newCluster(newPoint(0, 4)));
+        ClusterCentroid second = ClusterCentroid.of(newCluster(point));
+
+        Assert.assertEquals(5.0, first.distanceTo(second), 1e-12);
+        Assert.assertEquals(5.0, second.distanceTo(first), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testClusterOfDifferentlyParametrizedObjects() {
+        UnclassifiedObject point = dataFactory.newUnclassifiedObject("(3)", Collections.singleton(
+                dataFactory.newParameter("x", 3.0, BasicDataTypes.REAL)
+        ));
+
+        ClusterCentroid.of(newCluster(newPoint(0, 4), point));
+    }
+
     private Set<? extends UnclassifiedObject> newCluster(UnclassifiedObject... items) {
         Objects.requireNonNull(items);
         return Stream.of(items).collect(Collectors.toSet());
@@ -36,11 +36,21 @@ public class HausdorffIntervalRankingPairwiseClassifier extends AbstractInterval
             throws ClassifierTrainingException {
 
         sigma = getParameter(IntervalClassifierParameterFactory.GAUSSIAN_KERNEL_PARAM_ID, params);
-        super.train(HausdorffTrainingSetTransformer.transformToPrecise(trainingSet, dataFactory), params);
+        super.train(HausdorffTrainingSetTransformer.cachedTransformToPrecise(trainingSet, dataFactory), params);
+    }
+
+    @Override
+    public IntervalRankingPairwiseClassifier newInstance() {
+        return new HausdorffIntervalRankingPairwiseClassifier(qpSolver(), dataFactory);
     }
 
     @Override
     protected Kernel<UnclassifiedObject> getKernel() {
         return new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(sigma));
     }
+
+    @Override
+    protected Kernel<UnclassifiedObject> getKernel(PairwiseTrainingSet trainingSet) {
+        return gaussianKernel(sigma, trainingSet);
+    }
 }
@@ -4,16 +4,38 @@ import ru.spbftu.igorbotian.phdapp.common.*;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Средство преобразования обучающей выборки, состоящей из интервальных оценок предпочтений, в обучающую выборку,
  * состояющую только из точных оценок предпочтений.
- * В основе преобразования используется расстояние Хаусдорфа
+ * В основе преобразования используется расстояние Хаусдорфа.
+ * Оценки большой обучающей выборки преобразуются параллельно.
+ * Результаты преобразования нескольких последних обучающих выборок кэшируются, поскольку преобразование
+ * не зависит от параметров классификатора и повторяется при каждом его обучении на той же выборке
+ * (например, при переборе значений штрафного параметра, когда для каждого значения параметра Гауссова ядра
+ * классификатор обучается на одной и той же выборке с разными значениями штрафного параметра).
  *
  * @author Igor Botian <igor.botian@gmail.com>
  */
 final class HausdorffTrainingSetTransformer {
 
+    /**
+     * Количество экспертных оценок предпочтений, начиная с которого они преобразуются параллельно
+     */
+    private static final int PARALLEL_TRANSFORMATION_THRESHOLD = 16;
+
+    /**
+     * Максимальное количество обучающих выборок, результаты преобразования которых хранятся в кэше
+     */
+    private static final int CACHE_CAPACITY = 8;
+
+    /**
+     * Результаты преобразования обучающих выборок
+     */
+    private static final IdentityCache<PairwiseTrainingSet, PairwiseTrainingSet> CACHE
+            = new IdentityCache<>(CACHE_CAPACITY);
+
     private HausdorffTrainingSetTransformer() {
         //
     }
@@ -35,6 +57,28 @@ final class HausdorffTrainingSetTransformer {
         return dataFactory.newPairwiseTrainingSet(transformToPrecise(trainingSet.judgements(), dataFactory));
     }
 
+    /**
+     * Преобразование заданной обучающей выборки с использованием кэша результатов преобразования.
+     * Для одной и той же (по ссылке) обучающей выборки возвращается один и тот же результат преобразования,
+     * что позволяет также повторно использовать вычисления, выполненные над ним
+     *
+     * @see #transformToPrecise(PairwiseTrainingSet, DataFactory)
+     */
+    public static PairwiseTrainingSet cachedTransformToPrecise(PairwiseTrainingSet trainingSet,
+                                                               DataFactory dataFactory) {
+        Objects.requireNonNull(trainingSet);
+        Objects.requireNonNull(dataFactory);
+
+        return CACHE.get(trainingSet, set -> transformToPrecise(set, dataFactory));
+    }
+
+    /**
+     * Кэш результатов преобразования обучающих выборок
+     */
+    static IdentityCache<PairwiseTrainingSet, PairwiseTrainingSet> cache() {
+        return CACHE;
+    }
+
     //-------------------------------------------------------------------------
 
     /**
@@ -111,28 +155,39 @@ final class HausdorffTrainingSetTransformer {
 
         assert intervalJudgements != null;
 
-        Set<Pair<DecomposedUnclassifiedObject, DecomposedUnclassifiedObject>> preciseJudgements = new LinkedHashSet<>();
-        Set<Set<DecomposedUnclassifiedObject>> judgementParts = toSetOfJudgmentParts(intervalJudgements);
+        Map<Set<DecomposedUnclassifiedObject>, JudgementPart> judgementParts = toJudgementParts(intervalJudgements);
+        List<JudgementPart> allJudgementParts = new ArrayList<>(judgementParts.values());
+        Stream<Pair<Set<DecomposedUnclassifiedObject>, Set<DecomposedUnclassifiedObject>>> judgements
+                = intervalJudgements.stream();
 
-        for (Pair<Set<DecomposedUnclassifiedObject>, Set<DecomposedUnclassifiedObject>> judgement : intervalJudgements) {
-            // для эквивалетного преобразования части оценки другая часть не используется
-            // (см. формулу ядра Мерсера - каждая часть из двух оценок не зависит от другой)
-            Set<Set<DecomposedUnclassifiedObject>> otherJudgementParts = new HashSet<>(judgementParts);
-            otherJudgementParts.remove(judgement.first);
-            otherJudgementParts.remove(judgement.second);
-            preciseJudgements.add(transformToPrecise(judgement, otherJudgementParts));
+        // преобразование каждой оценки зависит только от неизменяемых частей всех оценок и их индексов,
+        // поэтому оценки могут преобразовываться независимо друг от друга
+        if (intervalJudgements.size() >= PARALLEL_TRANSFORMATION_THRESHOLD) {
+            judgements = judgements.parallel();
         }
 
-        return preciseJudgements;
+        return judgements.map(judgement -> {
+            // для эквивалетного преобразования части оценки другая часть не используется
+            // (см. формулу ядра Мерсера - каждая часть из двух оценок не зависит от другой)
+            JudgementPart first = judgementParts.get(judgement.first);
+            JudgementPart second = judgementParts.get(judgement.second);
+
+            return new Pair<>(
+                    transformToPrecise(first, allJudgementParts, second),
+                    transformToPrecise(second, allJudgementParts, first)
+            );
+        }).collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     /**
      * Представление множества интервальных оценок предпочтений в множество частей этих предпочтений
-     * (т.е. более или менее предпочтительных элементов этих оценок)
+     * (т.е. более или менее предпочтительных элементов этих оценок), для каждой из которых построен индекс
+     * для поиска ближайших элементов
      */
-    private static Set<Set<DecomposedUnclassifiedObject>> toSetOfJudgmentParts(
+    private static Map<Set<DecomposedUnclassifiedObject>, JudgementPart> toJudgementParts(
             Set<Pair<Set<DecomposedUnclassifiedObject>, Set<DecomposedUnclassifiedObject>>> judgements) {
         assert judgements != null;
+
         Set<Set<DecomposedUnclassifiedObject>> judgementsParts = new HashSet<>();
 
         for (Pair<Set<DecomposedUnclassifiedObject>, Set<DecomposedUnclassifiedObject>> judgement : judgements) {
@@ -140,70 +195,75 @@ final class HausdorffTrainingSetTransformer {
             judgementsParts.add(judgement.second);
         }
 
-        return judgementsParts;
+        List<String> paramNames = collectParamNames(judgementsParts);
+        Map<Set<DecomposedUnclassifiedObject>, JudgementPart> result = new LinkedHashMap<>();
+
+        for (Set<DecomposedUnclassifiedObject> part : judgementsParts) {
+            result.put(part, new JudgementPart(part, paramNames));
+        }
+
+        return result;
     }
 
     /**
-     * Преобразование заданной интервальной экспертной оценки предпочтений в эквивалентную точную оценку
-     * с использованием расстояния Хаусдорфа
+     * Формирование упорядоченного списка названий параметров всех элементов частей экспертных оценок
      */
-    private static Pair<DecomposedUnclassifiedObject, DecomposedUnclassifiedObject> transformToPrecise(
-            Pair<Set<DecomposedUnclassifiedObject>, Set<DecomposedUnclassifiedObject>> judgement,
-            Set<Set<DecomposedUnclassifiedObject>> otherJudgementParts) {
+    private static List<String> collectParamNames(Set<Set<DecomposedUnclassifiedObject>> judgementParts) {
+        assert judgementParts != null;
 
-        assert judgement != null;
-        assert otherJudgementParts != null;
+        Set<String> paramNames = new LinkedHashSet<>();
 
-        return new Pair<>(
-                transformToPrecise(judgement.first, otherJudgementParts),
-                transformToPrecise(judgement.second, otherJudgementParts)
-        );
+        for (Set<DecomposedUnclassifiedObject> part : judgementParts) {
+            for (DecomposedUnclassifiedObject item : part) {
+                paramNames.addAll(item.params.keySet());
+            }
+        }
+
+        return new ArrayList<>(paramNames);
     }
 
     /**
      * Преобразование заданной части интервальной экспертной оценки предпочтений в эквивалентную точную оценку
      * с использованием расстояния Хаусдорфа
-     * При преобразовании необходима информация обо всех других интервальных экспертных оценках предпочтений.
+     * При преобразовании необходима информация обо всех других интервальных экспертных оценках предпочтений
+     * (сама преобразуемая часть и противоположная ей часть той же оценки не учитываются).
      */
-    private static DecomposedUnclassifiedObject transformToPrecise(Set<DecomposedUnclassifiedObject> judgementPart,
-                                                          Set<Set<DecomposedUnclassifiedObject>> otherJudgementParts) {
+    private static DecomposedUnclassifiedObject transformToPrecise(JudgementPart judgementPart,
+                                                                   List<JudgementPart> allJudgementParts,
+                                                                   JudgementPart oppositeJudgementPart) {
         assert judgementPart != null;
-        assert otherJudgementParts != null;
+        assert allJudgementParts != null;
+        assert oppositeJudgementPart != null;
 
         Map<Double, DecomposedUnclassifiedObject> mostDistantItems = new HashMap<>();
 
-        for (Set<DecomposedUnclassifiedObject> other : otherJudgementParts) {
+        for (JudgementPart other : allJudgementParts) {
+            if (other == judgementPart || other == oppositeJudgementPart) {
+                continue;
+            }
+
             Map.Entry<Double, DecomposedUnclassifiedObject> mostDistantItem = findMostDistantItem(judgementPart, other);
             mostDistantItems.put(mostDistantItem.getKey(), mostDistantItem.getValue());
         }
 
-        return computePreciseJudgementPart(composeId(judgementPart), mostDistantItems);
+        return computePreciseJudgementPart(composeId(judgementPart.items), mostDistantItems);
     }
 
     /**
      * Нахождение элемента из части экспертной оценки, расстояние от которого до заданной другой оценки
      * является максимальным среди минимальным.
+     * Минимальные расстояния находятся с помощью индекса другой части оценки.
      */
-    private static Map.Entry<Double, DecomposedUnclassifiedObject> findMostDistantItem(
-            Set<DecomposedUnclassifiedObject> from, Set<DecomposedUnclassifiedObject> to) {
-
+    private static Map.Entry<Double, DecomposedUnclassifiedObject> findMostDistantItem(JudgementPart from,
+                                                                                      JudgementPart to) {
         assert from != null;
         assert to != null;
 
         Map<Double, DecomposedUnclassifiedObject> minDistances = new HashMap<>();
 
-        for (DecomposedUnclassifiedObject fromItem : from) {
-            double min = Double.MAX_VALUE;
-
-            for (DecomposedUnclassifiedObject toItem : to) {
-                double distance = fromItem.distanceTo(toItem);
-
-                if (distance < min) {
-                    min = distance;
-                }
-            }
-
-            minDistances.put(min, fromItem);
+        for (int i = 0; i < from.items.size(); i++) {
+            double min = Math.sqrt(to.index.nearestSquaredDistance(from.vectors[i]));
+            minDistances.put(min, from.itemsArray[i]);
         }
 
         double maxDistance = Collections.max(minDistances.keySet());
@@ -271,4 +331,58 @@ final class HausdorffTrainingSetTransformer {
                 Collections.singleton(decomposed.second.toUnclassifiedObject(dataFactory))
         );
     }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Часть экспертной оценки предпочтений вместе с векторами значений параметров её элементов
+     * и построенным по ним индексом для поиска ближайших элементов
+     */
+    private static final class JudgementPart {
+
+        /**
+         * Элементы части экспертной оценки
+         */
+        final Set<DecomposedUnclassifiedObject> items;
+
+        /**
+         * Элементы части экспертной оценки в порядке следования векторов их параметров
+         */
+        final DecomposedUnclassifiedObject[] itemsArray;
+
+        /**
+         * Векторы значений параметров элементов (отсутствующие параметры считаются нулевыми)
+         */
+        final double[][] vectors;
+
+        /**
+         * Индекс для нахождения расстояния до ближайшего элемента
+         */
+        final KdTree index;
+
+        JudgementPart(Set<DecomposedUnclassifiedObject> items, List<String> paramNames) {
+            assert items != null;
+            assert paramNames != null;
+
+            this.items = items;
+            this.itemsArray = items.toArray(new DecomposedUnclassifiedObject[items.size()]);
+            this.vectors = new double[itemsArray.length][];
+
+            for (int i = 0; i < itemsArray.length; i++) {
+                vectors[i] = toVector(itemsArray[i], paramNames);
+            }
+
+            this.index = new KdTree(vectors);
+        }
+
+        private static double[] toVector(DecomposedUnclassifiedObject item, List<String> paramNames) {
+            double[] vector = new double[paramNames.size()];
+
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = item.params.getOrDefault(paramNames.get(i), 0.0);
+            }
+
+            return vector;
+        }
+    }
 }
@@ -0,0 +1,220 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import java.util.Objects;
+
+/**
+ * K-мерное дерево (k-d tree), построенное над множеством точек вещественного пространства
+ * и позволяющее находить расстояние от заданной точки до ближайшей к ней точки множества,
+ * не перебирая все точки множества.
+ * <p>
+ * Дерево хранится неявно: точки переупорядочиваются так, что каждое поддерево занимает непрерывный диапазон массива,
+ * а медиана диапазона является разделяющей точкой. Диапазоны размером не более {@link #LEAF_SIZE} точек
+ * не разделяются и просматриваются полным перебором, поэтому для небольших множеств поиск сводится к перебору.
+ * Экземпляры класса неизменяемы и могут использоваться одновременно из нескольких потоков.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+final class KdTree {
+
+    /**
+     * Максимальное количество точек в листе дерева
+     */
+    static final int LEAF_SIZE = 8;
+
+    /**
+     * Точки множества, упорядоченные по узлам дерева
+     */
+    private final double[][] points;
+
+    /**
+     * Номер координаты, по которой разделяется диапазон, медианой которого является точка с тем же индексом
+     */
+    private final int[] splitDimensions;
+
+    /**
+     * Размерность пространства
+     */
+    private final int dimension;
+
+    /**
+     * Построение дерева
+     *
+     * @param points непустое множество точек одной размерности (массив не изменяется)
+     * @throws NullPointerException     если множество точек или хотя бы одна из точек не заданы
+     * @throws IllegalArgumentException если множество точек пусто или точки имеют разную размерность
+     */
+    KdTree(double[][] points) {
+        Objects.requireNonNull(points);
+
+        if (points.length == 0) {
+            throw new IllegalArgumentException("A set of points cannot be empty");
+        }
+
+        this.dimension = Objects.requireNonNull(points[0]).length;
+        this.points = new double[points.length][];
+
+        for (int i = 0; i < points.length; i++) {
+            if (Objects.requireNonNull(points[i]).length != dimension) {
+                throw new IllegalArgumentException("All points should have the same dimension: " + dimension);
+            }
+
+            this.points[i] = points[i];
+        }
+
+        this.splitDimensions = new int[points.length];
+        build(0, points.length);
+    }
+
+    /**
+     * Количество точек в дереве
+     */
+    int size() {
+        return points.length;
+    }
+
+    /**
+     * Нахождение квадрата расстояния от заданной точки до ближайшей к ней точки множества
+     *
+     * @param query точка той же размерности, что и точки множества
+     * @return неотрицательное вещественное число
+     * @throws NullPointerException     если точка не задана
+     * @throws IllegalArgumentException если размерность точки не совпадает с размерностью точек множества
+     */
+    double nearestSquaredDistance(double[] query) {
+        Objects.requireNonNull(query);
+
+        if (query.length != dimension) {
+            throw new IllegalArgumentException("Point should have dimension " + dimension + ": " + query.length);
+        }
+
+        return nearestSquaredDistance(query, 0, points.length, Double.POSITIVE_INFINITY);
+    }
+
+    //-------------------------------------------------------------------------
+
+    private void build(int from, int to) {
+        if (to - from <= LEAF_SIZE) {
+            return;
+        }
+
+        int splitDimension = widestDimension(from, to);
+        int median = (from + to) >>> 1;
+
+        select(from, to - 1, median, splitDimension);
+        splitDimensions[median] = splitDimension;
+
+        build(from, median);
+        build(median + 1, to);
+    }
+
+    /**
+     * Нахождение координаты, по которой точки заданного диапазона имеют наибольший разброс
+     */
+    private int widestDimension(int from, int to) {
+        int widest = 0;
+        double maxSpread = -1.0;
+
+        for (int d = 0; d < dimension; d++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, points[i][d]);
+                max = Math.max(max, points[i][d]);
+            }
+
+            if (max - min > maxSpread) {
+                maxSpread = max - min;
+                widest = d;
+            }
+        }
+
+        return widest;
+    }
+
+    /**
+     * Частичное упорядочивание диапазона <code>[left; right]</code> по заданной координате так, что на позиции
+     * <code>k</code> оказывается k-я порядковая статистика, слева от неё - не большие, а справа - не меньшие точки
+     */
+    private void select(int left, int right, int k, int d) {
+        while (left < right) {
+            double pivot = points[(left + right) >>> 1][d];
+            int i = left;
+            int j = right;
+
+            while (i <= j) {
+                while (points[i][d] < pivot) {
+                    i++;
+                }
+
+                while (points[j][d] > pivot) {
+                    j--;
+                }
+
+                if (i <= j) {
+                    double[] tmp = points[i];
+                    points[i] = points[j];
+                    points[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double nearestSquaredDistance(double[] query, int from, int to, double best) {
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                best = Math.min(best, squaredDistance(query, points[i], best));
+            }
+
+            return best;
+        }
+
+        int median = (from + to) >>> 1;
+        int d = splitDimensions[median];
+        double diff = query[d] - points[median][d];
+
+        best = Math.min(best, squaredDistance(query, points[median], best));
+
+        // сначала просматривается поддерево, содержащее заданную точку, затем - другое поддерево,
+        // если разделяющая плоскость находится ближе найденной точки
+        if (diff < 0.0) {
+            best = nearestSquaredDistance(query, from, median, best);
+
+            if (diff * diff < best) {
+                best = nearestSquaredDistance(query, median + 1, to, best);
+            }
+        } else {
+            best = nearestSquaredDistance(query, median + 1, to, best);
+
+            if (diff * diff < best) {
+                best = nearestSquaredDistance(query, from, median, best);
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Вычисление квадрата расстояния между точками с прекращением вычисления, как только оно превысит заданный порог
+     */
+    private double squaredDistance(double[] x, double[] y, double threshold) {
+        double sum = 0.0;
+
+        for (int d = 0; d < dimension && sum < threshold; d++) {
+            double diff = x[d] - y[d];
+            sum += diff * diff;
+        }
+
+        return sum;
+    }
+}
@@ -6,9 +6,12 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import ru.spbftu.igorbotian.phdapp.common.*;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfigurationModule;
 
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -44,8 +47,89 @@ public class HausdorffTrainingSetTransformerTest {
         Assert.assertTrue(areTrainingSetsEquals(expectedSolution, solution));
     }
 
+    @Test
+    public void testParallelTransformationIsDeterministic() {
+        PairwiseTrainingSet trainingSet = makeLargeTrainingSet(40);
+        PairwiseTrainingSet first = HausdorffTrainingSetTransformer.transformToPrecise(trainingSet, dataFactory);
+        PairwiseTrainingSet second = HausdorffTrainingSetTransformer.transformToPrecise(trainingSet, dataFactory);
+
+        Assert.assertEquals(trainingSet.judgements().size(), first.judgements().size());
+        Assert.assertEquals(first.judgements(), second.judgements());
+
+        for (Judgement judgement : first.judgements()) {
+            Assert.assertEquals(1, judgement.preferable().size());
+            Assert.assertEquals(1, judgement.inferior().size());
+        }
+    }
+
+    @Test
+    public void testCachedTransformationIsReused() {
+        PairwiseTrainingSet trainingSet = makeLargeTrainingSet(20);
+        IdentityCache<PairwiseTrainingSet, PairwiseTrainingSet> cache = HausdorffTrainingSetTransformer.cache();
+
+        long hits = cache.hits();
+        long misses = cache.misses();
+        PairwiseTrainingSet first = HausdorffTrainingSetTransformer.cachedTransformToPrecise(trainingSet, dataFactory);
+        PairwiseTrainingSet second = HausdorffTrainingSetTransformer.cachedTransformToPrecise(trainingSet, dataFactory);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(hits + 1, cache.hits());
+        Assert.assertEquals(misses + 1, cache.misses());
+        Assert.assertEquals(HausdorffTrainingSetTransformer.transformToPrecise(trainingSet, dataFactory).judgements(),
+                first.judgements());
+
+        PairwiseTrainingSet other = HausdorffTrainingSetTransformer.cachedTransformToPrecise(
+                makeLargeTrainingSet(20), dataFactory);
+        Assert.assertNotSame(first, other);
+        Assert.assertEquals(misses + 2, cache.misses());
+    }
+
+    /*
+     При переборе значений штрафного параметра классификатор обучается на одной и той же обучающей выборке,
+     поэтому она преобразуется лишь однажды
+     */
+    @Test
+    public void testPenaltySweepReusesTransformation() throws ClassifierTrainingException {
+        Injector injector = Guice.createInjector(
+                new ApplicationConfigurationModule(Paths.get("..")),
+                new DataModule(),
+                new IntervalPairwiseClassifierModule()
+        );
+        HausdorffIntervalRankingPairwiseClassifier classifier
+                = injector.getInstance(HausdorffIntervalRankingPairwiseClassifier.class);
+        IntervalClassifierParameterFactory parameters = injector.getInstance(IntervalClassifierParameterFactory.class);
+
+        PairwiseTrainingSet trainingSet = makeLargeTrainingSet(10);
+        IdentityCache<PairwiseTrainingSet, PairwiseTrainingSet> cache = HausdorffTrainingSetTransformer.cache();
+        long hits = cache.hits();
+        long misses = cache.misses();
+
+        for (double penalty : new double[]{1.0, 2.0, 4.0}) {
+            classifier.train(trainingSet, Stream.of(
+                    parameters.gaussianKernelParameter(1.0),
+                    parameters.penaltyParameter(penalty)
+            ).collect(Collectors.toSet()));
+        }
+
+        Assert.assertEquals(misses + 1, cache.misses());
+        Assert.assertEquals(hits + 2, cache.hits());
+    }
+
     //-------------------------------------------------------------------------
 
+    private PairwiseTrainingSet makeLargeTrainingSet(int size) {
+        Set<Judgement> judgements = new LinkedHashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            judgements.add(dataFactory.newJudgement(
+                    Stream.of(newPoint(i + 10, 2 * i + 15), newPoint(i + 15, 2 * i + 20)).collect(Collectors.toSet()),
+                    Stream.of(newPoint(-i - 1, i - 2), newPoint(-i - 3, i - 4)).collect(Collectors.toSet())
+            ));
+        }
+
+        return dataFactory.newPairwiseTrainingSet(judgements);
+    }
+
     private PairwiseTrainingSet makeTrainingSet() {
         return dataFactory.newPairwiseTrainingSet(Stream.of(
                 dataFactory.newJudgement(
@@ -0,0 +1,90 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Модульные тесты для класса <code>KdTree</code>
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+public class KdTreeTest {
+
+    private static final double DELTA = 1e-12;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testSinglePoint() {
+        KdTree tree = new KdTree(new double[][]{{1.0, 2.0}});
+        Assert.assertEquals(25.0, tree.nearestSquaredDistance(new double[]{4.0, 6.0}), DELTA);
+    }
+
+    @Test
+    public void testNearestDistanceMatchesBruteForce() {
+        for (int dimension = 1; dimension <= 4; dimension++) {
+            double[][] points = randomPoints(500, dimension);
+            KdTree tree = new KdTree(points);
+
+            Assert.assertEquals(points.length, tree.size());
+
+            for (double[] query : randomPoints(100, dimension)) {
+                Assert.assertEquals(bruteForce(points, query), tree.nearestSquaredDistance(query), DELTA);
+            }
+
+            Assert.assertEquals(0.0, tree.nearestSquaredDistance(points[17]), DELTA);
+        }
+    }
+
+    @Test
+    public void testDuplicatePoints() {
+        double[][] points = new double[100][];
+
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{i % 3, 1.0};
+        }
+
+        KdTree tree = new KdTree(points);
+        Assert.assertEquals(0.25, tree.nearestSquaredDistance(new double[]{1.5, 1.0}), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptySetOfPoints() {
+        new KdTree(new double[0][]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQueryOfDifferentDimension() {
+        new KdTree(new double[][]{{1.0, 2.0}}).nearestSquaredDistance(new double[]{1.0});
+    }
+
+    private double[][] randomPoints(int count, int dimension) {
+        double[][] points = new double[count][dimension];
+
+        for (double[] point : points) {
+            for (int d = 0; d < dimension; d++) {
+                point[d] = 100.0 * random.nextDouble();
+            }
+        }
+
+        return points;
+    }
+
+    private static double bruteForce(double[][] points, double[] query) {
+        double min = Double.POSITIVE_INFINITY;
+
+        for (double[] point : points) {
+            double sum = 0.0;
+
+            for (int d = 0; d < query.length; d++) {
+                sum += (point[d] - query[d]) * (point[d] - query[d]);
+            }
+
+            min = Math.min(min, sum);
+        }
+
+        return min;
+    }
+}
@@ -5,6 +5,11 @@ import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -28,6 +33,13 @@ public abstract class AbstractIntervalRankingPairwiseClassifier implements Inter
      */
     private QuadraticProgrammingSolver qpSolver;
 
+    /**
+     * Состояние тёплого старта решения задач квадратичного программирования при последовательном обучении
+     * данного экземпляра классификатора (например, на одной и той же обучающей выборке с разными значениями
+     * штрафного параметра)
+     */
+    private final WarmStart warmStart = new WarmStart();
+
     public AbstractIntervalRankingPairwiseClassifier(QuadraticProgrammingSolver qpSolver) {
         this.qpSolver = Objects.requireNonNull(qpSolver);
     }
@@ -43,11 +55,49 @@ public abstract class AbstractIntervalRankingPairwiseClassifier implements Inter
         decisionFunction = buildDecisionFunction(trainingSet, penalty);
     }
 
+    /**
+     * Получение средства решения задачи квадратичного программирования, применяемого классификатором
+     */
+    protected QuadraticProgrammingSolver qpSolver() {
+        return qpSolver;
+    }
+
     /**
      * Получение ядра, применяемого в процессе решения задачи квадратичного программирования
      */
     protected abstract Kernel<UnclassifiedObject> getKernel();
 
+    /**
+     * Получение ядра, применяемого в процессе решения задачи квадратичного программирования для заданной
+     * обучающей выборки (например, использующего предварительно вычисленные для неё данные).
+     * По умолчанию возвращается ядро {@link #getKernel()}
+     */
+    protected Kernel<UnclassifiedObject> getKernel(PairwiseTrainingSet trainingSet) {
+        return getKernel();
+    }
+
+    /**
+     * Получение Гауссова ядра Мерсера с заданным свободным параметром для заданной обучающей выборки.
+     * Ядро использует векторные представления объектов обучающей выборки, а если средство решения задачи
+     * квадратичного программирования вычисляет значения ядра заранее, то и квадраты расстояний между объектами
+     * обучающей выборки, которые вычисляются однократно для каждой обучающей выборки и не зависят
+     * от свободного параметра ядра. Если матрица квадратов расстояний слишком велика для хранения в массиве,
+     * то они вычисляются по мере необходимости
+     *
+     * @param sigma       свободный параметр Гауссова ядра
+     * @param trainingSet обучающая выборка
+     * @return ядро
+     * @see QuadraticProgrammingSolver#precomputesKernel()
+     */
+    protected Kernel<UnclassifiedObject> gaussianKernel(double sigma, PairwiseTrainingSet trainingSet) {
+        Collection<UnclassifiedObject> objects = FeatureVectors.objectsOf(Objects.requireNonNull(trainingSet));
+        GaussianKernelFunctionImpl kernelFunction = new GaussianKernelFunctionImpl(sigma, new FeatureVectors(objects));
+
+        return (qpSolver.precomputesKernel() && SquaredDistanceMatrix.fitsInArray(objects.size()))
+                ? new GaussianMercerKernel<>(kernelFunction, SquaredDistanceMatrix.forTrainingSet(trainingSet))
+                : new GaussianMercerKernel<>(kernelFunction);
+    }
+
     private DecisionFunction<UnclassifiedObject> buildDecisionFunction(PairwiseTrainingSet trainingSet,
                                                                        double penalty)
             throws ClassifierTrainingException {
@@ -55,9 +105,9 @@ public abstract class AbstractIntervalRankingPairwiseClassifier implements Inter
         assert trainingSet != null;
 
         try {
-            Kernel<UnclassifiedObject> kernel = getKernel();
+            Kernel<UnclassifiedObject> kernel = getKernel(trainingSet);
             Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> lagrangianMultipliers
-                    = qpSolver.solve(trainingSet, kernel, penalty);
+                    = qpSolver.solve(trainingSet, kernel, penalty, warmStart);
 
             return new DecisionFunction<>(lagrangianMultipliers, kernel);
         } catch (QuadraticProgrammingException e) {
@@ -83,6 +133,14 @@ public abstract class AbstractIntervalRankingPairwiseClassifier implements Inter
         throw new ClassifierTrainingException(paramId + " parameter should be set");
     }
 
+    /**
+     * Преобразование классифицируемого объекта в аргумент решающей функции.
+     * По умолчанию объект передаётся решающей функции без изменений
+     */
+    protected UnclassifiedObject asDecisionFunctionArgument(UnclassifiedObject object) {
+        return object;
+    }
+
     @Override
     public boolean classify(UnclassifiedObject first, UnclassifiedObject second,
                             Set<? extends ClassifierParameter<?>> params) throws ClassificationException {
@@ -91,6 +149,49 @@ public abstract class AbstractIntervalRankingPairwiseClassifier implements Inter
         Objects.requireNonNull(second);
         Objects.requireNonNull(params);
 
-        return decisionFunction.isPreferable(first, second);
+        return decisionFunction.isPreferable(asDecisionFunctionArgument(first), asDecisionFunctionArgument(second));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Каждый из объектов, входящих в несколько пар, преобразуется в аргумент решающей функции единожды,
+     * а его вклад в значение решающей функции вычисляется однократно для всего набора пар
+     */
+    @Override
+    public <T extends UnclassifiedObject> Map<Pair<T, T>, Boolean> classifyAll(
+            Collection<Pair<T, T>> pairs, Set<? extends ClassifierParameter<?>> params)
+            throws ClassificationException {
+
+        Objects.requireNonNull(pairs);
+        Objects.requireNonNull(params);
+
+        Map<UnclassifiedObject, UnclassifiedObject> arguments = new HashMap<>();
+        List<Pair<UnclassifiedObject, UnclassifiedObject>> argumentPairs = new ArrayList<>(pairs.size());
+
+        for (Pair<T, T> pair : pairs) {
+            Objects.requireNonNull(pair.first);
+            Objects.requireNonNull(pair.second);
+
+            argumentPairs.add(new Pair<>(
+                    arguments.computeIfAbsent(pair.first, this::asDecisionFunctionArgument),
+                    arguments.computeIfAbsent(pair.second, this::asDecisionFunctionArgument)
+            ));
+        }
+
+        boolean[] preferences = decisionFunction.isPreferable(argumentPairs);
+        Map<Pair<T, T>, Boolean> results = new LinkedHashMap<>();
+        int i = 0;
+
+        for (Pair<T, T> pair : pairs) {
+            results.put(pair, preferences[i++]);
+        }
+
+        return results;
+    }
+
+    @Override
+    public double score(UnclassifiedObject object) throws ClassificationException {
+        Objects.requireNonNull(object);
+        return decisionFunction.score(asDecisionFunctionArgument(object));
     }
 }
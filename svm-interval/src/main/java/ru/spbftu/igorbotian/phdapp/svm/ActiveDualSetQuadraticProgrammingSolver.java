@@ -1,16 +1,31 @@
 package ru.spbftu.igorbotian.phdapp.svm;
 
 import com.google.inject.Inject;
-import org.apache.commons.lang3.StringUtils;
 import ru.spbftu.igorbotian.phdapp.common.*;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
 import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetAlgorithm;
+import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetSolution;
+import ru.spbftu.igorbotian.phdapp.quadprog.CholeskyFactorization;
+import ru.spbftu.igorbotian.phdapp.quadprog.GroupedBoxConstraints;
 import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
+import ru.spbftu.igorbotian.phdapp.quadprog.SymmetricMatrix;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * Средство решения задачи квадратичного программирования по методу, предложенному Гольфарбом и Иднани
+ * Средство решения задачи квадратичного программирования по методу, предложенному Гольфарбом и Иднани.
+ * Ограничения задачи (сумма неизвестных каждой экспертной оценки находится в пределах от нуля до штрафного параметра)
+ * передаются средству решения в структурированном виде, без построения матрицы ограничений.
+ * Симметричная матрица квадратичной функции хранится в упакованном виде (только верхний треугольник).
+ * <p>
+ * Параметры конфигурации приложения:
+ * <ul>
+ * <li><code>quadraticFunctionMatrixPrecision</code> - точность хранения элементов матрицы квадратичной функции:
+ * <code>double</code> (по умолчанию) или <code>float</code> (вдвое меньший объём памяти, занимаемой самой матрицей,
+ * ценой относительной погрешности элементов порядка <code>1e-7</code>; матрицы, вычисляемые при решении задачи,
+ * в любом случае хранятся с двойной точностью).</li>
+ * </ul>
  *
  * @author Igor Botian <igor.botian@gmail.com>
  * @see ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetAlgorithm
@@ -22,16 +37,48 @@ class ActiveDualSetQuadraticProgrammingSolver implements QuadraticProgrammingSol
      */
     private static final int PRECISION = 10;
 
-    private static final double TINY_VALUE = 1 / Double.parseDouble("1" + StringUtils.repeat('0', PRECISION));
+    /**
+     * Название параметра, содержащего точность хранения элементов матрицы квадратичной функции
+     */
+    private static final String MATRIX_PRECISION_PARAM = "quadraticFunctionMatrixPrecision";
+
+    /**
+     * Точность хранения элементов матрицы квадратичной функции по умолчанию
+     */
+    private static final SymmetricMatrix.Precision DEFAULT_MATRIX_PRECISION = SymmetricMatrix.Precision.DOUBLE;
 
     /**
      * Средство решения задачи квадратичного программирования
      */
     private final ActiveDualSetAlgorithm qpSolver;
 
+    /**
+     * Точность хранения элементов матрицы квадратичной функции
+     */
+    private final SymmetricMatrix.Precision matrixPrecision;
+
     @Inject
-    public ActiveDualSetQuadraticProgrammingSolver(ActiveDualSetAlgorithm qpSolver) {
+    public ActiveDualSetQuadraticProgrammingSolver(ActiveDualSetAlgorithm qpSolver, ApplicationConfiguration config) {
+        this(qpSolver, matrixPrecision(Objects.requireNonNull(config)));
+    }
+
+    ActiveDualSetQuadraticProgrammingSolver(ActiveDualSetAlgorithm qpSolver, SymmetricMatrix.Precision matrixPrecision) {
         this.qpSolver = Objects.requireNonNull(qpSolver);
+        this.matrixPrecision = Objects.requireNonNull(matrixPrecision);
+    }
+
+    private static SymmetricMatrix.Precision matrixPrecision(ApplicationConfiguration config) {
+        String precision = config.getString(MATRIX_PRECISION_PARAM, DEFAULT_MATRIX_PRECISION.name());
+
+        if (precision == null) {
+            return DEFAULT_MATRIX_PRECISION;
+        }
+
+        try {
+            return SymmetricMatrix.Precision.valueOf(precision.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unsupported quadratic function matrix precision: " + precision, e);
+        }
     }
 
     @Override
@@ -40,108 +87,73 @@ class ActiveDualSetQuadraticProgrammingSolver implements QuadraticProgrammingSol
                                                                            double penalty)
             throws QuadraticProgrammingException {
 
-        Objects.requireNonNull(trainingSet);
-        Objects.requireNonNull(kernel);
-
-        Set<Judgement> judgements = new LinkedHashSet<>(trainingSet.judgements());
-        Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables = identifyVariables(judgements);
-
-        double[][] qfMatrix = quadraticFunctionMatrix(variables, kernel);
-        double[] qfVector = quadraticFunctionVector(variables);
-        double[][] cMatrix = constraintMatrix(judgements, variables);
-        double[] cVector = constraintVector(judgements, penalty);
-
-        try {
-            return solve(variables, qfMatrix, qfVector, cMatrix, cVector);
-        } catch (QuadraticProgrammingException e) {
-            if (!MatrixUtils.isPositiveDefinite(qfMatrix)) {
-                tryToFixPositiveDefinition(qfMatrix);
-
-                try {
-                    return solve(variables, qfMatrix, qfVector, cMatrix, cVector);
-                } catch (QuadraticProgrammingException ex) {
-                    if(!MatrixUtils.isPositiveDefinite(qfMatrix)) {
-                        throw new QuadraticProgrammingException("Quadratic function matrix should be positive definite");
-                    }
-                }
-            }
-
-            throw new QuadraticProgrammingException("Error occurred while solving dual optimization problem", e);
-        }
+        return solve(trainingSet, kernel, penalty, new WarmStart());
     }
 
     /**
-     * Попытка эквивалентного преобразования матрицы с целью приведения её к виду положительно определённой матрицы
+     * Матрица квадратичной функции строится по значениям ядра, вычисленным заранее для всех пар объектов
      */
-    private void tryToFixPositiveDefinition(double[][] matrix) {
-        add(matrix, Math.abs(findMin(matrix)));
-        fixZeroes(matrix);
+    @Override
+    public boolean precomputesKernel() {
+        return true;
     }
 
-    /**
-     * Поиск в матрице ячейки с наименьшим значением
-     */
-    private double findMin(double[][] matrix) {
-        double min = Double.MAX_VALUE;
+    @Override
+    public Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> solve(PairwiseTrainingSet trainingSet,
+                                                                           Kernel<UnclassifiedObject> kernel,
+                                                                           double penalty,
+                                                                           WarmStart warmStart)
+            throws QuadraticProgrammingException {
 
-        for (double[] row : matrix) {
-            for (double value : row) {
-                if (value < min) {
-                    min = value;
-                }
-            }
+        Objects.requireNonNull(trainingSet);
+        Objects.requireNonNull(kernel);
+        Objects.requireNonNull(warmStart);
+
+        if (!(penalty >= 0.0)) {
+            throw new QuadraticProgrammingException("Penalty should be non-negative: " + penalty);
         }
 
-        return min;
-    }
+        Set<Judgement> judgements = new LinkedHashSet<>(trainingSet.judgements());
+        Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables = identifyVariables(judgements);
 
-    /**
-     * Добавление к значению каждой ячейки матрицы заданного числа
-     */
-    private void add(double[][] matrix, double value) {
-        for(int i = 0; i < matrix.length; i++) {
-            for(int j = 0; j < matrix[i].length; j++) {
-                matrix[i][j] += value;
-            }
-        }
-    }
+        SymmetricMatrix qfMatrix = quadraticFunctionMatrix(variables, kernel.precompute(objectsOf(variables)));
+        double[] qfVector = quadraticFunctionVector(variables);
+        GroupedBoxConstraints constraints = constraints(judgements, variables, penalty);
 
-    /**
-     * Замена каждого нулевого значения в матрице на некое малое число
-     */
-    private void fixZeroes(double[][] matrix) {
-        for(int i = 0; i < matrix.length; i++) {
-            for(int j = 0; j < matrix[i].length; j++) {
-                if(Math.abs(matrix[i][j]) == 0.0) {
-                    matrix[i][j] = TINY_VALUE;
-                }
-            }
+        List<Pair<UnclassifiedObject, UnclassifiedObject>> variablesList = new ArrayList<>(variables);
+        ActiveDualSetSolution initialGuess = warmStart.solutionFor(variablesList, ActiveDualSetSolution.class);
+
+        // матрица ядра для пар объектов, как правило, вырождена; для той же матрицы (например, при другом значении
+        // штрафного параметра) используется разложение, полученное при решении предыдущей задачи
+        CholeskyFactorization factorization = qpSolver.factorizePositiveDefinite(qfMatrix, initialGuess);
+
+        try {
+            return solve(variablesList, factorization, qfVector, constraints, initialGuess, warmStart);
+        } catch (QuadraticProgrammingException e) {
+            throw new QuadraticProgrammingException("Error occurred while solving dual optimization problem", e);
         }
     }
 
     /**
-     * Решение задачи квадратичного программирования заданным способом
+     * Решение задачи квадратичного программирования с использованием результата решения предыдущей задачи
+     * с теми же неизвестными в качестве начального приближения
      */
     private Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> solve(
-            Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables, double[][] qfMatrix, double[] qfVector,
-            double[][] cMatrix, double[] cVector)
-            throws QuadraticProgrammingException {
+            List<Pair<UnclassifiedObject, UnclassifiedObject>> variables, CholeskyFactorization factorization,
+            double[] qfVector, GroupedBoxConstraints constraints, ActiveDualSetSolution initialGuess,
+            WarmStart warmStart) throws QuadraticProgrammingException {
 
-        double[] multipliers = qpSolver.apply(
-                qfMatrix,
-                qfVector,
-                cMatrix,
-                cVector
-        );
+        ActiveDualSetSolution solution = qpSolver.apply(factorization, qfVector, constraints, initialGuess);
+        warmStart.remember(variables, solution);
 
-        return associateMultipliersWithVariables(variables, multipliers);
+        return associateMultipliersWithVariables(variables, solution.solution());
     }
 
     /**
      * Соответствие неизвестных в задаче квадратичного программирования значениям, полученным в ходе её решения
      */
     private Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> associateMultipliersWithVariables(
-            Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables, double[] multipliers)
+            Collection<Pair<UnclassifiedObject, UnclassifiedObject>> variables, double[] multipliers)
             throws QuadraticProgrammingException {
 
         assert variables != null;
@@ -185,28 +197,42 @@ class ActiveDualSetQuadraticProgrammingSolver implements QuadraticProgrammingSol
         return variables;
     }
 
+    /**
+     * Получение множества всех объектов, входящих в пары, которые соответствуют неизвестным
+     */
+    private Set<UnclassifiedObject> objectsOf(Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables) {
+        Set<UnclassifiedObject> objects = new LinkedHashSet<>();
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> variable : variables) {
+            objects.add(variable.first);
+            objects.add(variable.second);
+        }
+
+        return objects;
+    }
+
     /**
      * Формирование матрицы квадратичной функции
      */
-    private double[][] quadraticFunctionMatrix(Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables,
-                                               Kernel<UnclassifiedObject> kernel) {
+    private SymmetricMatrix quadraticFunctionMatrix(Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables,
+                                                    Kernel<UnclassifiedObject> kernel) {
         assert variables != null;
         assert !variables.isEmpty();
         assert kernel != null;
 
         List<Pair<UnclassifiedObject, UnclassifiedObject>> variablesList = variables.stream().collect(Collectors.toList());
-        double[][] matrix = new double[variables.size()][variables.size()];
+        SymmetricMatrix matrix = new SymmetricMatrix(variables.size(), matrixPrecision);
 
         for (int i = 0; i < variablesList.size(); i++) {
             for (int j = i; j < variablesList.size(); j++) {
-                matrix[i][j] = matrix[j][i] = round(kernel.compute(variablesList.get(i), variablesList.get(j)), PRECISION);
+                matrix.set(i, j, round(kernel.compute(variablesList.get(i), variablesList.get(j)), PRECISION));
             }
         }
 
         return matrix;
     }
 
-    private double round(double value, int mantissa) {
+    static double round(double value, int mantissa) {
         double scale = Math.pow(10.0, mantissa);
         return Math.round(value * scale) / scale;
     }
@@ -224,73 +250,39 @@ class ActiveDualSetQuadraticProgrammingSolver implements QuadraticProgrammingSol
     }
 
     /**
-     * Формирование матрицы ограничений
+     * Формирование ограничений задачи: каждой экспертной оценке соответствует группа неизвестных,
+     * сумма которых должна находиться в пределах от нуля до штрафного параметра
      */
-    private double[][] constraintMatrix(Set<Judgement> judgements,
-                                        Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables) {
+    private GroupedBoxConstraints constraints(Set<Judgement> judgements,
+                                              Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables,
+                                              double penalty) {
         assert judgements != null;
         assert !judgements.isEmpty();
         assert variables != null;
         assert !variables.isEmpty();
 
-        double[][] matrix = new double[judgements.size() * 2][];
-        int i = 0;
-
-        for (Judgement judgement : judgements) {
-            double[][] constraints = constraintForJudgement(judgement, variables);
-
-            matrix[i] = constraints[0];
-            i++;
-
-            matrix[i] = constraints[1];
-            i++;
-        }
-
-        return matrix;
-    }
-
-    /**
-     * Формирование двух строк матрицы ограничений для заданного ограничения.
-     * Одна строка соответствует нижнему ограничению, а вторая - верхнему
-     */
-    private double[][] constraintForJudgement(Judgement judgement,
-                                              Set<Pair<UnclassifiedObject, UnclassifiedObject>> variables) {
-        assert judgement != null;
-        assert variables != null;
-        assert !variables.isEmpty();
-
-        double[][] row = new double[2][variables.size()];
-        int i = 0;
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Integer> indexes = new HashMap<>();
 
         for (Pair<UnclassifiedObject, UnclassifiedObject> variable : variables) {
-            if (judgement.preferable().contains(variable.first)
-                    && judgement.inferior().contains(variable.second)) {
-                row[0][i] = 1.0;
-                row[1][i] = -1.0;
-            } else {
-                row[0][i] = 0.0;
-                row[0][i] = 0.0;
-            }
-
-            i++;
+            indexes.put(variable, indexes.size());
         }
 
-        return row;
-    }
+        int[][] groups = new int[judgements.size()][];
+        int g = 0;
 
-    /**
-     * Формирование вектора ограничений
-     */
-    private double[] constraintVector(Set<Judgement> judgements, double penalty) {
-        assert judgements != null;
-        assert !judgements.isEmpty();
+        for (Judgement judgement : judgements) {
+            int[] group = new int[judgement.preferable().size() * judgement.inferior().size()];
+            int k = 0;
 
-        double[] vector = new double[2 * judgements.size()];
+            for (UnclassifiedObject preferable : judgement.preferable()) {
+                for (UnclassifiedObject inferior : judgement.inferior()) {
+                    group[k++] = indexes.get(new Pair<>(preferable, inferior));
+                }
+            }
 
-        for (int i = 1; i < vector.length; i += 2) {
-            vector[i] = -penalty;
+            groups[g++] = group;
         }
 
-        return vector;
+        return new GroupedBoxConstraints(variables.size(), groups, 0.0, penalty);
     }
 }
@@ -2,22 +2,46 @@ package ru.spbftu.igorbotian.phdapp.svm;
 
 import ru.spbftu.igorbotian.phdapp.common.Pair;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * Решающая функция, определяющая предпочтение одной группы объектов над другими.
  * Основана на решении задачи квадратичного программирования.
+ * <p>
+ * При построении функции пары объектов с пренебрежимо малыми множителями Лагранжа отбрасываются,
+ * а оставшиеся (опорные) пары хранятся в списке, а их множители - в массиве вещественных чисел, поэтому время
+ * вычисления функции пропорционально количеству опорных пар, а не размеру обучающей выборки.
+ * Экземпляры класса неизменяемы и могут использоваться одновременно из нескольких потоков.
  *
  * @author Igor Botian <igor.botian@gmail.com>
  */
 class DecisionFunction<T> {
 
     /**
-     * Ассоциативный массив, в котором каждой паре объектов из обучащей выборки соответствует множитель Лагранжа
+     * Порог (относительно наибольшего по модулю множителя Лагранжа), ниже которого множители считаются нулевыми
      */
-    private final Map<Pair<T, T>, Double> lagrangianMultipliers;
+    private static final double PRUNING_THRESHOLD = 1e-10;
+
+    /**
+     * Количество различных объектов, начиная с которого их оценки при пакетной классификации вычисляются параллельно
+     */
+    private static final int PARALLEL_SCORING_THRESHOLD = 64;
+
+    /**
+     * Опорные пары объектов из обучающей выборки
+     */
+    private final List<Pair<T, T>> supportPairs;
+
+    /**
+     * Множители Лагранжа опорных пар (в том же порядке)
+     */
+    private final double[] multipliers;
 
     /**
      * Ядро
@@ -32,12 +56,49 @@ class DecisionFunction<T> {
             throw new IllegalArgumentException("A set of Lagrangian multipliers cannot be empty");
         }
 
-        this.lagrangianMultipliers = Collections.unmodifiableMap(lagrangianMultipliers);
+        double max = 0.0;
+
+        for (Double multiplier : lagrangianMultipliers.values()) {
+            max = Math.max(max, Math.abs(multiplier));
+        }
+
+        double threshold = PRUNING_THRESHOLD * max;
+        int count = 0;
+
+        for (Double multiplier : lagrangianMultipliers.values()) {
+            if (Math.abs(multiplier) > threshold) {
+                count++;
+            }
+        }
+
+        List<Pair<T, T>> supportPairs = new ArrayList<>(count);
+        this.multipliers = new double[count];
+
+        for (Map.Entry<Pair<T, T>, Double> entry : lagrangianMultipliers.entrySet()) {
+            if (Math.abs(entry.getValue()) > threshold) {
+                multipliers[supportPairs.size()] = entry.getValue();
+                supportPairs.add(entry.getKey());
+            }
+        }
+
+        this.supportPairs = Collections.unmodifiableList(supportPairs);
+
         this.kernel = kernel;
     }
 
     /**
-     * Выяснение, является ли объект более предпочтительным, чем второй, или нет
+     * Количество опорных пар объектов, участвующих в вычислении функции
+     */
+    int supportPairsCount() {
+        return multipliers.length;
+    }
+
+    /**
+     * Выяснение, является ли объект более предпочтительным, чем второй, или нет, т.е. превышает ли значение
+     * функции для прямого порядка следования объектов её значение для обратного порядка.
+     * Обе суммы вычисляются за один проход по опорным парам. Значение разложимого ядра
+     * ({@link DecomposableKernel}) меняет знак при перестановке объектов во второй паре, поэтому для него значение
+     * функции для обратного порядка не вычисляется: достаточно знака значения для прямого порядка
      *
      * @param object              исходный объект
      * @param objectToCompareWith объект, с которым сравнивается исходный объект
@@ -54,25 +115,140 @@ class DecisionFunction<T> {
             throw new DecisionException("Decision function cannot be applied to equal objects: " + object.toString());
         }
 
-        double first = compute(new Pair<>(object, objectToCompareWith));
-        double second = compute(new Pair<>(objectToCompareWith, object));
+        Pair<T, T> pair = new Pair<>(object, objectToCompareWith);
+        double value = 0.0;
+
+        if (kernel instanceof DecomposableKernel) {
+            for (int i = 0; i < multipliers.length; i++) {
+                value += multipliers[i] * kernel.compute(supportPairs.get(i), pair);
+            }
+        } else {
+            Pair<T, T> reversed = new Pair<>(objectToCompareWith, object);
 
-        if (first - second == 0.0) {
+            for (int i = 0; i < multipliers.length; i++) {
+                Pair<T, T> supportPair = supportPairs.get(i);
+                value += multipliers[i] * (kernel.compute(supportPair, pair) - kernel.compute(supportPair, reversed));
+            }
+        }
+
+        if (value == 0.0) {
             throw new DecisionException("Cannot decide which object in the pair is preferable: " + object.toString()
                     + "; " + objectToCompareWith.toString());
         }
 
-        return (first > second);
+        return (value > 0.0);
     }
 
-    private double compute(Pair<T, T> objectsToCompare) {
-        assert objectsToCompare != null;
-        double sum = 0;
+    /**
+     * Выяснение предпочтения для каждой пары объектов из заданного набора.
+     * Если ядро функции является разложимым, оценка предпочтительности каждого из различных объектов вычисляется
+     * единожды (для большого количества объектов - параллельно), после чего пары сравниваются по оценкам.
+     * В противном случае пары обрабатываются по одной.
+     *
+     * @param pairs пары объектов
+     * @return массив, <code>i</code>-й элемент которого равен <code>true</code>, если первый объект
+     * <code>i</code>-й пары предпочтительнее второго; иначе <code>false</code>
+     * @throws DecisionException если хотя бы для одной из пар определить предпочтение невозможно
+     * @see #isPreferable(Object, Object)
+     * @see #score(Object)
+     */
+    public boolean[] isPreferable(List<? extends Pair<? extends T, ? extends T>> pairs) throws DecisionException {
+        Objects.requireNonNull(pairs);
+
+        boolean[] results = new boolean[pairs.size()];
+
+        if (!(kernel instanceof DecomposableKernel)) {
+            for (int i = 0; i < results.length; i++) {
+                Pair<? extends T, ? extends T> pair = pairs.get(i);
+                results[i] = isPreferable(pair.first, pair.second);
+            }
+
+            return results;
+        }
+
+        Map<T, Integer> indices = new HashMap<>();
+        List<T> objects = new ArrayList<>();
+        int[] firstIndices = new int[results.length];
+        int[] secondIndices = new int[results.length];
+
+        for (int i = 0; i < results.length; i++) {
+            Pair<? extends T, ? extends T> pair = pairs.get(i);
+            Objects.requireNonNull(pair.first);
+            Objects.requireNonNull(pair.second);
+
+            if (pair.first.equals(pair.second)) {
+                throw new DecisionException("Decision function cannot be applied to equal objects: "
+                        + pair.first.toString());
+            }
+
+            firstIndices[i] = indices.computeIfAbsent(pair.first, obj -> addTo(objects, obj));
+            secondIndices[i] = indices.computeIfAbsent(pair.second, obj -> addTo(objects, obj));
+        }
+
+        double[] scores = scores(objects, (DecomposableKernel<T>) kernel);
+
+        for (int i = 0; i < results.length; i++) {
+            double difference = scores[firstIndices[i]] - scores[secondIndices[i]];
+
+            if (difference == 0.0) {
+                Pair<? extends T, ? extends T> pair = pairs.get(i);
+                throw new DecisionException("Cannot decide which object in the pair is preferable: "
+                        + pair.first.toString() + "; " + pair.second.toString());
+            }
+
+            results[i] = (difference > 0.0);
+        }
+
+        return results;
+    }
+
+    private static <T> int addTo(List<T> objects, T object) {
+        objects.add(object);
+        return objects.size() - 1;
+    }
+
+    private double[] scores(List<T> objects, DecomposableKernel<T> decomposableKernel) {
+        assert objects != null;
+        assert decomposableKernel != null;
+
+        double[] scores = new double[objects.size()];
+        IntStream indices = IntStream.range(0, scores.length);
+
+        if (scores.length >= PARALLEL_SCORING_THRESHOLD) {
+            indices = indices.parallel();
+        }
+
+        indices.forEach(i -> scores[i] = score(objects.get(i), decomposableKernel));
+        return scores;
+    }
+
+    private double score(T object, DecomposableKernel<T> decomposableKernel) {
+        double score = 0.0;
+
+        for (int i = 0; i < multipliers.length; i++) {
+            score += multipliers[i] * decomposableKernel.compute(supportPairs.get(i), object);
+        }
+
+        return score;
+    }
+
+    /**
+     * Вычисление оценки предпочтительности объекта: <code>s(x) = sum(a_i * (k(p_i, x) - k(q_i, x)))</code>.
+     * Для разложимого ядра объект <code>a</code> предпочтительнее объекта <code>b</code> тогда и только тогда,
+     * когда <code>s(a) &gt; s(b)</code>
+     *
+     * @param object объект
+     * @return вещественное число
+     * @throws DecisionException если ядро решающей функции не является разложимым
+     * @see DecomposableKernel
+     */
+    public double score(T object) throws DecisionException {
+        Objects.requireNonNull(object);
 
-        for (Pair<T, T> pair : lagrangianMultipliers.keySet()) {
-            sum += lagrangianMultipliers.get(pair) * kernel.compute(pair, objectsToCompare);
+        if (!(kernel instanceof DecomposableKernel)) {
+            throw new DecisionException("Decision function kernel doesn't allow to score objects individually");
         }
 
-        return sum;
+        return score(object, (DecomposableKernel<T>) kernel);
     }
 }
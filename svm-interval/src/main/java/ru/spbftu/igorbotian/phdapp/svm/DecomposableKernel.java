@@ -0,0 +1,23 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+
+/**
+ * Ядро, значение которого для пары объектов <code>(a, b)</code> раскладывается на разность вкладов каждого
+ * из объектов: <code>K(p, (a, b)) = k(p, a) - k(p, b)</code>.
+ * Такое разложение позволяет вычислять оценку предпочтительности каждого объекта независимо от остальных.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+public interface DecomposableKernel<T> extends Kernel<T> {
+
+    /**
+     * Вычисление вклада объекта в значение ядра для заданной пары объектов
+     *
+     * @param pair   пара объектов
+     * @param object объект
+     * @return вещественное число
+     * @throws NullPointerException если хотя бы один из аргументов не задан
+     */
+    double compute(Pair<T, T> pair, T object);
+}
@@ -0,0 +1,451 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import com.google.inject.Inject;
+import org.apache.log4j.Logger;
+import ru.spbftu.igorbotian.phdapp.common.Judgement;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
+import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetAlgorithm;
+import ru.spbftu.igorbotian.phdapp.quadprog.GroupedBoxConstraints;
+import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
+
+import java.util.*;
+
+/**
+ * Средство решения задачи квадратичного программирования методом декомпозиции (по аналогии с методом SMO),
+ * не требующее построения полной матрицы квадратичной функции.
+ * <p>
+ * Ограничения задачи имеют вид <code>0 &lt;= сумма неизвестных экспертной оценки &lt;= C</code>.
+ * Экспертные оценки, имеющие общие неизвестные, объединяются в блоки; ограничения разных блоков независимы,
+ * поэтому задача решается покоординатным спуском по блокам: на каждой итерации выбирается блок, градиент
+ * которого сильнее всего изменился с момента его последней оптимизации, и подзадача для него решается точно
+ * с помощью метода Гольдфарба-Иднани. Строки матрицы ядра вычисляются по требованию и хранятся в кэше
+ * ограниченного размера, поэтому объём памяти составляет O(n) на строку вместо O(n^2) на всю матрицу.
+ * <p>
+ * Матрица ядра для пар объектов, как правило, вырождена. Так же, как и в полной задаче, к её диагональным элементам
+ * добавляется минимальное положительное число, при котором разложение Холецкого матриц подзадач существует.
+ * Это число одно для всех блоков и учитывается в градиенте, поэтому решение соответствует решению полной задачи
+ * с матрицей <code>Q + eps * I</code>; при необходимости увеличить его для очередного блока градиент пересчитывается.
+ * <p>
+ * Параметры конфигурации приложения:
+ * <ul>
+ * <li><code>decompositionSolverTolerance</code> - точность решения (по изменению градиента);</li>
+ * <li><code>decompositionSolverMaxIterationsPerBlock</code> - максимальное количество итераций в расчёте
+ * на один блок, при превышении которого решение считается не найденным;</li>
+ * <li><code>kernelCacheSize</code> - размер кэша строк матрицы ядра в мегабайтах.</li>
+ * </ul>
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see ActiveDualSetQuadraticProgrammingSolver
+ */
+class DecompositionQuadraticProgrammingSolver implements QuadraticProgrammingSolver {
+
+    private static final Logger LOGGER = Logger.getLogger(DecompositionQuadraticProgrammingSolver.class);
+
+    /**
+     * Название параметра, содержащего точность решения задачи
+     */
+    private static final String TOLERANCE_PARAM = "decompositionSolverTolerance";
+
+    /**
+     * Точность решения задачи по умолчанию
+     */
+    private static final double DEFAULT_TOLERANCE = 1e-10;
+
+    /**
+     * Название параметра, содержащего размер кэша строк матрицы ядра (в мегабайтах)
+     */
+    private static final String KERNEL_CACHE_SIZE_PARAM = "kernelCacheSize";
+
+    /**
+     * Размер кэша строк матрицы ядра по умолчанию (в мегабайтах)
+     */
+    private static final int DEFAULT_KERNEL_CACHE_SIZE = 64;
+
+    /**
+     * Название параметра, содержащего максимальное количество итераций в расчёте на один блок
+     */
+    private static final String MAX_ITERATIONS_PER_BLOCK_PARAM = "decompositionSolverMaxIterationsPerBlock";
+
+    /**
+     * Максимальное количество итераций в расчёте на один блок по умолчанию
+     */
+    private static final int DEFAULT_MAX_ITERATIONS_PER_BLOCK = 10000;
+
+    /**
+     * Количество знаков после запятой, до которого округляются элементы матрицы подзадачи
+     */
+    private static final int PRECISION = 10;
+
+    /**
+     * Средство решения подзадач
+     */
+    private final ActiveDualSetAlgorithm qpSolver;
+
+    /**
+     * Точность решения задачи
+     */
+    private final double tolerance;
+
+    /**
+     * Максимальное количество итераций в расчёте на один блок
+     */
+    private final int maxIterationsPerBlock;
+
+    /**
+     * Размер кэша строк матрицы ядра (в байтах)
+     */
+    private final long kernelCacheSize;
+
+    @Inject
+    public DecompositionQuadraticProgrammingSolver(ActiveDualSetAlgorithm qpSolver, ApplicationConfiguration config) {
+        this.qpSolver = Objects.requireNonNull(qpSolver);
+        Objects.requireNonNull(config);
+
+        this.tolerance = config.getDouble(TOLERANCE_PARAM, DEFAULT_TOLERANCE);
+        this.maxIterationsPerBlock = config.getInteger(MAX_ITERATIONS_PER_BLOCK_PARAM, DEFAULT_MAX_ITERATIONS_PER_BLOCK);
+        this.kernelCacheSize = config.getInteger(KERNEL_CACHE_SIZE_PARAM, DEFAULT_KERNEL_CACHE_SIZE) * 1024L * 1024L;
+
+        if (tolerance <= 0.0) {
+            throw new IllegalStateException("Decomposition solver tolerance should be positive");
+        }
+
+        if (maxIterationsPerBlock <= 0) {
+            throw new IllegalStateException("Maximum number of decomposition solver iterations should be positive");
+        }
+    }
+
+    @Override
+    public Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> solve(PairwiseTrainingSet trainingSet,
+                                                                           Kernel<UnclassifiedObject> kernel,
+                                                                           double penalty)
+            throws QuadraticProgrammingException {
+
+        Objects.requireNonNull(trainingSet);
+        Objects.requireNonNull(kernel);
+
+        if (!(penalty >= 0.0)) {
+            throw new QuadraticProgrammingException("Penalty should be non-negative: " + penalty);
+        }
+
+        Problem problem = new Problem(new ArrayList<>(trainingSet.judgements()), kernel, penalty);
+        problem.solve();
+        return problem.solution();
+    }
+
+    /**
+     * Состояние решения отдельно взятой задачи
+     */
+    private final class Problem {
+
+        /**
+         * Неизвестные задачи
+         */
+        final List<Pair<UnclassifiedObject, UnclassifiedObject>> variables;
+
+        /**
+         * Индексы неизвестных каждой экспертной оценки
+         */
+        final int[][] groups;
+
+        /**
+         * Блоки: индексы экспертных оценок и индексы неизвестных каждого блока
+         */
+        final int[][] blockGroups;
+
+        final int[][] blockVariables;
+
+        /**
+         * Индекс блока для каждой неизвестной
+         */
+        final int[] blockOf;
+
+        final Kernel<UnclassifiedObject> kernel;
+
+        final double penalty;
+
+        /**
+         * Текущее решение
+         */
+        final double[] alpha;
+
+        /**
+         * Градиент целевой функции: <code>Q * alpha - 1</code>
+         */
+        final double[] gradient;
+
+        /**
+         * Изменение градиента каждого блока с момента его последней оптимизации
+         */
+        final double[] drift;
+
+        final KernelRowCache cache;
+
+        /**
+         * Число, добавленное к диагональным элементам матрицы квадратичной функции (одно для всех блоков)
+         */
+        double jitter;
+
+        Problem(List<Judgement> judgements, Kernel<UnclassifiedObject> kernel, double penalty) {
+            this.kernel = kernel;
+            this.penalty = penalty;
+
+            Map<Pair<UnclassifiedObject, UnclassifiedObject>, Integer> indexes = new LinkedHashMap<>();
+            groups = new int[judgements.size()][];
+
+            for (int g = 0; g < judgements.size(); g++) {
+                Judgement judgement = judgements.get(g);
+                List<Integer> members = new ArrayList<>();
+
+                for (UnclassifiedObject preferable : judgement.preferable()) {
+                    for (UnclassifiedObject inferior : judgement.inferior()) {
+                        Pair<UnclassifiedObject, UnclassifiedObject> variable = new Pair<>(preferable, inferior);
+                        Integer index = indexes.get(variable);
+
+                        if (index == null) {
+                            index = indexes.size();
+                            indexes.put(variable, index);
+                        }
+
+                        if (!members.contains(index)) {
+                            members.add(index);
+                        }
+                    }
+                }
+
+                groups[g] = members.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            variables = new ArrayList<>(indexes.keySet());
+            int n = variables.size();
+
+            // объединение экспертных оценок, имеющих общие неизвестные, в блоки
+            int[] parent = new int[groups.length];
+            int[] firstGroupOf = new int[n];
+            Arrays.fill(firstGroupOf, -1);
+
+            for (int g = 0; g < groups.length; g++) {
+                parent[g] = g;
+            }
+
+            for (int g = 0; g < groups.length; g++) {
+                for (int i : groups[g]) {
+                    if (firstGroupOf[i] < 0) {
+                        firstGroupOf[i] = g;
+                    } else {
+                        parent[find(parent, g)] = find(parent, firstGroupOf[i]);
+                    }
+                }
+            }
+
+            Map<Integer, List<Integer>> components = new LinkedHashMap<>();
+
+            for (int g = 0; g < groups.length; g++) {
+                components.computeIfAbsent(find(parent, g), root -> new ArrayList<>()).add(g);
+            }
+
+            blockGroups = new int[components.size()][];
+            blockVariables = new int[components.size()][];
+            blockOf = new int[n];
+            int b = 0;
+
+            for (List<Integer> component : components.values()) {
+                blockGroups[b] = component.stream().mapToInt(Integer::intValue).toArray();
+                Set<Integer> members = new LinkedHashSet<>();
+
+                for (int g : blockGroups[b]) {
+                    for (int i : groups[g]) {
+                        members.add(i);
+                    }
+                }
+
+                blockVariables[b] = members.stream().mapToInt(Integer::intValue).toArray();
+
+                for (int i : blockVariables[b]) {
+                    blockOf[i] = b;
+                }
+
+                b++;
+            }
+
+            alpha = new double[n];
+            gradient = new double[n];
+            Arrays.fill(gradient, -1.0);
+            drift = new double[blockGroups.length];
+            Arrays.fill(drift, Double.POSITIVE_INFINITY);
+
+            int capacity = (int) Math.max(2L, Math.min(Integer.MAX_VALUE, kernelCacheSize / (8L * n)));
+            cache = new KernelRowCache(capacity, this::kernelRow);
+        }
+
+        private int find(int[] parent, int g) {
+            while (parent[g] != g) {
+                parent[g] = parent[parent[g]];
+                g = parent[g];
+            }
+
+            return g;
+        }
+
+        /**
+         * Вычисление строки матрицы ядра (без учёта числа, добавленного к диагональным элементам).
+         * Элементы округляются так же, как и элементы матриц подзадач, чтобы градиент соответствовал этим матрицам
+         */
+        private double[] kernelRow(int i) {
+            double[] row = new double[variables.size()];
+            Pair<UnclassifiedObject, UnclassifiedObject> variable = variables.get(i);
+
+            for (int j = 0; j < row.length; j++) {
+                row[j] = kernelValue(variable, variables.get(j));
+            }
+
+            return row;
+        }
+
+        private double kernelValue(Pair<UnclassifiedObject, UnclassifiedObject> first,
+                                   Pair<UnclassifiedObject, UnclassifiedObject> second) {
+            return ActiveDualSetQuadraticProgrammingSolver.round(kernel.compute(first, second), PRECISION);
+        }
+
+        void solve() throws QuadraticProgrammingException {
+            long maxIterations = (long) maxIterationsPerBlock * blockGroups.length;
+            int iterations = 0;
+
+            while (true) {
+                int block = 0;
+
+                for (int b = 1; b < drift.length; b++) {
+                    if (drift[b] > drift[block]) {
+                        block = b;
+                    }
+                }
+
+                if (drift[block] <= tolerance) {
+                    break;
+                }
+
+                if (iterations >= maxIterations) {
+                    throw new QuadraticProgrammingException("Decomposition solver did not converge in "
+                            + maxIterations + " iterations; gradient drift = " + drift[block]
+                            + ", tolerance = " + tolerance);
+                }
+
+                optimizeBlock(block);
+                iterations++;
+            }
+
+            LOGGER.debug("Decomposition solver: " + iterations + " iterations over " + blockGroups.length
+                    + " blocks; diagonal jitter = " + jitter
+                    + "; kernel row cache hits = " + cache.hits() + ", misses = " + cache.misses());
+        }
+
+        /**
+         * Точное решение подзадачи для заданного блока при фиксированных значениях остальных неизвестных
+         */
+        private void optimizeBlock(int block) throws QuadraticProgrammingException {
+            int[] members = blockVariables[block];
+            int size = members.length;
+            double[][] matrix = new double[size][size];
+
+            for (int p = 0; p < size; p++) {
+                for (int s = p; s < size; s++) {
+                    matrix[p][s] = matrix[s][p] = kernelValue(variables.get(members[p]), variables.get(members[s]));
+                }
+
+                matrix[p][p] += jitter;
+            }
+
+            // матрица ядра для пар объектов, как правило, вырождена; исправляется так же, как и в полной задаче
+            increaseJitter(qpSolver.makePositiveDefinite(matrix));
+
+            // линейная часть подзадачи: градиент за вычетом вклада самого блока
+            double[] vector = new double[size];
+
+            for (int p = 0; p < size; p++) {
+                double sum = gradient[members[p]];
+
+                for (int s = 0; s < size; s++) {
+                    sum -= matrix[p][s] * alpha[members[s]];
+                }
+
+                vector[p] = -sum;
+            }
+
+            int[] blockGroupIndexes = blockGroups[block];
+            int[][] localGroups = new int[blockGroupIndexes.length][];
+            Map<Integer, Integer> local = new HashMap<>();
+
+            for (int p = 0; p < size; p++) {
+                local.put(members[p], p);
+            }
+
+            for (int k = 0; k < blockGroupIndexes.length; k++) {
+                int[] group = groups[blockGroupIndexes[k]];
+                localGroups[k] = new int[group.length];
+
+                for (int t = 0; t < group.length; t++) {
+                    localGroups[k][t] = local.get(group[t]);
+                }
+            }
+
+            double[] solution = qpSolver.apply(matrix, vector,
+                    new GroupedBoxConstraints(size, localGroups, 0.0, penalty), null).solution();
+            double[] delta = new double[variables.size()];
+
+            for (int p = 0; p < size; p++) {
+                double change = solution[p] - alpha[members[p]];
+
+                if (change != 0.0) {
+                    alpha[members[p]] = solution[p];
+                    double[] row = cache.row(members[p]);
+
+                    for (int j = 0; j < delta.length; j++) {
+                        delta[j] += row[j] * change;
+                    }
+
+                    delta[members[p]] += jitter * change;
+                }
+            }
+
+            for (int j = 0; j < delta.length; j++) {
+                gradient[j] += delta[j];
+                drift[blockOf[j]] += Math.abs(delta[j]);
+            }
+
+            drift[block] = 0.0;
+        }
+
+        /**
+         * Увеличение числа, добавленного к диагональным элементам матрицы квадратичной функции, на заданную величину
+         * с соответствующим пересчётом градиента: <code>Q * alpha - 1</code> становится
+         * <code>(Q + eps * I) * alpha - 1</code> для нового значения <code>eps</code>
+         */
+        private void increaseJitter(double increment) {
+            if (increment <= 0.0) {
+                return;
+            }
+
+            jitter += increment;
+
+            for (int j = 0; j < alpha.length; j++) {
+                if (alpha[j] != 0.0) {
+                    double change = increment * alpha[j];
+                    gradient[j] += change;
+                    drift[blockOf[j]] += Math.abs(change);
+                }
+            }
+        }
+
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> solution() {
+            Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> solution = new HashMap<>();
+
+            for (int i = 0; i < variables.size(); i++) {
+                solution.put(variables.get(i), alpha[i]);
+            }
+
+            return solution;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import ru.spbftu.igorbotian.phdapp.common.Judgement;
+import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
+import ru.spbftu.igorbotian.phdapp.common.Parameter;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Представление объектов, подлежащих классификации, в виде вещественных векторов (массивов <code>double[]</code>).
+ * Индексы элементов векторов определяются общей для всех объектов схемой, сопоставляющей названию параметра
+ * его позицию в векторе. Схема пополняется по мере появления параметров с новыми названиями; отсутствующим
+ * у объекта параметрам соответствуют нулевые элементы (как и при дополнении векторов в
+ * {@link ru.spbftu.igorbotian.phdapp.common.EuclideanDistance}).
+ * <p>
+ * Схема и векторы формируются для объектов заданного набора (как правило, обучающей выборки) однократно,
+ * при создании экземпляра класса, и хранятся всё время его существования. Векторы остальных объектов
+ * (например, классифицируемых обученным классификатором) хранятся в кэше ограниченного размера,
+ * который очищается при переполнении, поэтому объём памяти не растёт с количеством классифицированных объектов.
+ * Экземпляры класса являются потокобезопасными.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+public final class FeatureVectors {
+
+    /**
+     * Максимальное количество векторов объектов, не входящих в заданный набор, хранящихся в кэше
+     */
+    static final int CACHE_CAPACITY = 4096;
+
+    /**
+     * Индексы параметров в векторах
+     */
+    private final Map<String, Integer> paramIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Векторы объектов заданного набора (не изменяются после создания экземпляра класса)
+     */
+    private final Map<UnclassifiedObject, double[]> vectors;
+
+    /**
+     * Векторы остальных объектов
+     */
+    private final Map<UnclassifiedObject, double[]> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Создание векторных представлений без заранее заданного набора объектов
+     */
+    public FeatureVectors() {
+        this(Collections.emptySet());
+    }
+
+    /**
+     * Создание векторных представлений объектов заданного набора
+     *
+     * @param objects набор объектов (повторяющиеся объекты учитываются однократно)
+     * @throws NullPointerException     если набор или хотя бы один из его объектов не заданы
+     * @throws IllegalArgumentException если значение какого-либо из параметров объекта не может быть приведено
+     *                                  к вещественному значению
+     */
+    public FeatureVectors(Collection<? extends UnclassifiedObject> objects) {
+        Objects.requireNonNull(objects);
+
+        Map<UnclassifiedObject, double[]> vectors = new HashMap<>();
+
+        for (UnclassifiedObject obj : objects) {
+            vectors.computeIfAbsent(Objects.requireNonNull(obj), this::toVector);
+        }
+
+        this.vectors = vectors;
+    }
+
+    /**
+     * Создание векторных представлений объектов, входящих в экспертные оценки заданной обучающей выборки
+     *
+     * @param trainingSet обучающая выборка
+     * @return векторные представления объектов
+     * @throws NullPointerException если обучающая выборка не задана
+     */
+    public static FeatureVectors forTrainingSet(PairwiseTrainingSet trainingSet) {
+        return new FeatureVectors(objectsOf(Objects.requireNonNull(trainingSet)));
+    }
+
+    /**
+     * Объекты, входящие в экспертные оценки заданной обучающей выборки (в порядке их следования)
+     */
+    static Collection<UnclassifiedObject> objectsOf(PairwiseTrainingSet trainingSet) {
+        Collection<UnclassifiedObject> objects = new LinkedHashSet<>();
+
+        for (Judgement judgement : trainingSet.judgements()) {
+            objects.addAll(judgement.preferable());
+            objects.addAll(judgement.inferior());
+        }
+
+        return objects;
+    }
+
+    /**
+     * Получение вектора для заданного объекта.
+     * Возвращаемый массив используется совместно и не должен изменяться.
+     *
+     * @param obj объект, подлежащий классификации
+     * @return вещественный вектор
+     * @throws NullPointerException     если объект не задан
+     * @throws IllegalArgumentException если значение какого-либо из параметров объекта не может быть приведено
+     *                                  к вещественному значению
+     */
+    public double[] of(UnclassifiedObject obj) {
+        Objects.requireNonNull(obj);
+
+        double[] vector = vectors.get(obj);
+
+        if (vector == null) {
+            vector = cache.get(obj);
+        }
+
+        if (vector == null) {
+            if (cache.size() >= CACHE_CAPACITY) {
+                cache.clear();
+            }
+
+            vector = cache.computeIfAbsent(obj, this::toVector);
+        }
+
+        return vector;
+    }
+
+    /**
+     * Количество параметров, известных схеме
+     */
+    public int dimension() {
+        return paramIndexes.size();
+    }
+
+    private double[] toVector(UnclassifiedObject obj) {
+        int[] indexes = new int[obj.parameters().size()];
+        double[] values = new double[indexes.length];
+        int size = 0;
+        int i = 0;
+
+        for (Parameter<?> param : obj.parameters()) {
+            indexes[i] = indexOf(param.name());
+            values[i] = UnclassifiedObjectUtils.toDoubleValue(param);
+            size = Math.max(size, indexes[i] + 1);
+            i++;
+        }
+
+        double[] vector = new double[size];
+
+        for (i = 0; i < indexes.length; i++) {
+            vector[indexes[i]] = values[i];
+        }
+
+        return vector;
+    }
+
+    private int indexOf(String paramName) {
+        Integer index = paramIndexes.get(paramName);
+
+        if (index == null) {
+            synchronized (paramIndexes) {
+                index = paramIndexes.get(paramName);
+
+                if (index == null) {
+                    index = paramIndexes.size();
+                    paramIndexes.put(paramName, index);
+                }
+            }
+        }
+
+        return index;
+    }
+}
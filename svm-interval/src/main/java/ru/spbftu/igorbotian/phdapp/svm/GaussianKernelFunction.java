@@ -21,12 +21,28 @@ public abstract class GaussianKernelFunction<T> implements KernelFunction<T> {
         this.sigma = sigma;
     }
 
+    /**
+     * Получение свободного параметра
+     */
+    public double sigma() {
+        return sigma;
+    }
+
     @Override
     public double compute(T x, T y) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(y);
 
-        return GaussianKernel.compute(distanceFunction().apply(x, y), sigma);
+        return GaussianKernel.compute(distance(x, y), sigma);
+    }
+
+    /**
+     * Вычисление расстояния между двумя объектами.
+     * По умолчанию используется функция, возвращаемая методом {@link #distanceFunction()}; наследники могут
+     * переопределить данный метод, чтобы избежать упаковки результата
+     */
+    protected double distance(T x, T y) {
+        return distanceFunction().apply(x, y);
     }
 
     /**
@@ -3,7 +3,6 @@ package ru.spbftu.igorbotian.phdapp.svm;
 import ru.spbftu.igorbotian.phdapp.common.EuclideanDistance;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiFunction;
 
@@ -14,24 +13,38 @@ import java.util.function.BiFunction;
  */
 public class GaussianKernelFunctionImpl extends GaussianKernelFunction<UnclassifiedObject> {
 
+    /**
+     * Векторные представления объектов, между которыми вычисляется расстояние
+     */
+    private final FeatureVectors featureVectors;
+
     public GaussianKernelFunctionImpl(double sigma) {
+        this(sigma, new FeatureVectors());
+    }
+
+    /**
+     * Создание функции ядра, использующей заданные векторные представления объектов
+     * (как правило, сформированные для объектов обучающей выборки)
+     *
+     * @param sigma          свободный параметр
+     * @param featureVectors векторные представления объектов
+     * @throws NullPointerException если векторные представления не заданы
+     */
+    public GaussianKernelFunctionImpl(double sigma, FeatureVectors featureVectors) {
         super(sigma);
+        this.featureVectors = Objects.requireNonNull(featureVectors);
     }
 
     @Override
     protected BiFunction<UnclassifiedObject, UnclassifiedObject, Double> distanceFunction() {
-        return this::euclideanDistance;
+        return this::distance;
     }
 
-    private Double euclideanDistance(UnclassifiedObject x, UnclassifiedObject y) {
+    @Override
+    protected double distance(UnclassifiedObject x, UnclassifiedObject y) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(y);
 
-        Map<String, Integer> paramIndexes = UnclassifiedObjectUtils.composeMapOfParamIndexes(x);
-
-        return EuclideanDistance.compute(
-                UnclassifiedObjectUtils.toNumericalVector(x, paramIndexes),
-                UnclassifiedObjectUtils.toNumericalVector(y, paramIndexes)
-        );
+        return EuclideanDistance.compute(featureVectors.of(x), featureVectors.of(y));
     }
 }
@@ -1,7 +1,12 @@
 package ru.spbftu.igorbotian.phdapp.svm;
 
 import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.quadprog.SymmetricMatrix;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -10,12 +15,107 @@ import java.util.Objects;
  * @author Igor Botian <igor.botian@gmail.com>
  * @see <a href="http://research.microsoft.com/apps/pubs/default.aspx?id=65610">http://research.microsoft.com/apps/pubs/default.aspx?id=65610</a>
  */
-public class GaussianMercerKernel<T> implements Kernel<T> {
+public class GaussianMercerKernel<T> implements DecomposableKernel<T> {
 
     private GaussianKernelFunction<T> kernelFunction;
 
+    /**
+     * Предварительно вычисленные квадраты расстояний между объектами (<code>null</code>, если не заданы)
+     */
+    private final SquaredDistanceMatrix<T> distances;
+
+    /**
+     * Индексы объектов, для которых предварительно вычислена матрица Грама
+     */
+    private final Map<T, Integer> indexes;
+
+    /**
+     * Матрица Грама (значения функции ядра для всех пар объектов), хранящаяся в упакованном виде
+     */
+    private final SymmetricMatrix gramMatrix;
+
     public GaussianMercerKernel(GaussianKernelFunction<T> kernelFunction) {
+        this(kernelFunction, null, Collections.emptyMap(), null);
+    }
+
+    /**
+     * Создание ядра, использующего предварительно вычисленные квадраты расстояний между объектами.
+     * Для пар объектов из матрицы значение функции ядра вычисляется по квадрату расстояния, а матрица Грама
+     * формируется без вычисления расстояний
+     *
+     * @param kernelFunction функция Гауссова ядра
+     * @param distances      квадраты расстояний, согласованных с расстоянием, применяемым функцией ядра
+     * @throws NullPointerException если хотя бы один из параметров не задан
+     */
+    GaussianMercerKernel(GaussianKernelFunction<T> kernelFunction, SquaredDistanceMatrix<T> distances) {
+        this(kernelFunction, Objects.requireNonNull(distances), Collections.emptyMap(), null);
+    }
+
+    private GaussianMercerKernel(GaussianKernelFunction<T> kernelFunction, SquaredDistanceMatrix<T> distances,
+                                 Map<T, Integer> indexes, SymmetricMatrix gramMatrix) {
         this.kernelFunction = Objects.requireNonNull(kernelFunction);
+        this.distances = distances;
+        this.indexes = indexes;
+        this.gramMatrix = gramMatrix;
+    }
+
+    /**
+     * Получение ядра с предварительно вычисленной матрицей Грама для заданного множества объектов.
+     * Значение функции ядра для каждой пары различных объектов вычисляется однократно, после чего ядро Мерсера
+     * для пар объектов из множества формируется из элементов матрицы.
+     * Матрица Грама симметрична, поэтому хранится в упакованном виде (только верхний треугольник).
+     * Если даже упакованная матрица не помещается в массив, то значения функции ядра вычисляются по требованию.
+     *
+     * @param objects множество объектов
+     * @return ядро с предварительно вычисленной матрицей Грама
+     * @throws NullPointerException если множество объектов не задано
+     */
+    @Override
+    public GaussianMercerKernel<T> precompute(Collection<? extends T> objects) {
+        Objects.requireNonNull(objects);
+
+        if (distances != null && distances.containsAll(objects)) {
+            if (!fitsInArray(distances.size())) {
+                return new GaussianMercerKernel<>(kernelFunction, distances);
+            }
+
+            return new GaussianMercerKernel<>(kernelFunction, distances, distances.indexes(),
+                    distances.gaussianGramMatrix(kernelFunction.sigma()));
+        }
+
+        Map<T, Integer> indexes = new HashMap<>();
+
+        for (T object : objects) {
+            indexes.putIfAbsent(Objects.requireNonNull(object), indexes.size());
+        }
+
+        int n = indexes.size();
+
+        if (!fitsInArray(n)) {
+            return new GaussianMercerKernel<>(kernelFunction, distances, Collections.emptyMap(), null);
+        }
+
+        Object[] distinct = new Object[n];
+        indexes.forEach((object, i) -> distinct[i] = object);
+
+        SymmetricMatrix gramMatrix = new SymmetricMatrix(n, SymmetricMatrix.Precision.DOUBLE);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                @SuppressWarnings("unchecked")
+                double value = kernelFunction.compute((T) distinct[i], (T) distinct[j]);
+                gramMatrix.set(i, j, value);
+            }
+        }
+
+        return new GaussianMercerKernel<>(kernelFunction, distances, indexes, gramMatrix);
+    }
+
+    /**
+     * Проверка того, что упакованная матрица Грама для заданного количества объектов помещается в массив
+     */
+    static boolean fitsInArray(int n) {
+        return (long) n * (n + 1) / 2 <= Integer.MAX_VALUE - 8;
     }
 
     /**
@@ -32,9 +132,48 @@ public class GaussianMercerKernel<T> implements Kernel<T> {
         Objects.requireNonNull(first);
         Objects.requireNonNull(second);
 
-        return kernelFunction.compute(first.first, second.first)
-                - kernelFunction.compute(first.first, second.second)
-                - kernelFunction.compute(first.second, second.first)
-                + kernelFunction.compute(first.second, second.second);
+        return compute(first.first, second.first)
+                - compute(first.first, second.second)
+                - compute(first.second, second.first)
+                + compute(first.second, second.second);
+    }
+
+    /**
+     * Вычисление вклада объекта в значение ядра Мерсера для заданной пары объектов:
+     * <code>k(pair.first, object) - k(pair.second, object)</code>
+     *
+     * @param pair   пара объектов
+     * @param object объект
+     * @return вещественное число
+     * @throws NullPointerException если хотя бы один из аргументов не задан
+     */
+    @Override
+    public double compute(Pair<T, T> pair, T object) {
+        Objects.requireNonNull(pair);
+        Objects.requireNonNull(object);
+
+        return compute(pair.first, object) - compute(pair.second, object);
+    }
+
+    private double compute(T x, T y) {
+        Integer i = indexes.get(x);
+        Integer j = (i == null) ? null : indexes.get(y);
+
+        if (j == null) {
+            return computeByDistance(x, y);
+        }
+
+        return gramMatrix.get(i, j);
+    }
+
+    private double computeByDistance(T x, T y) {
+        int i = (distances == null) ? -1 : distances.indexOf(x);
+        int j = (i < 0) ? -1 : distances.indexOf(y);
+
+        if (j < 0) {
+            return kernelFunction.compute(x, y);
+        }
+
+        return SquaredDistanceMatrix.gaussian(distances.get(i, j), kernelFunction.sigma());
     }
 }
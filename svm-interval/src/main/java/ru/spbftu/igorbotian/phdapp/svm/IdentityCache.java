@@ -0,0 +1,180 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Кэш ограниченного размера, ключами которого являются сами объекты, а не их значения (сравнение по ссылке),
+ * вытесняющий давно не использовавшиеся элементы (LRU).
+ * Размер кэша - это сумма весов его элементов (по умолчанию вес каждого элемента равен единице, то есть размер
+ * ограничивает количество элементов; для больших значений в качестве веса удобно использовать объём занимаемой
+ * ими памяти). Значение, вес которого сам по себе превышает максимальный размер кэша, в кэше не сохраняется.
+ * Предназначен для результатов дорогостоящих вычислений над неизменяемыми объектами (например, обучающими
+ * выборками), которые многократно повторяются для одного и того же объекта. Ключи удерживаются кэшем до их
+ * вытеснения. Значения вычисляются вне блокировки, поэтому одно и то же значение может быть вычислено
+ * одновременно в нескольких потоках; в кэше при этом остаётся первое из них.
+ * Экземпляры класса являются потокобезопасными.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+final class IdentityCache<K, V> {
+
+    /**
+     * Кэшированные значения в порядке их использования
+     */
+    private final LinkedHashMap<IdentityKey<K>, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Максимальный размер кэша
+     */
+    private final long capacity;
+
+    /**
+     * Функция вычисления веса значения
+     */
+    private final ToLongFunction<? super V> weigher;
+
+    /**
+     * Текущий размер кэша (сумма весов его элементов)
+     */
+    private long size;
+
+    /**
+     * Количество обращений, для которых значение было найдено в кэше
+     */
+    private long hits;
+
+    /**
+     * Количество обращений, для которых значение пришлось вычислять
+     */
+    private long misses;
+
+    /**
+     * Создание кэша
+     *
+     * @param capacity максимальное количество элементов в кэше (положительное)
+     * @throws IllegalArgumentException если максимальное количество элементов неположительное
+     */
+    IdentityCache(int capacity) {
+        this(capacity, value -> 1L);
+    }
+
+    /**
+     * Создание кэша, размер которого ограничен суммой весов элементов
+     *
+     * @param capacity максимальный размер кэша (положительный)
+     * @param weigher  функция вычисления веса значения (должна возвращать неотрицательное число, не изменяющееся
+     *                 на протяжении хранения значения в кэше)
+     * @throws IllegalArgumentException если максимальный размер кэша неположительный
+     * @throws NullPointerException     если функция вычисления веса не задана
+     */
+    IdentityCache(long capacity, ToLongFunction<? super V> weigher) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity should be positive: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.weigher = Objects.requireNonNull(weigher);
+    }
+
+    /**
+     * Получение значения для заданного объекта с его вычислением, если оно отсутствует в кэше
+     *
+     * @param key    объект
+     * @param loader функция вычисления значения (не должна возвращать <code>null</code>)
+     * @return значение
+     * @throws NullPointerException если объект или функция не заданы, либо функция вернула <code>null</code>
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(loader);
+        IdentityKey<K> identityKey = new IdentityKey<>(Objects.requireNonNull(key));
+
+        synchronized (this) {
+            V value = entries.get(identityKey);
+
+            if (value != null) {
+                hits++;
+                return value;
+            }
+
+            misses++;
+        }
+
+        V value = Objects.requireNonNull(loader.apply(key));
+
+        long weight = weigher.applyAsLong(value);
+
+        if (weight > capacity) {
+            return value;
+        }
+
+        synchronized (this) {
+            V existing = entries.get(identityKey);
+
+            if (existing != null) {
+                return existing;
+            }
+
+            entries.put(identityKey, value);
+            size += weight;
+            evict();
+            return value;
+        }
+    }
+
+    /**
+     * Вытеснение давно не использовавшихся элементов до тех пор, пока размер кэша превышает максимальный
+     */
+    private void evict() {
+        Iterator<V> values = entries.values().iterator();
+
+        while (size > capacity && values.hasNext()) {
+            size -= weigher.applyAsLong(values.next());
+            values.remove();
+        }
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    //-------------------------------------------------------------------------
+
+    /**
+     * Обёртка объекта, сравниваемая по ссылке на него
+     */
+    private static final class IdentityKey<K> {
+
+        private final K key;
+
+        IdentityKey(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey<?>) obj).key == key;
+        }
+    }
+}
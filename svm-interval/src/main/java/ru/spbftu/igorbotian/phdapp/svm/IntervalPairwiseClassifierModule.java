@@ -11,11 +11,30 @@ public class IntervalPairwiseClassifierModule extends PhDAppModule {
     @Override
     protected void configure() {
         install(new QuadraticProgrammingModule());
-        bind(QuadraticProgrammingSolver.class).to(ActiveDualSetQuadraticProgrammingSolver.class);
+        bindQuadraticProgrammingSolver();
         bind(IntervalClassifierParameterFactory.class).to(IntervalClassifierParameterFactoryImpl.class);
         bindIntervalRankingPairwiseClassifier();
     }
 
+    /**
+     * Задание средства решения задачи квадратичного программирования.
+     * По умолчанию средство решения выбирается в соответствии с параметром конфигурации приложения
+     * <code>quadraticProgrammingSolver</code>: метод Гольдфарба-Иднани, требующий построения полной матрицы
+     * квадратичной функции, или метод декомпозиции для обучающих выборок большого размера
+     * (см. {@link QuadraticProgrammingSolverProvider})
+     */
+    protected void bindQuadraticProgrammingSolver() {
+        bind(QuadraticProgrammingSolver.class).toProvider(QuadraticProgrammingSolverProvider.class);
+    }
+
+    /**
+     * Задание средства решения задачи квадратичного программирования, основанного на методе декомпозиции
+     * и не требующего построения полной матрицы квадратичной функции
+     */
+    protected final void bindDecompositionQuadraticProgrammingSolver() {
+        bind(QuadraticProgrammingSolver.class).to(DecompositionQuadraticProgrammingSolver.class);
+    }
+
     protected void bindIntervalRankingPairwiseClassifier() {
         bind(IntervalRankingPairwiseClassifier.class).to(IntervalRankingPairwiseClassifierImpl.class);
     }
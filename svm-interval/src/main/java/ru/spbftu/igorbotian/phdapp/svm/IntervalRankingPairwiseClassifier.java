@@ -1,10 +1,59 @@
 package ru.spbftu.igorbotian.phdapp.svm;
 
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
- * Маркерный интерфейс ранжирующего попарного классификатора, поддерживающего групповые экспертные оценки
+ * Ранжирующий попарный классификатор, поддерживающий групповые экспертные оценки.
+ * Помимо попарной классификации позволяет вычислять оценку предпочтительности каждого объекта в отдельности,
+ * что даёт возможность ранжировать N объектов за N вычислений оценки вместо O(N^2) попарных сравнений.
+ *
  * @author Igor Botian <igor.botian@gmail.com>
  */
 public interface IntervalRankingPairwiseClassifier extends RankingPairwiseClassifier {
 
-    //
+    /**
+     * Вычисление оценки предпочтительности объекта с помощью обученного классификатора.
+     * Из двух объектов предпочтительнее тот, оценка которого больше
+     *
+     * @param object объект
+     * @return вещественное число
+     * @throws ClassificationException в случае ошибки классификации
+     * @throws NullPointerException    если объект не задан
+     */
+    double score(UnclassifiedObject object) throws ClassificationException;
+
+    /**
+     * Ранжирование объектов по убыванию их предпочтительности.
+     * Объекты с одинаковой оценкой следуют в исходном порядке
+     *
+     * @param objects объекты
+     * @return список объектов, начинающийся с наиболее предпочтительного
+     * @throws ClassificationException в случае ошибки классификации
+     * @throws NullPointerException    если коллекция объектов не задана
+     */
+    default List<UnclassifiedObject> rank(Collection<? extends UnclassifiedObject> objects)
+            throws ClassificationException {
+
+        Objects.requireNonNull(objects);
+
+        List<UnclassifiedObject> items = new ArrayList<>(objects);
+        double[] scores = new double[items.size()];
+
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = score(items.get(i));
+        }
+
+        return IntStream.range(0, scores.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+                .map(items::get)
+                .collect(Collectors.toList());
+    }
 }
@@ -33,8 +33,18 @@ class IntervalRankingPairwiseClassifierImpl extends AbstractIntervalRankingPairw
         super.train(trainingSet, params);
     }
 
+    @Override
+    public IntervalRankingPairwiseClassifier newInstance() {
+        return new IntervalRankingPairwiseClassifierImpl(qpSolver());
+    }
+
     @Override
     protected Kernel<UnclassifiedObject> getKernel() {
         return new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(sigma));
     }
+
+    @Override
+    protected Kernel<UnclassifiedObject> getKernel(PairwiseTrainingSet trainingSet) {
+        return gaussianKernel(sigma, trainingSet);
+    }
 }
@@ -2,6 +2,8 @@ package ru.spbftu.igorbotian.phdapp.svm;
 
 import ru.spbftu.igorbotian.phdapp.common.Pair;
 
+import java.util.Collection;
+
 /**
  * Ядро
  *
@@ -18,4 +20,19 @@ public interface Kernel<T> {
      * @throws NullPointerException если хотя бы один из аргументов не задан
      */
     double compute(Pair<T, T> first, Pair<T, T> second);
+
+    /**
+     * Получение ядра, подготовленного к многократному вычислению для пар объектов из заданного множества
+     * (например, за счёт предварительного вычисления значений функции ядра для всех пар объектов).
+     * Для объектов, не входящих в множество, результат вычисления подготовленного ядра не должен отличаться
+     * от результата вычисления исходного ядра.
+     * Реализация по умолчанию никакой подготовки не производит.
+     *
+     * @param objects множество объектов
+     * @return подготовленное ядро
+     * @throws NullPointerException если множество объектов не задано
+     */
+    default Kernel<T> precompute(Collection<? extends T> objects) {
+        return this;
+    }
 }
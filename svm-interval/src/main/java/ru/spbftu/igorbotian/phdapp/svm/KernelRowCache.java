@@ -0,0 +1,84 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Кэш строк матрицы ядра ограниченного размера, вытесняющий давно не использовавшиеся строки (LRU).
+ * Строки вычисляются по требованию с помощью заданной функции.
+ * Экземпляры класса не являются потокобезопасными.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+class KernelRowCache {
+
+    /**
+     * Функция вычисления строки матрицы ядра по её индексу
+     */
+    private final IntFunction<double[]> rowFunction;
+
+    /**
+     * Кэшированные строки в порядке их использования
+     */
+    private final LinkedHashMap<Integer, double[]> rows;
+
+    /**
+     * Количество обращений, для которых строка была найдена в кэше
+     */
+    private long hits;
+
+    /**
+     * Количество обращений, для которых строку пришлось вычислять
+     */
+    private long misses;
+
+    /**
+     * Создание кэша
+     *
+     * @param capacity    максимальное количество строк в кэше (положительное)
+     * @param rowFunction функция вычисления строки матрицы ядра по её индексу
+     * @throws NullPointerException     если функция вычисления строки не задана
+     * @throws IllegalArgumentException если максимальное количество строк неположительное
+     */
+    KernelRowCache(int capacity, IntFunction<double[]> rowFunction) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity should be positive: " + capacity);
+        }
+
+        this.rowFunction = Objects.requireNonNull(rowFunction);
+        this.rows = new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, double[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Получение строки матрицы ядра с заданным индексом
+     */
+    double[] row(int index) {
+        double[] row = rows.get(index);
+
+        if (row == null) {
+            misses++;
+            row = rowFunction.apply(index);
+            rows.put(index, row);
+        } else {
+            hits++;
+        }
+
+        return row;
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+}
@@ -6,6 +6,7 @@ import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Средство решения задачи квадратичного программирования
@@ -29,4 +30,45 @@ public interface QuadraticProgrammingSolver {
                                                                     Kernel<UnclassifiedObject> kernel,
                                                                     double penalty)
             throws QuadraticProgrammingException;
+
+    /**
+     * Решения задачи квадратичного программирования с заданными параметрами с возможностью "тёплого старта".
+     * Если в заданном состоянии тёплого старта хранится решение задачи для той же обучающей выборки
+     * (с тем же набором неизвестных), то её решение (множество активных ограничений и множители Лагранжа)
+     * используется в качестве начального приближения, а по завершении в нём сохраняется решение данной задачи.
+     * Это позволяет существенно сократить время решения серии задач, отличающихся лишь значением штрафного параметра.
+     * Реализация по умолчанию тёплый старт не поддерживает.
+     *
+     * @param trainingSet обучающая выборка
+     * @param kernel      ядро, применяемое в ходе решения
+     * @param penalty     параметр штрафа
+     * @param warmStart   состояние тёплого старта серии задач, к которой относится данная задача
+     * @return ассоциативный массив, в котором каждой паре объектов из экспертной оценки соответствует
+     * некоторое вещественное число (как элемент решения задачи)
+     * @throws QuadraticProgrammingException в случае возникновения ошибки в процессе решения
+     * @throws NullPointerException          если обучающая выборка, функция ядра или состояние тёплого старта
+     *                                       не заданы
+     */
+    default Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> solve(PairwiseTrainingSet trainingSet,
+                                                                            Kernel<UnclassifiedObject> kernel,
+                                                                            double penalty,
+                                                                            WarmStart warmStart)
+            throws QuadraticProgrammingException {
+
+        Objects.requireNonNull(warmStart);
+        return solve(trainingSet, kernel, penalty);
+    }
+
+    /**
+     * Получение информации о том, вычисляет ли средство решения значения ядра для всех пар объектов обучающей
+     * выборки заранее (см. {@link Kernel#precompute(java.util.Collection)}).
+     * Если нет, то данные, необходимые лишь для такого вычисления (например, матрицу расстояний между объектами
+     * обучающей выборки), формировать не нужно.
+     * Реализация по умолчанию значения ядра заранее не вычисляет
+     *
+     * @return <code>true</code>, если значения ядра вычисляются заранее; иначе <code>false</code>
+     */
+    default boolean precomputesKernel() {
+        return false;
+    }
 }
@@ -0,0 +1,67 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
+
+import java.util.Objects;
+
+/**
+ * Средство выбора способа решения задачи квадратичного программирования в соответствии с конфигурацией приложения.
+ * <p>
+ * Параметры конфигурации приложения:
+ * <ul>
+ * <li><code>quadraticProgrammingSolver</code> - способ решения задачи: <code>activeDualSet</code>
+ * (по умолчанию; метод Гольдфарба-Иднани, требующий построения полной матрицы квадратичной функции)
+ * или <code>decomposition</code> (метод декомпозиции, применяемый для обучающих выборок большого размера).</li>
+ * </ul>
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see ActiveDualSetQuadraticProgrammingSolver
+ * @see DecompositionQuadraticProgrammingSolver
+ */
+class QuadraticProgrammingSolverProvider implements Provider<QuadraticProgrammingSolver> {
+
+    /**
+     * Название параметра, содержащего способ решения задачи квадратичного программирования
+     */
+    static final String SOLVER_PARAM = "quadraticProgrammingSolver";
+
+    /**
+     * Значение параметра, соответствующее методу Гольдфарба-Иднани
+     */
+    static final String ACTIVE_DUAL_SET_SOLVER = "activeDualSet";
+
+    /**
+     * Значение параметра, соответствующее методу декомпозиции
+     */
+    static final String DECOMPOSITION_SOLVER = "decomposition";
+
+    private final ApplicationConfiguration config;
+
+    private final Provider<ActiveDualSetQuadraticProgrammingSolver> activeDualSetSolver;
+
+    private final Provider<DecompositionQuadraticProgrammingSolver> decompositionSolver;
+
+    @Inject
+    public QuadraticProgrammingSolverProvider(ApplicationConfiguration config,
+                                              Provider<ActiveDualSetQuadraticProgrammingSolver> activeDualSetSolver,
+                                              Provider<DecompositionQuadraticProgrammingSolver> decompositionSolver) {
+        this.config = Objects.requireNonNull(config);
+        this.activeDualSetSolver = Objects.requireNonNull(activeDualSetSolver);
+        this.decompositionSolver = Objects.requireNonNull(decompositionSolver);
+    }
+
+    @Override
+    public QuadraticProgrammingSolver get() {
+        String solver = config.getString(SOLVER_PARAM, ACTIVE_DUAL_SET_SOLVER);
+
+        if (solver == null || ACTIVE_DUAL_SET_SOLVER.equalsIgnoreCase(solver.trim())) {
+            return activeDualSetSolver.get();
+        } else if (DECOMPOSITION_SOLVER.equalsIgnoreCase(solver.trim())) {
+            return decompositionSolver.get();
+        }
+
+        throw new IllegalStateException("Unsupported quadratic programming solver: " + solver);
+    }
+}
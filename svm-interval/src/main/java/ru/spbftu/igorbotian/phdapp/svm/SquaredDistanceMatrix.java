@@ -0,0 +1,264 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import ru.spbftu.igorbotian.phdapp.common.EuclideanDistance;
+import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+import ru.spbftu.igorbotian.phdapp.quadprog.SymmetricMatrix;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToDoubleBiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Матрица квадратов расстояний между всеми парами объектов заданного множества.
+ * Квадраты расстояний не зависят от свободного параметра Гауссова ядра, поэтому при переборе значений параметра
+ * для одного и того же множества объектов матрица Грама формируется из них одним проходом возведения экспоненты
+ * в степень, без повторного вычисления расстояний.
+ * Матрица симметрична и имеет нулевую диагональ, поэтому хранится в упакованном виде: элементы над главной
+ * диагональю построчно в одномерном массиве.
+ * Экземпляры класса неизменяемы и могут использоваться одновременно из нескольких потоков.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see GaussianMercerKernel
+ */
+final class SquaredDistanceMatrix<T> {
+
+    /**
+     * Количество объектов, начиная с которого строки матрицы вычисляются параллельно
+     */
+    static final int PARALLEL_COMPUTATION_THRESHOLD = 64;
+
+    /**
+     * Максимальный суммарный объём памяти (в байтах), занимаемой матрицами, которые хранятся в кэше
+     */
+    static final long CACHE_CAPACITY = 64L * 1024 * 1024;
+
+    /**
+     * Приблизительный объём памяти (в байтах), занимаемой индексом одного объекта в матрице
+     */
+    private static final int INDEX_ENTRY_SIZE = 64;
+
+    /**
+     * Матрицы квадратов евклидовых расстояний между объектами обучающих выборок
+     */
+    private static final IdentityCache<PairwiseTrainingSet, SquaredDistanceMatrix<UnclassifiedObject>> CACHE
+            = new IdentityCache<>(CACHE_CAPACITY, SquaredDistanceMatrix::sizeInBytes);
+
+    /**
+     * Индексы объектов в матрице
+     */
+    private final Map<T, Integer> indexes;
+
+    /**
+     * Элементы матрицы над главной диагональю, хранящиеся построчно
+     */
+    private final double[] distances;
+
+    private SquaredDistanceMatrix(Map<T, Integer> indexes, double[] distances) {
+        this.indexes = indexes;
+        this.distances = distances;
+    }
+
+    /**
+     * Вычисление матрицы для заданного множества объектов
+     *
+     * @param objects         множество объектов (повторяющиеся объекты учитываются однократно)
+     * @param squaredDistance функция, возвращающая квадрат расстояния между двумя объектами
+     * @return матрица квадратов расстояний
+     * @throws NullPointerException     если хотя бы один из параметров или объектов не задан
+     * @throws IllegalArgumentException если количество объектов слишком велико для хранения матрицы в массиве
+     */
+    static <T> SquaredDistanceMatrix<T> of(Collection<? extends T> objects,
+                                          ToDoubleBiFunction<? super T, ? super T> squaredDistance) {
+        Objects.requireNonNull(objects);
+        Objects.requireNonNull(squaredDistance);
+
+        Map<T, Integer> indexes = new HashMap<>();
+
+        for (T object : objects) {
+            indexes.putIfAbsent(Objects.requireNonNull(object), indexes.size());
+        }
+
+        int n = indexes.size();
+
+        if (!fitsInArray(n)) {
+            throw new IllegalArgumentException("Too many objects to store a distance matrix: " + n);
+        }
+
+        Object[] distinct = new Object[n];
+        indexes.forEach((object, i) -> distinct[i] = object);
+
+        double[] distances = new double[(int) packedLength(n)];
+        IntStream rows = IntStream.range(0, n);
+
+        (n < PARALLEL_COMPUTATION_THRESHOLD ? rows : rows.parallel()).forEach(i -> {
+            @SuppressWarnings("unchecked")
+            T x = (T) distinct[i];
+            int offset = offset(i, n);
+
+            for (int j = i + 1; j < n; j++) {
+                @SuppressWarnings("unchecked")
+                T y = (T) distinct[j];
+                distances[offset + j] = squaredDistance.applyAsDouble(x, y);
+            }
+        });
+
+        return new SquaredDistanceMatrix<>(Collections.unmodifiableMap(indexes), distances);
+    }
+
+    /**
+     * Вычисление матрицы квадратов евклидовых расстояний между векторными представлениями объектов,
+     * входящих в экспертные оценки заданной обучающей выборки
+     *
+     * @param trainingSet обучающая выборка
+     * @return матрица квадратов расстояний
+     * @throws NullPointerException если обучающая выборка не задана
+     */
+    static SquaredDistanceMatrix<UnclassifiedObject> of(PairwiseTrainingSet trainingSet) {
+        Collection<UnclassifiedObject> objects = FeatureVectors.objectsOf(Objects.requireNonNull(trainingSet));
+        FeatureVectors featureVectors = new FeatureVectors(objects);
+        return of(objects, (x, y) -> EuclideanDistance.computeSquared(featureVectors.of(x), featureVectors.of(y)));
+    }
+
+    /**
+     * Получение матрицы квадратов евклидовых расстояний для заданной обучающей выборки с её кэшированием.
+     * Матрица, однажды вычисленная для обучающей выборки, используется повторно при обучении классификатора
+     * с помощью того же самого (а не равного ему) объекта обучающей выборки (например, при переборе значений
+     * штрафного параметра для одной и той же обучающей выборки).
+     * Суммарный объём памяти, занимаемой матрицами в кэше, ограничен {@link #CACHE_CAPACITY} байтами;
+     * матрица большего объёма вычисляется при каждом обращении
+     *
+     * @param trainingSet обучающая выборка
+     * @return матрица квадратов расстояний
+     * @throws NullPointerException если обучающая выборка не задана
+     * @see #of(PairwiseTrainingSet)
+     */
+    static SquaredDistanceMatrix<UnclassifiedObject> forTrainingSet(PairwiseTrainingSet trainingSet) {
+        return CACHE.get(trainingSet, SquaredDistanceMatrix::of);
+    }
+
+    /**
+     * Кэш матриц квадратов расстояний для обучающих выборок
+     */
+    static IdentityCache<PairwiseTrainingSet, SquaredDistanceMatrix<UnclassifiedObject>> cache() {
+        return CACHE;
+    }
+
+    /**
+     * Проверка того, что матрица для заданного количества различных объектов может быть сохранена в массиве
+     *
+     * @param size количество различных объектов
+     * @return <code>false</code>, если матрица слишком велика (в этом случае квадраты расстояний вычисляются
+     * по мере необходимости)
+     */
+    static boolean fitsInArray(int size) {
+        return packedLength(size) <= Integer.MAX_VALUE - 8;
+    }
+
+    /**
+     * Количество элементов матрицы над главной диагональю
+     */
+    private static long packedLength(int n) {
+        return (long) n * (n - 1) / 2;
+    }
+
+    /**
+     * Смещение, которое нужно прибавить к индексу столбца, чтобы получить позицию элемента строки <code>i</code>
+     * в упакованном массиве
+     */
+    private static int offset(int i, int n) {
+        return (int) ((long) i * (2L * n - i - 1) / 2) - i - 1;
+    }
+
+    /**
+     * Количество объектов
+     */
+    int size() {
+        return indexes.size();
+    }
+
+    /**
+     * Приблизительный объём памяти (в байтах), занимаемой матрицей
+     */
+    long sizeInBytes() {
+        return (long) Double.BYTES * distances.length + (long) INDEX_ENTRY_SIZE * indexes.size();
+    }
+
+    /**
+     * Индексы объектов в матрице
+     *
+     * @return неизменяемое отображение объектов на их индексы
+     */
+    Map<T, Integer> indexes() {
+        return indexes;
+    }
+
+    /**
+     * Получение индекса объекта в матрице
+     *
+     * @return индекс или <code>-1</code>, если объект не входит в матрицу
+     */
+    int indexOf(Object obj) {
+        Integer index = indexes.get(obj);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Проверка того, что все заданные объекты входят в матрицу
+     */
+    boolean containsAll(Collection<?> objects) {
+        return indexes.keySet().containsAll(Objects.requireNonNull(objects));
+    }
+
+    /**
+     * Получение квадрата расстояния между объектами с заданными индексами
+     */
+    double get(int i, int j) {
+        if (i == j) {
+            return 0.0;
+        }
+
+        return (i < j) ? distances[offset(i, size()) + j] : distances[offset(j, size()) + i];
+    }
+
+    /**
+     * Формирование матрицы Грама Гауссова ядра для объектов матрицы
+     *
+     * @param sigma свободный параметр Гауссова ядра
+     * @return матрица Грама размером <code>size() * size()</code>, хранящаяся в упакованном виде
+     * @throws IllegalArgumentException если матрица Грама слишком велика для хранения в массиве
+     */
+    SymmetricMatrix gaussianGramMatrix(double sigma) {
+        int n = size();
+        double factor = exponentFactor(sigma);
+        SymmetricMatrix gramMatrix = new SymmetricMatrix(n, SymmetricMatrix.Precision.DOUBLE);
+        IntStream rows = IntStream.range(0, n);
+
+        // строки упакованной матрицы занимают непересекающиеся участки массива
+        (n < PARALLEL_COMPUTATION_THRESHOLD ? rows : rows.parallel()).forEach(i -> {
+            int offset = offset(i, n);
+            gramMatrix.set(i, i, 1.0);
+
+            for (int j = i + 1; j < n; j++) {
+                gramMatrix.set(i, j, Math.exp(distances[offset + j] * factor));
+            }
+        });
+
+        return gramMatrix;
+    }
+
+    /**
+     * Вычисление значения Гауссова ядра по квадрату расстояния (так же, как и при формировании матрицы Грама)
+     */
+    static double gaussian(double squaredDistance, double sigma) {
+        return Math.exp(squaredDistance * exponentFactor(sigma));
+    }
+
+    private static double exponentFactor(double sigma) {
+        return -1.0 / (2 * sigma * sigma);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Состояние "тёплого старта" решения серии задач квадратичного программирования: неизвестные последней решённой
+ * задачи (в порядке их следования в задаче) вместе с результатом её решения.
+ * Результат решения используется в качестве начального приближения лишь для задачи с теми же неизвестными
+ * (например, для той же обучающей выборки с другим значением штрафного параметра).
+ * Состояние принадлежит тому, кто решает серию задач (как правило, экземпляру классификатора), а не средству решения,
+ * поэтому серии задач, решаемые разными экземплярами классификатора, друг на друга не влияют.
+ * Экземпляры класса не являются потокобезопасными.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see QuadraticProgrammingSolver#solve(ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet, Kernel, double, WarmStart)
+ */
+public final class WarmStart {
+
+    /**
+     * Неизвестные последней решённой задачи
+     */
+    private List<Pair<UnclassifiedObject, UnclassifiedObject>> variables;
+
+    /**
+     * Результат решения последней задачи (его тип определяется средством решения)
+     */
+    private Object solution;
+
+    /**
+     * Получение результата решения последней задачи, если она имела те же неизвестные
+     *
+     * @param variables неизвестные задачи в порядке их следования в ней
+     * @param type      тип результата решения, применяемый средством решения
+     * @return результат решения или <code>null</code>, если задача имела другие неизвестные либо решалась
+     * средством решения другого типа
+     */
+    <T> T solutionFor(List<Pair<UnclassifiedObject, UnclassifiedObject>> variables, Class<T> type) {
+        Objects.requireNonNull(variables);
+        Objects.requireNonNull(type);
+
+        return (type.isInstance(solution) && variables.equals(this.variables)) ? type.cast(solution) : null;
+    }
+
+    /**
+     * Запоминание результата решения задачи с заданными неизвестными
+     */
+    void remember(List<Pair<UnclassifiedObject, UnclassifiedObject>> variables, Object solution) {
+        this.variables = Objects.requireNonNull(variables);
+        this.solution = Objects.requireNonNull(solution);
+    }
+
+    /**
+     * Отказ от результата решения последней задачи
+     */
+    public void reset() {
+        variables = null;
+        solution = null;
+    }
+}
@@ -1,9 +1,22 @@
 package ru.spbftu.igorbotian.phdapp.svm;
 
+import com.google.inject.Guice;
+import org.junit.Assert;
 import org.junit.Test;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 import ru.spbftu.igorbotian.phdapp.ioc.PhDAppModule;
+import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetAlgorithm;
+import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetSolution;
+import ru.spbftu.igorbotian.phdapp.quadprog.CholeskyFactorization;
+import ru.spbftu.igorbotian.phdapp.quadprog.GroupedBoxConstraints;
 import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
+import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingModule;
+import ru.spbftu.igorbotian.phdapp.quadprog.SymmetricMatrix;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -17,6 +30,11 @@ import java.util.stream.Stream;
  */
 public class ActiveDualSetIntervalQuadraticProgrammingSolverTest extends AbstractIntervalQuadraticProgrammingTest {
 
+    /**
+     * Точность сравнения решений, полученных при хранении матрицы квадратичной функции с одинарной точностью
+     */
+    private static final double SINGLE_PRECISION = 0.0001;
+
     @Override
     public void setUp() throws QuadraticProgrammingException {
         super.setUp();
@@ -94,4 +112,97 @@ public class ActiveDualSetIntervalQuadraticProgrammingSolverTest extends Abstrac
     public void testSolution() throws QuadraticProgrammingException {
         super.testSolution();
     }
+
+    @Test
+    public void testSolutionWithPrecomputedSquaredDistances() throws QuadraticProgrammingException {
+        kernel = new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(SIGMA),
+                SquaredDistanceMatrix.forTrainingSet(trainingSet));
+        super.testSolution();
+    }
+
+    @Test
+    public void testSolutionWithSinglePrecisionMatrix() throws QuadraticProgrammingException {
+        ActiveDualSetAlgorithm algorithm = Guice.createInjector(new QuadraticProgrammingModule())
+                .getInstance(ActiveDualSetAlgorithm.class);
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> expected
+                = new ActiveDualSetQuadraticProgrammingSolver(algorithm, SymmetricMatrix.Precision.DOUBLE)
+                .solve(trainingSet, kernel, PENALTY);
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> actual
+                = new ActiveDualSetQuadraticProgrammingSolver(algorithm, SymmetricMatrix.Precision.FLOAT)
+                .solve(trainingSet, kernel, PENALTY);
+
+        Assert.assertEquals(expected.keySet(), actual.keySet());
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> variable : expected.keySet()) {
+            Assert.assertEquals(expected.get(variable), actual.get(variable), SINGLE_PRECISION);
+        }
+    }
+
+    @Test
+    public void testWarmStartAcrossPenalties() throws QuadraticProgrammingException {
+        WarmStart warmStart = new WarmStart();
+        qpSolver.solve(trainingSet, kernel, 2 * PENALTY, warmStart);
+
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> expected = qpSolver.solve(trainingSet, kernel, PENALTY);
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> actual
+                = qpSolver.solve(trainingSet, kernel, PENALTY, warmStart);
+
+        Assert.assertEquals(expected.keySet(), actual.keySet());
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> variable : expected.keySet()) {
+            Assert.assertEquals(expected.get(variable), actual.get(variable), PRECISION);
+        }
+    }
+
+    /*
+     Тест для проверки того, что при решении задачи с той же обучающей выборкой и другим значением штрафного параметра
+     разложение матрицы квадратичной функции не вычисляется повторно
+     */
+    @Test
+    public void testFactorizationIsReusedAcrossPenalties() throws QuadraticProgrammingException {
+        ActiveDualSetAlgorithm algorithm = Guice.createInjector(new QuadraticProgrammingModule())
+                .getInstance(ActiveDualSetAlgorithm.class);
+        Set<CholeskyFactorization> factorizations = Collections.newSetFromMap(new IdentityHashMap<>());
+        ActiveDualSetQuadraticProgrammingSolver solver = new ActiveDualSetQuadraticProgrammingSolver(
+                new ActiveDualSetAlgorithm() {
+
+                    @Override
+                    public double[] apply(double[][] matrix, double[] vector, double[][] constraintMatrix,
+                                          double[] constraintVector) throws QuadraticProgrammingException {
+                        return algorithm.apply(matrix, vector, constraintMatrix, constraintVector);
+                    }
+
+                    @Override
+                    public ActiveDualSetSolution apply(CholeskyFactorization factorization, double[] vector,
+                                                       GroupedBoxConstraints constraints,
+                                                       ActiveDualSetSolution initialGuess)
+                            throws QuadraticProgrammingException {
+                        return algorithm.apply(factorization, vector, constraints, initialGuess);
+                    }
+
+                    @Override
+                    public CholeskyFactorization factorizePositiveDefinite(SymmetricMatrix matrix,
+                                                                           ActiveDualSetSolution initialGuess)
+                            throws QuadraticProgrammingException {
+                        CholeskyFactorization factorization = algorithm.factorizePositiveDefinite(matrix,
+                                initialGuess);
+                        factorizations.add(factorization);
+                        return factorization;
+                    }
+                }, SymmetricMatrix.Precision.DOUBLE);
+
+        WarmStart warmStart = new WarmStart();
+        solver.solve(trainingSet, kernel, 2 * PENALTY, warmStart);
+
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> expected = qpSolver.solve(trainingSet, kernel, PENALTY);
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> actual
+                = solver.solve(trainingSet, kernel, PENALTY, warmStart);
+
+        Assert.assertEquals(1, factorizations.size());
+        Assert.assertEquals(expected.keySet(), actual.keySet());
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> variable : expected.keySet()) {
+            Assert.assertEquals(expected.get(variable), actual.get(variable), PRECISION);
+        }
+    }
 }
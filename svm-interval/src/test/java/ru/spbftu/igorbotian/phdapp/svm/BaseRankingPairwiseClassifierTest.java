@@ -11,8 +11,11 @@ import ru.spbftu.igorbotian.phdapp.ioc.PhDAppModule;
 import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingModule;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -35,7 +38,7 @@ public abstract class BaseRankingPairwiseClassifierTest {
     /**
      * Средство классификации
      */
-    private RankingPairwiseClassifier classifier;
+    private IntervalRankingPairwiseClassifier classifier;
 
     /**
      * Параметры средства классификации
@@ -64,6 +67,39 @@ public abstract class BaseRankingPairwiseClassifierTest {
         }
     }
 
+    @Test
+    public void testBatchClassification() throws ClassificationException {
+        classifier.train(makeTrainingSet(), parameters.defaultValues());
+
+        List<Pair<UnclassifiedObject, UnclassifiedObject>> pairs = new ArrayList<>();
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> pair : pairsToClassify()) {
+            pairs.add(pair);
+            pairs.add(new Pair<>(pair.second, pair.first));
+        }
+
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Boolean> results
+                = classifier.classifyAll(pairs, Collections.emptySet());
+
+        Assert.assertEquals(pairs, new ArrayList<>(results.keySet()));
+
+        for (Pair<UnclassifiedObject, UnclassifiedObject> pair : pairs) {
+            Assert.assertEquals(classifier.classify(pair.first, pair.second, Collections.emptySet()), results.get(pair));
+        }
+    }
+
+    @Test
+    public void testRanking() throws ClassificationException {
+        classifier.train(makeTrainingSet(), parameters.defaultValues());
+
+        for(Pair<UnclassifiedObject, UnclassifiedObject> pair : pairsToClassify()) {
+            Assert.assertTrue(classifier.score(pair.first) > classifier.score(pair.second));
+
+            List<UnclassifiedObject> ranking = classifier.rank(Arrays.asList(pair.second, pair.first));
+            Assert.assertEquals(Arrays.asList(pair.first, pair.second), ranking);
+        }
+    }
+
     protected abstract PhDAppModule rankingPairwiseClassifierModule();
 
     protected abstract Set<Pair<UnclassifiedObject, UnclassifiedObject>> pairsToClassify();
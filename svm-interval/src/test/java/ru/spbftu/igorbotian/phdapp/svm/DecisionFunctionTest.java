@@ -3,10 +3,16 @@ package ru.spbftu.igorbotian.phdapp.svm;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 import ru.spbftu.igorbotian.phdapp.ioc.PhDAppModule;
 import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -47,4 +53,68 @@ public class DecisionFunctionTest extends AbstractIntervalQuadraticProgrammingTe
         Assert.assertTrue(decisionFunction.isPreferable(makeJudgementItem("x13", 13.0), makeJudgementItem("x07", 7.0)));
         Assert.assertFalse(decisionFunction.isPreferable(makeJudgementItem("x07", 7.0), makeJudgementItem("x13", 13.0)));
     }
+
+    @Test
+    public void testScore() throws DecisionException {
+        double x01 = decisionFunction.score(makeJudgementItem("x01", 1.0));
+        double x07 = decisionFunction.score(makeJudgementItem("x07", 7.0));
+        double x11 = decisionFunction.score(makeJudgementItem("x11", 11.0));
+        double x13 = decisionFunction.score(makeJudgementItem("x13", 13.0));
+
+        Assert.assertTrue(x07 > x01);
+        Assert.assertTrue(x11 > x01);
+        Assert.assertTrue(x13 > x07);
+    }
+
+    @Test
+    public void testBatchPreference() throws DecisionException {
+        UnclassifiedObject x01 = makeJudgementItem("x01", 1.0);
+        UnclassifiedObject x07 = makeJudgementItem("x07", 7.0);
+        UnclassifiedObject x11 = makeJudgementItem("x11", 11.0);
+        UnclassifiedObject x13 = makeJudgementItem("x13", 13.0);
+        List<Pair<UnclassifiedObject, UnclassifiedObject>> pairs = Arrays.asList(
+                new Pair<>(x07, x01), new Pair<>(x01, x07), new Pair<>(x11, x01), new Pair<>(x13, x07)
+        );
+
+        boolean[] preferences = decisionFunction.isPreferable(pairs);
+
+        Assert.assertEquals(pairs.size(), preferences.length);
+
+        for (int i = 0; i < pairs.size(); i++) {
+            Assert.assertEquals(decisionFunction.isPreferable(pairs.get(i).first, pairs.get(i).second), preferences[i]);
+        }
+    }
+
+    @Test(expected = DecisionException.class)
+    public void testBatchPreferenceOfEqualObjects() throws DecisionException {
+        UnclassifiedObject x01 = makeJudgementItem("x01", 1.0);
+        decisionFunction.isPreferable(Arrays.asList(new Pair<>(makeJudgementItem("x07", 7.0), x01), new Pair<>(x01, x01)));
+    }
+
+    @Test
+    public void testZeroMultipliersArePruned() throws QuadraticProgrammingException, DecisionException {
+        Map<Pair<UnclassifiedObject, UnclassifiedObject>, Double> multipliers
+                = new HashMap<>(qpSolver.solve(trainingSet, kernel, PENALTY));
+        int supportPairsCount = decisionFunction.supportPairsCount();
+
+        multipliers.put(new Pair<>(makeJudgementItem("x05", 5.0), makeJudgementItem("x03", 3.0)), 0.0);
+        DecisionFunction<UnclassifiedObject> pruned = new DecisionFunction<>(multipliers, kernel);
+
+        Assert.assertEquals(supportPairsCount, pruned.supportPairsCount());
+        Assert.assertTrue(pruned.isPreferable(makeJudgementItem("x07", 7.0), makeJudgementItem("x01", 1.0)));
+    }
+
+    /*
+     Тест для проверки того, что для ядра, значение которого не меняет знак при перестановке объектов во второй паре,
+     предпочтение определяется сравнением значений функции для обоих порядков следования объектов
+     */
+    @Test
+    public void testPreferenceWithNonAntisymmetricKernel() throws DecisionException {
+        Kernel<Double> kernel = (first, second) -> second.first + 10.0;
+        DecisionFunction<Double> function = new DecisionFunction<>(
+                Collections.singletonMap(new Pair<>(1.0, 2.0), 1.0), kernel);
+
+        Assert.assertTrue(function.isPreferable(3.0, 1.0));
+        Assert.assertFalse(function.isPreferable(1.0, 3.0));
+    }
 }
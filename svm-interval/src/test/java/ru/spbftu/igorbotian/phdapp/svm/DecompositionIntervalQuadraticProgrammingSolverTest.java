@@ -0,0 +1,96 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.junit.Assert;
+import org.junit.Test;
+import ru.spbftu.igorbotian.phdapp.common.DataModule;
+import ru.spbftu.igorbotian.phdapp.common.Judgement;
+import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
+import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfigurationModule;
+import ru.spbftu.igorbotian.phdapp.ioc.PhDAppModule;
+import ru.spbftu.igorbotian.phdapp.quadprog.ActiveDualSetAlgorithm;
+import ru.spbftu.igorbotian.phdapp.quadprog.QuadraticProgrammingException;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Модульные тесты для класса <code>DecompositionQuadraticProgrammingSolver</code>,
+ * в которых обучающая выборка состоит из интервальных значений.
+ * Ожидаемое решение совпадает с решением, полученным методом Гольдфарба-Иднани для полной задачи.
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ * @see AbstractIntervalQuadraticProgrammingTest
+ * @see ActiveDualSetIntervalQuadraticProgrammingSolverTest
+ */
+public class DecompositionIntervalQuadraticProgrammingSolverTest extends AbstractIntervalQuadraticProgrammingTest {
+
+    @Override
+    public void setUp() throws QuadraticProgrammingException {
+        super.setUp();
+        kernel = new GaussianMercerKernel<>(new GaussianKernelFunctionImpl(SIGMA));
+    }
+
+    @Override
+    protected Set<PhDAppModule> injectModules() {
+        return Collections.singleton(new IntervalPairwiseClassifierModule() {
+
+            @Override
+            protected void bindQuadraticProgrammingSolver() {
+                bindDecompositionQuadraticProgrammingSolver();
+            }
+        });
+    }
+
+    @Test
+    public void testSolution() throws QuadraticProgrammingException {
+        super.testSolution();
+    }
+
+    @Test
+    public void testSolverSelectedByConfiguration() {
+        Injector injector = Guice.createInjector(new ApplicationConfigurationModule(Paths.get("..")),
+                new DataModule(), new IntervalPairwiseClassifierModule());
+        ApplicationConfiguration config = injector.getInstance(ApplicationConfiguration.class);
+
+        config.setString(QuadraticProgrammingSolverProvider.SOLVER_PARAM,
+                QuadraticProgrammingSolverProvider.DECOMPOSITION_SOLVER);
+        Assert.assertTrue(injector.getInstance(QuadraticProgrammingSolver.class)
+                instanceof DecompositionQuadraticProgrammingSolver);
+
+        config.setString(QuadraticProgrammingSolverProvider.SOLVER_PARAM,
+                QuadraticProgrammingSolverProvider.ACTIVE_DUAL_SET_SOLVER);
+        Assert.assertTrue(injector.getInstance(QuadraticProgrammingSolver.class)
+                instanceof ActiveDualSetQuadraticProgrammingSolver);
+    }
+
+    /*
+     Две экспертные оценки без общих неизвестных образуют два блока, связанных через матрицу ядра,
+     поэтому одной итерации на блок для сходимости недостаточно
+     */
+    @Test(expected = QuadraticProgrammingException.class)
+    public void testNonConvergenceIsReported() throws QuadraticProgrammingException {
+        Injector injector = Guice.createInjector(new ApplicationConfigurationModule(Paths.get("..")),
+                new DataModule(), new IntervalPairwiseClassifierModule());
+        ApplicationConfiguration config = injector.getInstance(ApplicationConfiguration.class);
+        config.setInteger("decompositionSolverMaxIterationsPerBlock", 1);
+
+        Set<Judgement> judgements = new LinkedHashSet<>();
+        judgements.add(dataFactory.newJudgement(
+                Collections.singleton(makeJudgementItem("x1", 1.0)),
+                Collections.singleton(makeJudgementItem("z1", 1.2))
+        ));
+        judgements.add(dataFactory.newJudgement(
+                Collections.singleton(makeJudgementItem("x2", 1.1)),
+                Collections.singleton(makeJudgementItem("z2", 1.3))
+        ));
+        PairwiseTrainingSet twoBlocks = dataFactory.newPairwiseTrainingSet(judgements);
+
+        new DecompositionQuadraticProgrammingSolver(injector.getInstance(ActiveDualSetAlgorithm.class), config)
+                .solve(twoBlocks, kernel, PENALTY);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.spbftu.igorbotian.phdapp.svm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.spbftu.igorbotian.phdapp.common.GaussianKernel;
+import ru.spbftu.igorbotian.phdapp.quadprog.SymmetricMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Модульные тесты для классов <code>SquaredDistanceMatrix</code> и <code>IdentityCache</code>
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+public class SquaredDistanceMatrixTest {
+
+    private static final double DELTA = 1e-12;
+
+    private static final double SIGMA = 0.5;
+
+    private static double squaredDistance(Double x, Double y) {
+        return (x - y) * (x - y);
+    }
+
+    private static List<Double> randomPoints(int count) {
+        Random random = new Random(42);
+        List<Double> points = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            points.add(random.nextDouble());
+        }
+
+        return points;
+    }
+
+    @Test
+    public void testDistances() {
+        for (int count : Arrays.asList(1, 2, 10, 2 * SquaredDistanceMatrix.PARALLEL_COMPUTATION_THRESHOLD)) {
+            List<Double> points = randomPoints(count);
+            SquaredDistanceMatrix<Double> matrix = SquaredDistanceMatrix.of(points,
+                    SquaredDistanceMatrixTest::squaredDistance);
+
+            Assert.assertEquals(count, matrix.size());
+
+            for (Double x : points) {
+                for (Double y : points) {
+                    Assert.assertEquals(squaredDistance(x, y), matrix.get(matrix.indexOf(x), matrix.indexOf(y)), DELTA);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGaussianGramMatrix() {
+        List<Double> points = randomPoints(2 * SquaredDistanceMatrix.PARALLEL_COMPUTATION_THRESHOLD);
+        SquaredDistanceMatrix<Double> matrix = SquaredDistanceMatrix.of(points,
+                SquaredDistanceMatrixTest::squaredDistance);
+        SymmetricMatrix gramMatrix = matrix.gaussianGramMatrix(SIGMA);
+
+        Assert.assertEquals(matrix.size(), gramMatrix.size());
+
+        for (Double x : points) {
+            for (Double y : points) {
+                Assert.assertEquals(GaussianKernel.compute(Math.abs(x - y), SIGMA),
+                        gramMatrix.get(matrix.indexOf(x), matrix.indexOf(y)), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testPackedGramMatrixSizeLimit() {
+        // для таких количеств объектов индекс элемента полной матрицы n * n уже не помещается в int
+        Assert.assertTrue(GaussianMercerKernel.fitsInArray(46341));
+        Assert.assertTrue(GaussianMercerKernel.fitsInArray(65534));
+        Assert.assertFalse(GaussianMercerKernel.fitsInArray(65536));
+    }
+
+    @Test
+    public void testDistanceMatrixSizeLimit() {
+        // для таких количеств объектов n * (n - 1) уже не помещается в int, а упакованная матрица - помещается
+        Assert.assertTrue(SquaredDistanceMatrix.fitsInArray(46342));
+        Assert.assertTrue(SquaredDistanceMatrix.fitsInArray(65536));
+        Assert.assertFalse(SquaredDistanceMatrix.fitsInArray(65537));
+    }
+
+    @Test
+    public void testRepeatedAndUnknownObjects() {
+        SquaredDistanceMatrix<Double> matrix = SquaredDistanceMatrix.of(Arrays.asList(1.0, 2.0, 1.0),
+                SquaredDistanceMatrixTest::squaredDistance);
+
+        Assert.assertEquals(2, matrix.size());
+        Assert.assertEquals(-1, matrix.indexOf(3.0));
+        Assert.assertTrue(matrix.containsAll(Arrays.asList(2.0, 1.0)));
+        Assert.assertFalse(matrix.containsAll(Arrays.asList(1.0, 3.0)));
+    }
+
+    @Test
+    public void testIdentityCache() {
+        IdentityCache<String, Integer> cache = new IdentityCache<>(2);
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = new String("key");
+        String equalToFirst = new String("key");
+        String second = "second";
+
+        Assert.assertEquals(1, (int) cache.get(first, key -> loads.incrementAndGet()));
+        Assert.assertEquals(1, (int) cache.get(first, key -> loads.incrementAndGet()));
+        Assert.assertEquals(2, (int) cache.get(equalToFirst, key -> loads.incrementAndGet()));
+        Assert.assertEquals(1, cache.hits());
+        Assert.assertEquals(2, cache.misses());
+
+        cache.get(first, key -> loads.incrementAndGet());
+        cache.get(second, key -> loads.incrementAndGet()); // вытесняет equalToFirst
+        Assert.assertEquals(1, (int) cache.get(first, key -> loads.incrementAndGet()));
+        Assert.assertEquals(4, (int) cache.get(equalToFirst, key -> loads.incrementAndGet()));
+        Assert.assertEquals(4, cache.misses());
+    }
+
+    @Test
+    public void testWeightedIdentityCache() {
+        IdentityCache<String, double[]> cache = new IdentityCache<>(10, value -> value.length);
+
+        String first = "first";
+        String second = "second";
+        String large = "large";
+
+        cache.get(first, key -> new double[4]);
+        cache.get(second, key -> new double[4]);
+        Assert.assertEquals(8, cache.size());
+
+        cache.get(first, key -> new double[4]);
+        cache.get("third", key -> new double[4]); // вытесняет second
+        Assert.assertEquals(8, cache.size());
+        Assert.assertEquals(1, cache.hits());
+
+        cache.get(first, key -> new double[4]);
+        cache.get(second, key -> new double[4]);
+        Assert.assertEquals(2, cache.hits());
+
+        // значение, превышающее максимальный размер кэша, возвращается, но не сохраняется
+        Assert.assertEquals(11, cache.get(large, key -> new double[11]).length);
+        Assert.assertEquals(8, cache.size());
+        cache.get(large, key -> new double[11]);
+        cache.get(first, key -> new double[4]);
+        cache.get(second, key -> new double[4]);
+        Assert.assertEquals(4, cache.hits());
+    }
+}
@@ -2,9 +2,12 @@ package ru.spbftu.igorbotian.phdapp.svm;
 
 import com.google.inject.Inject;
 import ru.spbftu.igorbotian.phdapp.common.Judgement;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
 import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -50,4 +53,20 @@ class PreciseRankingPairwiseClassifierImpl implements PreciseRankingPairwiseClas
                             Set<? extends ClassifierParameter<?>> params) throws ClassificationException {
         return classifier.classify(first, second, params);
     }
+
+    @Override
+    public <T extends UnclassifiedObject> Map<Pair<T, T>, Boolean> classifyAll(
+            Collection<Pair<T, T>> pairs, Set<? extends ClassifierParameter<?>> params)
+            throws ClassificationException {
+        return classifier.classifyAll(pairs, params);
+    }
+
+    @Override
+    public PreciseRankingPairwiseClassifier newInstance() {
+        RankingPairwiseClassifier instance = classifier.newInstance();
+
+        return (instance instanceof IntervalRankingPairwiseClassifier)
+                ? new PreciseRankingPairwiseClassifierImpl((IntervalRankingPairwiseClassifier) instance)
+                : null;
+    }
 }
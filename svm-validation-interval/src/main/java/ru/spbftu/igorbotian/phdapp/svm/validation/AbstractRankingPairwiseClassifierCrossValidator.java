@@ -9,13 +9,20 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.report.Report;
 import ru.spbftu.igorbotian.phdapp.svm.validation.report.ReportFactory;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleException;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleManager;
+import ru.spbftu.igorbotian.phdapp.utils.RandomSource;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Абстрактная реализация средства кросс-валидации попарного классификатора
@@ -27,6 +34,17 @@ abstract class AbstractRankingPairwiseClassifierCrossValidator<R extends Report>
 
     private static final String STOP_CROSS_VALIDATION_ON_ERROR_PARAM = "stopCrossValidationOnError";
 
+    /**
+     * Название параметра, содержащего количество потоков, в которых выполняются итерации кросс-валидации
+     */
+    private static final String CROSS_VALIDATION_THREADS_PARAM = "crossValidationThreads";
+
+    /**
+     * Название параметра, содержащего начальное значение генератора случайных чисел
+     * (если параметр задан, то результаты кросс-валидации воспроизводимы)
+     */
+    private static final String RANDOM_SEED_PARAM = "randomSeed";
+
     /**
      * Средство формирования выборки для кросс-валидации
      */
@@ -52,6 +70,11 @@ abstract class AbstractRankingPairwiseClassifierCrossValidator<R extends Report>
      */
     private final ApplicationConfiguration appConfig;
 
+    /**
+     * Источник потоков случайных чисел
+     */
+    private final RandomSource randomSource;
+
     /**
      * Получатели уведомлений о ходе кросс-валидации
      */
@@ -62,17 +85,26 @@ abstract class AbstractRankingPairwiseClassifierCrossValidator<R extends Report>
      */
     private final AtomicBoolean processInterrupted = new AtomicBoolean(false);
 
+    /**
+     * Пул потоков, в которых выполняются итерации кросс-валидации (создаётся при первой необходимости
+     * и пересоздаётся лишь при изменении количества потоков кросс-валидации в конфигурации приложения).
+     * Потоки пула являются фоновыми и завершаются при длительном простое
+     */
+    private ForkJoinPool pool;
+
     protected AbstractRankingPairwiseClassifierCrossValidator(CrossValidationSampleManager sampleManager,
                                                               IntervalClassifierParameterFactory classifierParameterFactory,
                                                               CrossValidatorParameterFactory crossValidatorParameterFactory,
                                                               ReportFactory reportFactory,
-                                                              ApplicationConfiguration appConfig) {
+                                                              ApplicationConfiguration appConfig,
+                                                              RandomSource randomSource) {
 
         this.sampleManager = Objects.requireNonNull(sampleManager);
         this.classifierParameterFactory = Objects.requireNonNull(classifierParameterFactory);
         this.crossValidatorParameterFactory = Objects.requireNonNull(crossValidatorParameterFactory);
         this.reportFactory = Objects.requireNonNull(reportFactory);
         this.appConfig = Objects.requireNonNull(appConfig);
+        this.randomSource = Objects.requireNonNull(randomSource);
     }
 
     @Override
@@ -162,15 +194,34 @@ abstract class AbstractRankingPairwiseClassifierCrossValidator<R extends Report>
                       Set<? extends CrossValidatorParameter<?>> specificValidatorParams)
             throws CrossValidationException {
 
+        return validate(classifier, specificValidatorParams, newRandomStream());
+    }
+
+    /**
+     * Кросс-валидация заданного ранжирующего попарного классификатора с заданными параметрами кросс-валидации,
+     * при которой все случайные величины берутся из заданного потока случайных чисел
+     *
+     * @param classifier              попарный классификатор, подлежащий кросс-валидации
+     * @param specificValidatorParams параметры кросс-валидации, имеющие значения, отличные от значений по умолчанию
+     * @param random                  поток случайных чисел, используемый только в рамках данной кросс-валидации
+     * @return отчёт, содержащий результаты кросс-валидации указанного классификатора
+     * @throws NullPointerException     если хотя бы один из параметров не задан
+     * @throws CrossValidationException в случае ошибки в процессе кросс-валидации
+     */
+    R validate(RankingPairwiseClassifier classifier,
+               Set<? extends CrossValidatorParameter<?>> specificValidatorParams,
+               SplittableRandom random) throws CrossValidationException {
+
         Objects.requireNonNull(classifier);
         Objects.requireNonNull(specificValidatorParams);
+        Objects.requireNonNull(random);
 
         Set<? extends ClassifierParameter<?>> classifierParams = extractClassifierParams(specificValidatorParams);
         CrossValidatorParameterFactory parameterFactory
                 = override(crossValidatorParameterFactory, specificValidatorParams);
 
         try {
-            return validate(classifier, classifierParams, parameterFactory);
+            return validate(classifier, classifierParams, parameterFactory, random);
         } catch (CrossValidationSampleException e) {
             throw new CrossValidationException("Failed to perform cross-validation on a given classifier", e);
         }
@@ -250,12 +301,185 @@ abstract class AbstractRankingPairwiseClassifierCrossValidator<R extends Report>
         return appConfig.getBoolean(STOP_CROSS_VALIDATION_ON_ERROR_PARAM, false);
     }
 
+    /**
+     * Получение количества потоков, в которых могут одновременно выполняться итерации кросс-валидации
+     *
+     * @return положительное число (<code>1</code> соответствует последовательному выполнению итераций)
+     */
+    protected int crossValidationThreads() {
+        return Math.max(1, appConfig.getInteger(CROSS_VALIDATION_THREADS_PARAM, 1));
+    }
+
+    /**
+     * Получение нового потока случайных чисел для кросс-валидации.
+     * Если в конфигурации приложения задано начальное значение генератора случайных чисел, то все потоки одинаковы
+     * и результаты кросс-валидации воспроизводимы
+     */
+    protected SplittableRandom newRandomStream() {
+        return appConfig.hasParam(RANDOM_SEED_PARAM)
+                ? randomSource.withSeed(appConfig.getLong(RANDOM_SEED_PARAM)).newStream()
+                : randomSource.newStream();
+    }
+
+    /**
+     * Выполнение серии независимых итераций кросс-валидации с уведомлением о ходе их выполнения.
+     * Если количество потоков кросс-валидации больше одного и классификатор позволяет создавать свои независимые
+     * экземпляры, то итерации выполняются параллельно (каждая - со своим экземпляром классификатора; экземпляр,
+     * созданный для проверки такой возможности, используется первой итерацией) в пуле потоков данного средства
+     * кросс-валидации; иначе итерации выполняются последовательно с заданным классификатором.
+     * Итерации, завершившиеся ошибкой, пропускаются, если при ошибке не требуется остановка кросс-валидации.
+     * При прерывании процесса кросс-валидации ещё не начатые итерации не выполняются.
+     * Каждая итерация получает собственный поток случайных чисел, который порождается из заданного до начала
+     * выполнения итераций, поэтому результаты итераций не зависят от порядка их выполнения.
+     *
+     * @param classifier попарный классификатор, подлежащий кросс-валидации
+     * @param iterations итерации кросс-валидации
+     * @param random     поток случайных чисел, из которого порождаются потоки итераций
+     * @return результаты успешно выполненных итераций в порядке следования итераций
+     * @throws CrossValidationSampleException в случае ошибки формирования выборки для кросс-валидации
+     * @throws CrossValidationException       в случае ошибки в процессе кросс-валидации
+     * @see #crossValidationThreads()
+     * @see RankingPairwiseClassifier#newInstance()
+     */
+    protected <T> List<T> performIterations(RankingPairwiseClassifier classifier, List<Iteration<T>> iterations,
+                                            SplittableRandom random)
+            throws CrossValidationSampleException, CrossValidationException {
+
+        Objects.requireNonNull(classifier);
+        Objects.requireNonNull(iterations);
+        Objects.requireNonNull(random);
+
+        SplittableRandom[] streams = new SplittableRandom[iterations.size()];
+
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = random.split();
+        }
+
+        int threads = crossValidationThreads();
+        RankingPairwiseClassifier firstInstance = (threads > 1 && iterations.size() > 1)
+                ? classifier.newInstance()
+                : null;
+
+        if (firstInstance != null) {
+            return performIterationsInParallel(classifier, firstInstance, iterations, streams, pool(threads));
+        }
+
+        if (threads > 1 && iterations.size() > 1) {
+            LOGGER.warn("Classifier doesn't support independent instances; cross-validation iterations " +
+                    "are performed sequentially");
+        }
+
+        List<T> results = new ArrayList<>(iterations.size());
+        int iterationsCompleted = 0;
+
+        for (int i = 0; i < iterations.size(); i++) {
+            try {
+                results.add(iterations.get(i).perform(classifier, streams[i]));
+            } catch (CrossValidationSampleException | CrossValidationException e) {
+                if (stopCrossValidationOnError()) {
+                    throw e;
+                } else {
+                    LOGGER.error(e);
+                }
+            }
+
+            iterationsCompleted++;
+            fireCrossValidationContinued((int) (100 * ((float) iterationsCompleted / (float) iterations.size())));
+
+            if (processInterrupted()) {
+                fireCrossValidationInterrupted();
+                return results;
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Получение пула потоков кросс-валидации с заданным количеством потоков
+     */
+    private synchronized ForkJoinPool pool(int threads) {
+        if (pool == null || pool.getParallelism() != threads) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+
+            pool = new ForkJoinPool(threads);
+        }
+
+        return pool;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> performIterationsInParallel(RankingPairwiseClassifier classifier,
+                                                    RankingPairwiseClassifier firstInstance,
+                                                    List<Iteration<T>> iterations,
+                                                    SplittableRandom[] streams,
+                                                    ForkJoinPool pool)
+            throws CrossValidationSampleException, CrossValidationException {
+
+        Object[] results = new Object[iterations.size()];
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        int[] iterationsCompleted = {0};
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(iterations.size());
+
+        for (int i = 0; i < iterations.size(); i++) {
+            int index = i;
+
+            tasks.add(pool.submit(() -> {
+                if (processInterrupted() || failure.get() != null) {
+                    return;
+                }
+
+                try {
+                    RankingPairwiseClassifier instance = (index == 0) ? firstInstance : classifier.newInstance();
+                    results[index] = iterations.get(index).perform(instance, streams[index]);
+                } catch (CrossValidationSampleException | CrossValidationException e) {
+                    if (stopCrossValidationOnError()) {
+                        failure.compareAndSet(null, e);
+                    } else {
+                        LOGGER.error(e);
+                    }
+                }
+
+                synchronized (iterationsCompleted) {
+                    iterationsCompleted[0]++;
+                    fireCrossValidationContinued(
+                            (int) (100 * ((float) iterationsCompleted[0] / (float) iterations.size())));
+                }
+            }));
+        }
+
+        tasks.forEach(ForkJoinTask::join);
+
+        if (failure.get() instanceof CrossValidationSampleException) {
+            throw (CrossValidationSampleException) failure.get();
+        } else if (failure.get() != null) {
+            throw (CrossValidationException) failure.get();
+        }
+
+        if (processInterrupted()) {
+            fireCrossValidationInterrupted();
+        }
+
+        List<T> completed = new ArrayList<>(results.length);
+
+        for (Object result : results) {
+            if (result != null) {
+                completed.add((T) result);
+            }
+        }
+
+        return completed;
+    }
+
     /**
      * Кросс-валидация заданного ранжирующего попарного классификатора с заданными параметрами кросс-валидации
      *
      * @param classifier               попарный классификатор, подлежащий кросс-валидации
      * @param specificClassifierParams параметры классификатора, имеющие значение, отличные от значений по умолчанию
      * @param specificValidatorParams  параметры кросс-валидации (с учётом значений, отличных от значений по умолчанию)
+     * @param random                   поток случайных чисел, используемый только в рамках данной кросс-валидации
      * @return отчёт, содержащий результаты кросс-валидации указанного классификатора
      * @throws NullPointerException           если хотя бы один из параметров не задан
      * @throws CrossValidationSampleException в случае ошибки формирования выборки для кросс-валидации
@@ -263,6 +487,18 @@ abstract class AbstractRankingPairwiseClassifierCrossValidator<R extends Report>
      */
     protected abstract R validate(RankingPairwiseClassifier classifier,
                                   Set<? extends ClassifierParameter<?>> specificClassifierParams,
-                                  CrossValidatorParameterFactory specificValidatorParams)
+                                  CrossValidatorParameterFactory specificValidatorParams,
+                                  SplittableRandom random)
             throws CrossValidationSampleException, CrossValidationException;
+
+    /**
+     * Итерация кросс-валидации, выполняемая с помощью заданного экземпляра классификатора и собственного потока
+     * случайных чисел
+     */
+    @FunctionalInterface
+    protected interface Iteration<T> {
+
+        T perform(RankingPairwiseClassifier classifier, SplittableRandom random)
+                throws CrossValidationSampleException, CrossValidationException;
+    }
 }
@@ -1,6 +1,9 @@
 package ru.spbftu.igorbotian.phdapp.svm.validation;
 
 import org.apache.log4j.Logger;
+import ru.spbftu.igorbotian.phdapp.common.ClassifiedData;
+import ru.spbftu.igorbotian.phdapp.common.Pair;
+import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
 import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
 import ru.spbftu.igorbotian.phdapp.svm.ClassifierParameter;
 import ru.spbftu.igorbotian.phdapp.svm.IntervalClassifierParameterFactory;
@@ -10,11 +13,13 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.report.ReportFactory;
 import ru.spbftu.igorbotian.phdapp.svm.validation.report.SingleClassificationReport;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleException;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleManager;
+import ru.spbftu.igorbotian.phdapp.utils.RandomSource;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,8 +46,10 @@ class AccuracyDependenceOnClassifierParametersAnalyzer
                                                             CrossValidatorParameterFactory crossValidatorParameterFactory,
                                                             ReportFactory reportFactory,
                                                             AccuracyValidator accuracyValidator,
-                                                            ApplicationConfiguration appConfig) {
-        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig);
+                                                            ApplicationConfiguration appConfig,
+                                                            RandomSource randomSource) {
+        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig,
+                randomSource);
         this.accuracyValidator = Objects.requireNonNull(accuracyValidator);
         this.classifierParameterFactory = Objects.requireNonNull(classifierParameterFactory);
     }
@@ -50,7 +57,8 @@ class AccuracyDependenceOnClassifierParametersAnalyzer
     @Override
     protected MultiClassificationReport validate(RankingPairwiseClassifier classifier,
                                                  Set<? extends ClassifierParameter<?>> specificClassifierParams,
-                                                 CrossValidatorParameterFactory specificValidatorParams)
+                                                 CrossValidatorParameterFactory specificValidatorParams,
+                                                 SplittableRandom random)
             throws CrossValidationSampleException, CrossValidationException {
 
         CrossValidatorParameter<Double> penaltyParam = specificValidatorParams.penaltyParameter();
@@ -63,45 +71,65 @@ class AccuracyDependenceOnClassifierParametersAnalyzer
         double gkpUpperBound = gaussianKernelParam.upperBound().value();
         double gkpStepSize = gaussianKernelParam.stepSize().value();
 
-        int numberOfIterations = (int) ((Math.ceil((ppUpperBound - ppLowerBound) / ppStepSize) + 1 /* incl. ppUpperBound */)
-                * (Math.ceil((gkpUpperBound - gkpLowerBound) / gkpStepSize) + 1 /* incl. gkpUpperBound */));
-        int iterationsCompleted = 0;
-        List<SingleClassificationReport> iterations = new ArrayList<>(numberOfIterations);
+        List<Double> penalties = new ArrayList<>();
 
         for (double ccp = ppLowerBound; ccp <= ppUpperBound; ccp += ppStepSize) {
-            LOGGER.debug("Constant cost parameter = " + ccp);
-            ClassifierParameter<Double> ccpParam = classifierParameterFactory.penaltyParameter(ccp);
-
-            for (double gkp = gkpLowerBound; gkp <= gkpUpperBound; gkp += gkpStepSize) {
-                LOGGER.debug("Gaussian kernel parameter: " + gkp);
-                ClassifierParameter<Double> gkpParam = classifierParameterFactory.gaussianKernelParameter(gkp);
-
-                try {
-                    iterations.add(accuracyValidator.validate(
-                                    classifier,
-                                    override(specificClassifierParams,
-                                            Stream.of(ccpParam, gkpParam).collect(Collectors.toSet())),
-                                    specificValidatorParams)
-                    );
-                } catch (CrossValidationSampleException | CrossValidationException e) {
-                    if (stopCrossValidationOnError()) {
-                        throw e;
-                    } else {
+            penalties.add(ccp);
+        }
+
+        List<Iteration<List<SingleClassificationReport>>> iterations = new ArrayList<>();
+
+        // каждая итерация перебирает значения штрафного параметра при фиксированном параметре Гауссова ядра
+        // на одних и тех же обучающей и тестирующей выборках с помощью одного экземпляра классификатора,
+        // что позволяет классификатору использовать результаты предыдущего обучения
+        for (double gkp = gkpLowerBound; gkp <= gkpUpperBound; gkp += gkpStepSize) {
+            ClassifierParameter<Double> gkpParam = classifierParameterFactory.gaussianKernelParameter(gkp);
+            double sigma = gkp;
+
+            iterations.add((instance, stream) -> {
+                Pair<PairwiseTrainingSet, ClassifiedData> sets
+                        = accuracyValidator.generateSets(specificValidatorParams, stream);
+                List<SingleClassificationReport> reports = new ArrayList<>(penalties.size());
+
+                for (double ccp : penalties) {
+                    ClassifierParameter<Double> ccpParam = classifierParameterFactory.penaltyParameter(ccp);
+                    LOGGER.debug("Constant cost parameter = " + ccp + "; Gaussian kernel parameter: " + sigma);
+
+                    try {
+                        reports.add(accuracyValidator.validate(
+                                instance,
+                                override(specificClassifierParams,
+                                        Stream.of(ccpParam, gkpParam).collect(Collectors.toSet())),
+                                specificValidatorParams,
+                                sets
+                        ));
+                    } catch (CrossValidationException e) {
+                        if (stopCrossValidationOnError()) {
+                            throw e;
+                        }
+
                         LOGGER.error(e);
+                        reports.add(null);
                     }
                 }
 
-                iterationsCompleted++;
-                fireCrossValidationContinued((int) (100 * ((float) iterationsCompleted / (float) numberOfIterations)));
+                return reports;
+            });
+        }
 
-                if (processInterrupted()) {
-                    fireCrossValidationInterrupted();
-                    return reportFactory.newMultiClassificationReport(iterations);
-                }
+        List<List<SingleClassificationReport>> columns = performIterations(classifier, iterations, random);
+        List<SingleClassificationReport> reports = new ArrayList<>();
 
+        // отчёты упорядочиваются так же, как и значения параметров: сначала по штрафному параметру,
+        // затем по параметру Гауссова ядра
+        for (int i = 0; i < penalties.size(); i++) {
+            for (List<SingleClassificationReport> column : columns) {
+                if (column.get(i) != null) {
+                    reports.add(column.get(i));
+                }
             }
         }
 
-        return reportFactory.newMultiClassificationReport(iterations);
+        return reportFactory.newMultiClassificationReport(reports);
     }
-}
\ No newline at end of file
+}
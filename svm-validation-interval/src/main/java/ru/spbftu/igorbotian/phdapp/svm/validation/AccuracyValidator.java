@@ -10,6 +10,7 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleEx
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleManager;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.MathDataFactory;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.Point;
+import ru.spbftu.igorbotian.phdapp.utils.RandomSource;
 
 import java.util.*;
 import java.util.function.Function;
@@ -37,9 +38,11 @@ class AccuracyValidator extends AbstractRankingPairwiseClassifierCrossValidator<
                                 ReportFactory reportFactory,
                                 MathDataFactory mathDataFactory,
                                 DataFactory dataFactory,
-                                ApplicationConfiguration appConfig) {
+                                ApplicationConfiguration appConfig,
+                                RandomSource randomSource) {
 
-        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig);
+        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig,
+                randomSource);
         this.mathDataFactory = Objects.requireNonNull(mathDataFactory);
         this.dataFactory = Objects.requireNonNull(dataFactory);
     }
@@ -47,9 +50,28 @@ class AccuracyValidator extends AbstractRankingPairwiseClassifierCrossValidator<
     @Override
     protected SingleClassificationReport validate(RankingPairwiseClassifier classifier,
                                                   Set<? extends ClassifierParameter<?>> specificClassifierParams,
-                                                  CrossValidatorParameterFactory specificValidatorParams)
+                                                  CrossValidatorParameterFactory specificValidatorParams,
+                                                  SplittableRandom random)
             throws CrossValidationSampleException, CrossValidationException {
 
+        return validate(classifier, specificClassifierParams, specificValidatorParams,
+                generateSets(specificValidatorParams, random));
+    }
+
+    /**
+     * Формирование обучающей и тестирующей выборок для кросс-валидации с заданными параметрами.
+     * Сформированные выборки могут использоваться для обучения и проверки классификатора с разными значениями
+     * его параметров
+     *
+     * @param specificValidatorParams параметры кросс-валидации (с учётом значений, отличных от значений по умолчанию)
+     * @param random                  поток случайных чисел, из которого берутся все случайные величины
+     * @return пара из обучающей и тестирующей выборок
+     * @throws CrossValidationSampleException в случае ошибки формирования выборки для кросс-валидации
+     */
+    Pair<PairwiseTrainingSet, ClassifiedData> generateSets(CrossValidatorParameterFactory specificValidatorParams,
+                                                           SplittableRandom random)
+            throws CrossValidationSampleException {
+
         int sampleSize = specificValidatorParams.sampleSize().value().value();
         int trainingTestingSetsSizeRatio = specificValidatorParams.trainingTestingSetsSizeRatio().value().value();
         int preciseIntervalJudgementsCountRatio = specificValidatorParams.preciseIntervalJudgmentsCountRatio().value().value();
@@ -60,17 +82,38 @@ class AccuracyValidator extends AbstractRankingPairwiseClassifierCrossValidator<
         LOGGER.debug("Precise/interval judgements count ratio = " + preciseIntervalJudgementsCountRatio);
         LOGGER.debug("Maximum judgement group size = " + maxJudgementGroupSize);
 
-        ClassifiedData sample = sampleManager.generateSample(sampleSize);
+        ClassifiedData sample = sampleManager.generateSample(sampleSize, random);
         Pair<ClassifiedData, ClassifiedData> sampleSets = sampleManager.divideSampleIntoTwoGroups(sample,
                 trainingTestingSetsSizeRatio);
         ClassifiedData trainingSetData = sampleSets.first;
         ClassifiedData testingSet = sampleSets.second;
         PairwiseTrainingSet trainingSet = sampleManager.generateTrainingSet(trainingSetData,
-                preciseIntervalJudgementsCountRatio, maxJudgementGroupSize, this::judgePoints);
+                preciseIntervalJudgementsCountRatio, maxJudgementGroupSize, this::judgePoints, random);
+
+        return new Pair<>(trainingSet, testingSet);
+    }
+
+    /**
+     * Обучение классификатора с заданными параметрами на заданной обучающей выборке и проверка точности его работы
+     * на заданной тестирующей выборке
+     *
+     * @param classifier               попарный классификатор, подлежащий кросс-валидации
+     * @param specificClassifierParams параметры классификатора, имеющие значение, отличные от значений по умолчанию
+     * @param specificValidatorParams  параметры кросс-валидации (с учётом значений, отличных от значений по умолчанию)
+     * @param sets                     пара из обучающей и тестирующей выборок
+     * @return отчёт, содержащий результаты кросс-валидации указанного классификатора
+     * @throws CrossValidationException в случае ошибки обучения классификатора или классификации
+     * @see #generateSets(CrossValidatorParameterFactory, SplittableRandom)
+     */
+    SingleClassificationReport validate(RankingPairwiseClassifier classifier,
+                                        Set<? extends ClassifierParameter<?>> specificClassifierParams,
+                                        CrossValidatorParameterFactory specificValidatorParams,
+                                        Pair<PairwiseTrainingSet, ClassifiedData> sets)
+            throws CrossValidationException {
 
         try {
-            classifier.train(trainingSet, specificClassifierParams);
-            return validate(classifier, specificClassifierParams, specificValidatorParams, testingSet.objects());
+            classifier.train(sets.first, specificClassifierParams);
+            return validate(classifier, specificClassifierParams, specificValidatorParams, sets.second.objects());
         } catch (ClassifierTrainingException e) {
             throw new CrossValidationException("Failed to train objects during cross-validation", e);
         } catch (ClassificationException e) {
@@ -101,13 +144,7 @@ class AccuracyValidator extends AbstractRankingPairwiseClassifierCrossValidator<
         assert classifier != null;
         assert data != null;
 
-        Map<Pair<T, T>, Boolean> results = new HashMap<>();
-
-        for (Pair<T, T> pair : data) {
-            results.put(pair, classifier.classify(pair.first, pair.second, specificClassifierParams));
-        }
-
-        return results;
+        return classifier.classifyAll(data, specificClassifierParams);
     }
 
     private Set<Point> asTestingSetOfPoints(Set<? extends UnclassifiedObject> testingSet)
@@ -10,11 +10,13 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.report.ReportFactory;
 import ru.spbftu.igorbotian.phdapp.svm.validation.report.SingleClassificationReport;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleException;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleManager;
+import ru.spbftu.igorbotian.phdapp.utils.RandomSource;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * Средство кросс-валидации, ориентированное на среднее значение точности серии попарных классификаций
@@ -33,39 +35,28 @@ class AverageAccuracyValidator extends AbstractRankingPairwiseClassifierCrossVal
                                     CrossValidatorParameterFactory crossValidatorParameterFactory,
                                     ReportFactory reportFactory,
                                     AccuracyValidator accuracyValidator,
-                                    ApplicationConfiguration appConfig) {
-        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig);
+                                    ApplicationConfiguration appConfig,
+                                    RandomSource randomSource) {
+        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig,
+                randomSource);
         this.accuracyValidator = Objects.requireNonNull(accuracyValidator);
     }
 
     @Override
     protected MultiClassificationReport validate(RankingPairwiseClassifier classifier,
                                                  Set<? extends ClassifierParameter<?>> specificClassifierParams,
-                                                 CrossValidatorParameterFactory specificValidatorParams)
+                                                 CrossValidatorParameterFactory specificValidatorParams,
+                                                 SplittableRandom random)
             throws CrossValidationSampleException, CrossValidationException {
 
         int samplesToGenerateCount = specificValidatorParams.samplesToGenerateCount().value().value();
-        List<SingleClassificationReport> iterations = new ArrayList<>(samplesToGenerateCount);
+        List<Iteration<SingleClassificationReport>> iterations = new ArrayList<>(samplesToGenerateCount);
 
         for (int i = 0; i < samplesToGenerateCount; i++) {
-            try {
-                iterations.add(accuracyValidator.validate(classifier, specificValidatorParams.defaultValues()));
-            } catch (CrossValidationException e) {
-                if (stopCrossValidationOnError()) {
-                    throw e;
-                } else {
-                    LOGGER.error(e);
-                }
-            }
-
-            fireCrossValidationContinued((int) (100 * ((float) i / (float) samplesToGenerateCount)));
-
-            if (processInterrupted()) {
-                fireCrossValidationInterrupted();
-                return reportFactory.newMultiClassificationReport(iterations);
-            }
+            iterations.add((instance, stream) -> accuracyValidator.validate(instance,
+                    specificValidatorParams.defaultValues(), stream));
         }
 
-        return reportFactory.newMultiClassificationReport(iterations);
+        return reportFactory.newMultiClassificationReport(performIterations(classifier, iterations, random));
     }
 }
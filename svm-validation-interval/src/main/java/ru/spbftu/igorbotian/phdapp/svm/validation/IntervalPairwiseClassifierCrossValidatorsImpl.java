@@ -10,6 +10,7 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.report.ReportFactory;
 import ru.spbftu.igorbotian.phdapp.svm.validation.report.SingleClassificationReport;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleManager;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.MathDataFactory;
+import ru.spbftu.igorbotian.phdapp.utils.RandomSource;
 
 /**
  * Реализация фабрики средств кросс-валидации попарного классификатора
@@ -57,22 +58,26 @@ class IntervalPairwiseClassifierCrossValidatorsImpl implements IntervalPairwiseC
                                                          ReportFactory reportFactory,
                                                          MathDataFactory mathDataFactory,
                                                          DataFactory dataFactory,
-                                                         ApplicationConfiguration appConfig) {
+                                                         ApplicationConfiguration appConfig,
+                                                         RandomSource randomSource) {
 
         this.accuracyValidator = new AccuracyValidator(sampleManager, classifierParameterFactory,
-                crossValidatorParameterFactory, reportFactory, mathDataFactory, dataFactory, appConfig);
+                crossValidatorParameterFactory, reportFactory, mathDataFactory, dataFactory, appConfig,
+                randomSource);
         this.averageAccuracyValidator = new AverageAccuracyValidator(sampleManager, classifierParameterFactory,
-                crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig);
+                crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig, randomSource);
         this.accuracyDependenceOnSampleSizeAnalyzer = new AccuracyDependenceOnSampleSizeAnalyzer(sampleManager,
-                classifierParameterFactory, crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig);
+                classifierParameterFactory, crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig,
+                randomSource);
         this.preciseIntervalJudgementsRatioAnalyzer
                 = new PreciseIntervalJudgementsRatioAnalyzer(sampleManager,
-                classifierParameterFactory, crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig);
+                classifierParameterFactory, crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig,
+                randomSource);
         this.accuracyDependenceOnClassifierParametersAnalyzer = new AccuracyDependenceOnClassifierParametersAnalyzer(
                 sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory,
-                accuracyValidator, appConfig);
+                accuracyValidator, appConfig, randomSource);
         this.trainingSetSizeRatioAnalyzer = new TrainingSetSizeRatioAnalyzer(sampleManager, classifierParameterFactory,
-                crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig);
+                crossValidatorParameterFactory, reportFactory, accuracyValidator, appConfig, randomSource);
     }
 
     @Override
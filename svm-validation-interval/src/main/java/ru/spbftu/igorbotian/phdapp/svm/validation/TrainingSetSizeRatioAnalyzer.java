@@ -10,6 +10,7 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.report.ReportFactory;
 import ru.spbftu.igorbotian.phdapp.svm.validation.report.SingleClassificationReport;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleException;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.CrossValidationSampleManager;
+import ru.spbftu.igorbotian.phdapp.utils.RandomSource;
 
 import java.util.*;
 
@@ -30,53 +31,42 @@ class TrainingSetSizeRatioAnalyzer extends AbstractRankingPairwiseClassifierCros
                                         CrossValidatorParameterFactory crossValidatorParameterFactory,
                                         ReportFactory reportFactory,
                                         AccuracyValidator accuracyValidator,
-                                        ApplicationConfiguration appConfig) {
+                                        ApplicationConfiguration appConfig,
+                                        RandomSource randomSource) {
 
-        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig);
+        super(sampleManager, classifierParameterFactory, crossValidatorParameterFactory, reportFactory, appConfig,
+                randomSource);
         this.accuracyValidator = Objects.requireNonNull(accuracyValidator);
     }
 
     @Override
     protected MultiClassificationReport validate(RankingPairwiseClassifier classifier,
                                                  Set<? extends ClassifierParameter<?>> specificClassifierParams,
-                                                 CrossValidatorParameterFactory specificValidatorParams)
+                                                 CrossValidatorParameterFactory specificValidatorParams,
+                                                 SplittableRandom random)
             throws CrossValidationSampleException, CrossValidationException {
 
         CrossValidatorParameter<Integer> ratio = specificValidatorParams.trainingTestingSetsSizeRatio();
         int lowerBound = ratio.lowerBound().value();
         int upperBound = ratio.upperBound().value();
         int stepSize = ratio.stepSize().value();
-        int numberOfIterations = (int) Math.ceil((upperBound - lowerBound) / stepSize) + 1 /* incl. upperBound */;
-        int iterationsCompleted = 0;
-        List<SingleClassificationReport> iterations = new ArrayList<>(iterationsCompleted);
+        List<Iteration<SingleClassificationReport>> iterations = new ArrayList<>();
 
         for (int i = lowerBound; i <= upperBound; i += stepSize) {
-            LOGGER.debug("Ratio = " + i);
             CrossValidatorParameter<Integer> ratioParam = specificValidatorParams.trainingTestingSetsSizeRatio(i);
+            String message = "Ratio = " + i;
 
-            try {
-                iterations.add(accuracyValidator.validate(
-                        classifier,
+            iterations.add((instance, stream) -> {
+                LOGGER.debug(message);
+                return accuracyValidator.validate(
+                        instance,
                         specificClassifierParams,
-                        override(specificValidatorParams, Collections.singleton(ratioParam))
-                ));
-            } catch (CrossValidationSampleException | CrossValidationException e) {
-                if (stopCrossValidationOnError()) {
-                    throw e;
-                } else {
-                    LOGGER.error(e);
-                }
-            }
-
-            iterationsCompleted++;
-            fireCrossValidationContinued((int) (100 * ((float) iterationsCompleted / (float) numberOfIterations)));
-
-            if (processInterrupted()) {
-                fireCrossValidationInterrupted();
-                return reportFactory.newMultiClassificationReport(iterations);
-            }
+                        override(specificValidatorParams, Collections.singleton(ratioParam)),
+                        stream
+                );
+            });
         }
 
-        return reportFactory.newMultiClassificationReport(iterations);
+        return reportFactory.newMultiClassificationReport(performIterations(classifier, iterations, random));
     }
 }
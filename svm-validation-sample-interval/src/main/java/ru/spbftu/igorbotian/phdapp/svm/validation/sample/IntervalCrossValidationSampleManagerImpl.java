@@ -50,19 +50,20 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
     //-------------------------------------------------------------------------
 
     @Override
-    public ClassifiedData generateSample(int sampleSize) throws CrossValidationSampleException {
+    public ClassifiedData generateSample(int sampleSize, SplittableRandom random) throws CrossValidationSampleException {
+        Objects.requireNonNull(random);
         checkSampleSize(sampleSize);
 
         LOGGER.debug("Generating sample of size = " + sampleSize);
-        sampleGenerator.regeneratePoints(sampleSize);
+        CrossValidationSample sample = sampleGenerator.generateSample(sampleSize, random);
 
         Set<DataClass> dataClasses = Stream.of(
                 sampleGenerator.firstSupportingPoint().dataClass(),
                 sampleGenerator.secondSupportingPoint().dataClass()
         ).collect(Collectors.toSet());
         Set<ClassifiedObject> data = new LinkedHashSet<>();
-        sampleGenerator.firstSetOfPoints().forEach(data::add);
-        sampleGenerator.secondSetOfPoints().forEach(data::add);
+        sample.firstSetOfPoints().forEach(data::add);
+        sample.secondSetOfPoints().forEach(data::add);
 
         try {
             return dataFactory.newClassifiedData(dataClasses, data);
@@ -313,10 +314,12 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
     public PairwiseTrainingSet generateTrainingSet(ClassifiedData source, int ratio, int maxJudgementGroupSize,
                                                    BiFunction<Set<? extends ClassifiedObject>,
                                                            Set<? extends ClassifiedObject>,
-                                                           Integer> expertFunction)
+                                                           Integer> expertFunction,
+                                                   SplittableRandom random)
             throws CrossValidationSampleException {
 
         Objects.requireNonNull(source);
+        Objects.requireNonNull(random);
         checkSourceSize(source);
         checkPreciseIntervalJudgementsCountRatio(ratio);
         checkMaxJudgementPartSize(maxJudgementGroupSize);
@@ -324,8 +327,9 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
         Pair<Map<DataClass, LinkedList<ClassifiedObject>>, Map<DataClass, LinkedList<ClassifiedObject>>>
                 sampleItemsByClasses = divideIntoPreciseAndIntervalJudgements(source, ratio);
         PairwiseTrainingSet intervalJudgements = composeSetOfIntervalJudgements(sampleItemsByClasses.first,
-                UnclassifiedData.MIN_NUMBER_OF_CLASSES, maxJudgementGroupSize, expertFunction);
-        PairwiseTrainingSet preciseJudgements = composeSetOfPreciseJudgements(sampleItemsByClasses.second, expertFunction);
+                UnclassifiedData.MIN_NUMBER_OF_CLASSES, maxJudgementGroupSize, expertFunction, random);
+        PairwiseTrainingSet preciseJudgements = composeSetOfPreciseJudgements(sampleItemsByClasses.second,
+                expertFunction, random);
 
         return combinePairwiseTrainingSets(intervalJudgements, preciseJudgements);
     }
@@ -481,11 +485,12 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
     private PairwiseTrainingSet composeSetOfPreciseJudgements(Map<DataClass, LinkedList<ClassifiedObject>> sample,
                                                               BiFunction<Set<? extends ClassifiedObject>,
                                                                       Set<? extends ClassifiedObject>,
-                                                                      Integer> expertFunction)
+                                                                      Integer> expertFunction,
+                                                              SplittableRandom random)
             throws CrossValidationSampleException {
 
         // каждая оценка связана ровно с двумя объектами
-        return composeSetOfIntervalJudgements(sample, 1, 1, expertFunction);
+        return composeSetOfIntervalJudgements(sample, 1, 1, expertFunction, random);
     }
 
     /**
@@ -495,7 +500,8 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
                                                                int minJudgementGroupSize, int maxJudgementGroupSize,
                                                                BiFunction<Set<? extends ClassifiedObject>,
                                                                        Set<? extends ClassifiedObject>,
-                                                                       Integer> expertFunction)
+                                                                       Integer> expertFunction,
+                                                               SplittableRandom random)
             throws CrossValidationSampleException {
 
         Set<Judgement> trainingSetItems = new HashSet<>();
@@ -507,7 +513,7 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
 
         while (!sample.isEmpty()) {
             Pair<Set<? extends ClassifiedObject>, Set<? extends ClassifiedObject>> pair =
-                    grabPairOfJudgementGroups(sample, minJudgementGroupSize, maxJudgementGroupSize);
+                    grabPairOfJudgementGroups(sample, minJudgementGroupSize, maxJudgementGroupSize, random);
 
             trainingSetItems.add(newPairwiseTrainingSetItem(pair.first, pair.second, expertFunction));
         }
@@ -527,18 +533,19 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
      * Объекты сформированной группы удаляются из исходного списка объектов
      */
     private Pair<Set<? extends ClassifiedObject>, Set<? extends ClassifiedObject>> grabPairOfJudgementGroups(
-            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize) {
+            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize,
+            SplittableRandom random) {
 
         assert !sample.isEmpty();
 
         Pair<Set<? extends ClassifiedObject>, Set<? extends ClassifiedObject>> pair;
 
         if (sample.size() == 1) {
-            pair = grabPairOfJudgementGroupsOfSameClass(sample, minJudgementGroupSize, maxJudgementGroupSize);
+            pair = grabPairOfJudgementGroupsOfSameClass(sample, minJudgementGroupSize, maxJudgementGroupSize, random);
         } else if (sample.size() == 2) {
-            pair = grabPairOfJudgementGroupsOfTwoClasses(sample, minJudgementGroupSize, maxJudgementGroupSize);
+            pair = grabPairOfJudgementGroupsOfTwoClasses(sample, minJudgementGroupSize, maxJudgementGroupSize, random);
         } else {
-            pair = grabPairOfJudgementGroupsOfManyClasses(sample, minJudgementGroupSize, maxJudgementGroupSize);
+            pair = grabPairOfJudgementGroupsOfManyClasses(sample, minJudgementGroupSize, maxJudgementGroupSize, random);
         }
 
         assert !pair.first.isEmpty();
@@ -564,7 +571,8 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
      * При условии, что в исходном множестве представлены объекты, принадлежащее лишь одному классам.
      */
     private Pair<Set<? extends ClassifiedObject>, Set<? extends ClassifiedObject>> grabPairOfJudgementGroupsOfSameClass(
-            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize) {
+            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize,
+            SplittableRandom random) {
 
         assert sample.size() == 1;
 
@@ -612,8 +620,8 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
         }
 
         Pair<Set<? extends ClassifiedObject>, Set<? extends ClassifiedObject>> pair = new Pair<>(
-                grabJudgementGroup(objects, firstGroupMinSize, firstGroupMaxSize),
-                grabJudgementGroup(objects, secondGroupMinSize, secondGroupMaxSize)
+                grabJudgementGroup(objects, firstGroupMinSize, firstGroupMaxSize, random),
+                grabJudgementGroup(objects, secondGroupMinSize, secondGroupMaxSize, random)
         );
 
         assert objects.size() != 1;
@@ -627,7 +635,8 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
      * При условии, что в исходном множестве представлены объекты, принадлежащие лишь двум классам.
      */
     private Pair<Set<? extends ClassifiedObject>, Set<? extends ClassifiedObject>> grabPairOfJudgementGroupsOfTwoClasses(
-            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize) {
+            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize,
+            SplittableRandom random) {
 
         assert sample.size() == 2;
 
@@ -662,8 +671,8 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
         }
 
         return new Pair<>(
-                grabJudgementGroup(firstClassObjects, firstGroupMinSize, firstGroupMaxSize),
-                grabJudgementGroup(secondClassObjects, secondGroupMinSize, secondGroupMaxSize)
+                grabJudgementGroup(firstClassObjects, firstGroupMinSize, firstGroupMaxSize, random),
+                grabJudgementGroup(secondClassObjects, secondGroupMinSize, secondGroupMaxSize, random)
         );
     }
 
@@ -674,17 +683,20 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
      * (Два класса, потому что у нас пара групп объектов, которые должны иметь разные классы).
      */
     private Pair<Set<? extends ClassifiedObject>, Set<? extends ClassifiedObject>> grabPairOfJudgementGroupsOfManyClasses(
-            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize) {
+            Map<DataClass, LinkedList<ClassifiedObject>> sample, int minJudgementGroupSize, int maxJudgementGroupSize,
+            SplittableRandom random) {
 
         assert sample.size() > 2;
 
         List<DataClass> classes = listOfMapKeys(sample);
-        List<Integer> indexes = UniformedRandom.nextIntegerSequence(0, classes.size() - 1);
+        List<Integer> indexes = UniformedRandom.nextIntegerSequence(random, 0, classes.size() - 1);
         assert indexes.size() >= 2;
 
         return new Pair<>(
-                grabJudgementGroup(sample.get(classes.get(indexes.get(0))), minJudgementGroupSize, maxJudgementGroupSize),
-                grabJudgementGroup(sample.get(classes.get(indexes.get(1))), minJudgementGroupSize, maxJudgementGroupSize)
+                grabJudgementGroup(sample.get(classes.get(indexes.get(0))), minJudgementGroupSize, maxJudgementGroupSize,
+                        random),
+                grabJudgementGroup(sample.get(classes.get(indexes.get(1))), minJudgementGroupSize, maxJudgementGroupSize,
+                        random)
         );
     }
 
@@ -694,11 +706,12 @@ class IntervalCrossValidationSampleManagerImpl implements IntervalCrossValidatio
      * Объекты сформированной группы удаляются из исходного списка объектов
      */
     private Set<? extends ClassifiedObject> grabJudgementGroup(LinkedList<ClassifiedObject> items,
-                                                               int minJudgementGroupSize, int maxJudgementGroupSize) {
+                                                               int minJudgementGroupSize, int maxJudgementGroupSize,
+                                                               SplittableRandom random) {
         assert !items.isEmpty();
 
         Set<ClassifiedObject> judgementGroup = new HashSet<>();
-        int size = UniformedRandom.nextInteger(minJudgementGroupSize, maxJudgementGroupSize);
+        int size = UniformedRandom.nextInteger(random, minJudgementGroupSize, maxJudgementGroupSize);
         assert size > 0;
 
         if (items.size() < size) {
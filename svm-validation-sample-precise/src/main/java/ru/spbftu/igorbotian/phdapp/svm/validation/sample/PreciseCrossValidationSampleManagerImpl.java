@@ -10,6 +10,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -42,8 +43,8 @@ class PreciseCrossValidationSampleManagerImpl implements PreciseCrossValidationS
     }
 
     @Override
-    public ClassifiedData generateSample(int sampleSize) throws CrossValidationSampleException {
-        return sampleManager.generateSample(sampleSize);
+    public ClassifiedData generateSample(int sampleSize, SplittableRandom random) throws CrossValidationSampleException {
+        return sampleManager.generateSample(sampleSize, random);
     }
 
     @Override
@@ -55,11 +56,12 @@ class PreciseCrossValidationSampleManagerImpl implements PreciseCrossValidationS
     @Override
     public PairwiseTrainingSet generateTrainingSet(ClassifiedData source, int ratio, int maxJudgementGroupSize,
                                                    BiFunction<Set<? extends ClassifiedObject>,
-                                                           Set<? extends ClassifiedObject>, Integer> expertFunction)
+                                                           Set<? extends ClassifiedObject>, Integer> expertFunction,
+                                                   SplittableRandom random)
             throws CrossValidationSampleException {
 
         PairwiseTrainingSet trainingSet
-                = sampleManager.generateTrainingSet(source, ratio, maxJudgementGroupSize, expertFunction);
+                = sampleManager.generateTrainingSet(source, ratio, maxJudgementGroupSize, expertFunction, random);
         Set<Judgement> preciseJudgements = new HashSet<>();
 
         for (Judgement judgement : trainingSet.judgements()) {
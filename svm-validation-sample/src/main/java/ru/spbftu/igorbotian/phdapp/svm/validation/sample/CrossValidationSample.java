@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.svm.validation.sample;
+
+import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.Point;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Выборка для кросс-валидации классификатора: точки, сгенерированные случайным образом вокруг каждой
+ * из двух опорных точек. Экземпляры класса неизменяемы и не зависят от состояния средства генерации,
+ * поэтому могут формироваться и использоваться одновременно в нескольких потоках.
+ *
+ * @see CrossValidationSampleGenerator
+ */
+public final class CrossValidationSample {
+
+    /**
+     * Точки, сгенерированные вокруг первой опорной точки
+     */
+    private final Set<Point> firstSetOfPoints;
+
+    /**
+     * Точки, сгенерированные вокруг второй опорной точки
+     */
+    private final Set<Point> secondSetOfPoints;
+
+    CrossValidationSample(Set<Point> firstSetOfPoints, Set<Point> secondSetOfPoints) {
+        this.firstSetOfPoints = Collections.unmodifiableSet(Objects.requireNonNull(firstSetOfPoints));
+        this.secondSetOfPoints = Collections.unmodifiableSet(Objects.requireNonNull(secondSetOfPoints));
+    }
+
+    /**
+     * Получение общего количества точек в выборке
+     *
+     * @return целое положительное число
+     */
+    public int numberOfPoints() {
+        return firstSetOfPoints.size() + secondSetOfPoints.size();
+    }
+
+    /**
+     * Получение точек, сгенерированных случайным образом вокруг первой опорной точки
+     *
+     * @return неизменяемое непустое множество точек
+     */
+    public Set<Point> firstSetOfPoints() {
+        return firstSetOfPoints;
+    }
+
+    /**
+     * Получение точек, сгенерированных случайным образом вокруг второй опорной точки
+     *
+     * @return неизменяемое непустое множество точек
+     */
+    public Set<Point> secondSetOfPoints() {
+        return secondSetOfPoints;
+    }
+}
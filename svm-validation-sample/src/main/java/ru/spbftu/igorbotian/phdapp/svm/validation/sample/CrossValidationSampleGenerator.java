@@ -23,6 +23,7 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.Point;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.Range;
 
 import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * Генерация точек в двумерном пространстве по заданному правилу ниже.
@@ -33,6 +34,31 @@ import java.util.Set;
  */
 public interface CrossValidationSampleGenerator {
 
+    /**
+     * Генерация новой выборки со случайно разбросанными вокруг опорных точек точками.
+     * Для каждой выборки используется собственный поток случайных чисел, поэтому выборки могут генерироваться
+     * одновременно в нескольких потоках без блокировок. Состояние средства генерации при этом не изменяется.
+     *
+     * @param count количество точек, которые будут сгенерированы вокруг каждой из опорных точек
+     *              (если значение нечётное, то оно увеличивается на единицу)
+     * @return новая выборка
+     * @throws java.lang.IllegalArgumentException если значение количества точек имеет неположительное значение
+     */
+    CrossValidationSample generateSample(int count);
+
+    /**
+     * Генерация новой выборки со случайно разбросанными вокруг опорных точек точками с помощью заданного
+     * источника случайных чисел. Одинаковые источники случайных чисел дают одинаковые выборки
+     *
+     * @param count  количество точек, которые будут сгенерированы вокруг каждой из опорных точек
+     *               (если значение нечётное, то оно увеличивается на единицу)
+     * @param random источник случайных чисел, используемый только в рамках данного вызова
+     * @return новая выборка
+     * @throws java.lang.IllegalArgumentException если значение количества точек имеет неположительное значение
+     * @throws java.lang.NullPointerException     если источник случайных чисел не задан
+     */
+    CrossValidationSample generateSample(int count, SplittableRandom random);
+
     /**
      * Регенерация случайно разбросанных точек вокруг опорных точек.
      *
@@ -27,10 +27,11 @@ import ru.spbftu.igorbotian.phdapp.conf.ApplicationConfiguration;
 import ru.spbftu.igorbotian.phdapp.svm.validation.CrossValidatorParameterFactory;
 import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.*;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @see CrossValidationSampleGenerator
@@ -48,6 +49,11 @@ class CrossValidationSampleGeneratorImpl implements CrossValidationSampleGenerat
      */
     private static final double dispersionRadius = 1.1 * distanceBetweenSupportingPoints;
 
+    /**
+     * Приращение начального значения генератора случайных чисел для каждой следующей выборки
+     */
+    private static final long SEED_INCREMENT = 0x9e3779b97f4a7c15L;
+
     /**
      * Фабрика математических примитивов, используемых в кросс-валидации классификатора
      */
@@ -69,19 +75,14 @@ class CrossValidationSampleGeneratorImpl implements CrossValidationSampleGenerat
     private final Line separatingLine;
 
     /**
-     * Общее количество генерируемых точек
+     * Начальное значение генератора случайных чисел для следующей выборки
      */
-    private int numberOfPoints;
+    private final AtomicLong nextSeed = new AtomicLong(System.nanoTime());
 
     /**
-     * Множество точек, генерируемых вокруг первой опорной точки
+     * Последняя выборка, сгенерированная с помощью {@link #regeneratePoints(int)}
      */
-    private Set<Point> firstSet = new HashSet<>();
-
-    /**
-     * Множество точек, генерируемых вокруг второй опорной точки
-     */
-    private Set<Point> secondSet = new HashSet<>();
+    private volatile CrossValidationSample currentSample;
 
     @Inject
     public CrossValidationSampleGeneratorImpl(DataFactory dataFactory, MathDataFactory mathDataFactory,
@@ -127,24 +128,38 @@ class CrossValidationSampleGeneratorImpl implements CrossValidationSampleGenerat
     }
 
     @Override
-    public synchronized void regeneratePoints(int count) {
+    public CrossValidationSample generateSample(int count) {
+        return generateSample(count, new SplittableRandom(nextSeed.getAndAdd(SEED_INCREMENT)));
+    }
+
+    @Override
+    public CrossValidationSample generateSample(int count, SplittableRandom random) {
+        Objects.requireNonNull(random);
+
+        if (count <= 0) {
+            throw new IllegalArgumentException("Number of points should be positive: " + count);
+        }
+
         int c = (count % 2 == 0) ? count : count + 1;
+        return new CrossValidationSample(
+                generateRandomPoints(c / 2, firstPoint, random),
+                generateRandomPoints(c / 2, secondPoint, random)
+        );
+    }
 
-        secondSet.clear();
-        firstSet.clear();
-        firstSet = generateRandomPoints(c / 2, firstPoint);
-        secondSet = generateRandomPoints(c / 2, secondPoint);
-        numberOfPoints = c;
+    @Override
+    public void regeneratePoints(int count) {
+        currentSample = generateSample(count);
     }
 
-    private Set<Point> generateRandomPoints(int count, Point supportingPoint) {
+    private Set<Point> generateRandomPoints(int count, Point supportingPoint, SplittableRandom random) {
         Set<PolarPoint> polarPoints = new HashSet<>();
         int i = 0;
 
         while (i < count) {
             if (polarPoints.add(mathDataFactory.newPolarPoint(
-                    ExponentialRandom.nextDouble(0.0, dispersionRadius),
-                    UniformedRandom.nextDouble(0.0, 2 * Math.PI)))) {
+                    ExponentialRandom.nextDouble(random, 0.0, dispersionRadius),
+                    UniformedRandom.nextDouble(random, 0.0, 2 * Math.PI)))) {
                 i++;
             }
         }
@@ -163,8 +178,8 @@ class CrossValidationSampleGeneratorImpl implements CrossValidationSampleGenerat
     }
 
     @Override
-    public synchronized int numberOfPoints() {
-        return numberOfPoints;
+    public int numberOfPoints() {
+        return currentSample.numberOfPoints();
     }
 
     @Override
@@ -195,12 +210,12 @@ class CrossValidationSampleGeneratorImpl implements CrossValidationSampleGenerat
     }
 
     @Override
-    public synchronized Set<Point> firstSetOfPoints() {
-        return Collections.unmodifiableSet(firstSet);
+    public Set<Point> firstSetOfPoints() {
+        return currentSample.firstSetOfPoints();
     }
 
     @Override
-    public synchronized Set<Point> secondSetOfPoints() {
-        return Collections.unmodifiableSet(secondSet);
+    public Set<Point> secondSetOfPoints() {
+        return currentSample.secondSetOfPoints();
     }
 }
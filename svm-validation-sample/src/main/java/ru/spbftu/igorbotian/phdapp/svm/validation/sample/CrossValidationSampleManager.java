@@ -6,6 +6,7 @@ import ru.spbftu.igorbotian.phdapp.common.Pair;
 import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
 
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.function.BiFunction;
 
 /**
@@ -31,7 +32,23 @@ public interface CrossValidationSampleManager {
      * @throws CrossValidationSampleException в случае ошибки формирования выборки
      * @throws IllegalArgumentException       если размер выборки не имеет положительного значения
      */
-    ClassifiedData generateSample(int sampleSize) throws CrossValidationSampleException;
+    default ClassifiedData generateSample(int sampleSize) throws CrossValidationSampleException {
+        return generateSample(sampleSize, new SplittableRandom());
+    }
+
+    /**
+     * Генерация выборки для кросс-валидации классификатора с помощью заданного источника случайных чисел.
+     * Одинаковые источники случайных чисел дают одинаковые выборки
+     *
+     * @param sampleSize размер выборки (> 1; <code>Integer.MAX_VALUE</code>);
+     *                   если размер имеет нечётное значение, то оно увеличивается на единицу
+     * @param random     источник случайных чисел, используемый только в рамках данного вызова
+     * @return набор верно классифицированных данных, подлежащих кросс-валидации
+     * @throws CrossValidationSampleException в случае ошибки формирования выборки
+     * @throws NullPointerException           если источник случайных чисел не задан
+     * @throws IllegalArgumentException       если размер выборки не имеет положительного значения
+     */
+    ClassifiedData generateSample(int sampleSize, SplittableRandom random) throws CrossValidationSampleException;
 
     /**
      * Разбиение выборки, сгенерированной для кросс-валидации классификатора, на две части заданного размера
@@ -65,9 +82,35 @@ public interface CrossValidationSampleManager {
      * @throws NullPointerException           если набор данных не задан
      * @throws IllegalArgumentException       если процентное соотношение выходит за пределы допустимых значений
      */
+    default PairwiseTrainingSet generateTrainingSet(ClassifiedData source, int ratio, int maxJudgementGroupSize,
+                                                    BiFunction<Set<? extends ClassifiedObject>,
+                                                            Set<? extends ClassifiedObject>,
+                                                            Integer> expertFunction)
+            throws CrossValidationSampleException {
+
+        return generateTrainingSet(source, ratio, maxJudgementGroupSize, expertFunction, new SplittableRandom());
+    }
+
+    /**
+     * Генерация обучающей выборки для кросс-валидации классификатора на базе классифицированных данных
+     * с помощью заданного источника случайных чисел (определяющего состав групп интервальных экспертных оценок)
+     *
+     * @param source                набор классифицированных данных
+     * @param ratio                 процентное соотношение точных и интервальных экспертных оценок в обучающей выбоорке
+     * @param maxJudgementGroupSize максимально допустимое количество объектов в одной из двух частей интервальной
+     *                              экспертной оценки (положительное целое число, большее двух)
+     * @param expertFunction        функция, определящая экспертную оценку для заданных наборов объектов
+     * @param random                источник случайных чисел, используемый только в рамках данного вызова
+     * @return обучающая выборка
+     * @throws CrossValidationSampleException в случае генерации обучающей выборки
+     * @throws NullPointerException           если набор данных или источник случайных чисел не задан
+     * @throws IllegalArgumentException       если процентное соотношение выходит за пределы допустимых значений
+     * @see #generateTrainingSet(ClassifiedData, int, int, BiFunction)
+     */
     PairwiseTrainingSet generateTrainingSet(ClassifiedData source, int ratio, int maxJudgementGroupSize,
                                             BiFunction<Set<? extends ClassifiedObject>,
                                                     Set<? extends ClassifiedObject>,
-                                                    Integer> expertFunction)
+                                                    Integer> expertFunction,
+                                            SplittableRandom random)
             throws CrossValidationSampleException;
 }
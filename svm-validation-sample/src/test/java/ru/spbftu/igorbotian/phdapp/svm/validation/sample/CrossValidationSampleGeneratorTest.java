@@ -30,6 +30,7 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.sample.math.Point;
 
 import java.nio.file.Paths;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.function.BiFunction;
 
 /**
@@ -61,6 +62,37 @@ public class CrossValidationSampleGeneratorTest {
         }
     }
 
+    @Test
+    public void testGeneratedSample() {
+        sampleGenerator.regeneratePoints(NUMBERS_OF_POINTS[0]);
+        Set<Point> currentPoints = sampleGenerator.firstSetOfPoints();
+
+        for (int count : NUMBERS_OF_POINTS) {
+            CrossValidationSample sample = sampleGenerator.generateSample(count);
+            Assert.assertEquals(count, sample.numberOfPoints());
+            Assert.assertEquals(count / 2, sample.firstSetOfPoints().size());
+            Assert.assertEquals(count / 2, sample.secondSetOfPoints().size());
+        }
+
+        // генерация отдельных выборок не должна затрагивать текущую выборку средства генерации
+        Assert.assertSame(currentPoints, sampleGenerator.firstSetOfPoints());
+        Assert.assertEquals(NUMBERS_OF_POINTS[0], sampleGenerator.numberOfPoints());
+    }
+
+    @Test
+    public void testSampleIsDeterminedByRandomSource() {
+        CrossValidationSample first = sampleGenerator.generateSample(NUMBERS_OF_POINTS[1], new SplittableRandom(42));
+        CrossValidationSample second = sampleGenerator.generateSample(NUMBERS_OF_POINTS[1], new SplittableRandom(42));
+
+        Assert.assertEquals(first.firstSetOfPoints(), second.firstSetOfPoints());
+        Assert.assertEquals(first.secondSetOfPoints(), second.secondSetOfPoints());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSampleIsImmutable() {
+        sampleGenerator.generateSample(NUMBERS_OF_POINTS[0]).firstSetOfPoints().clear();
+    }
+
     @Test
     public void testSeparability() {
         for (int count : NUMBERS_OF_POINTS) {
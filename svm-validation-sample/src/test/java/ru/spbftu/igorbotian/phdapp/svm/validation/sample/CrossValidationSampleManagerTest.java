@@ -7,6 +7,7 @@ import ru.spbftu.igorbotian.phdapp.svm.validation.CrossValidatorParameterFactory
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * @author Igor Botian <igor.botian@gmail.com>
@@ -91,6 +92,24 @@ public abstract class CrossValidationSampleManagerTest {
         Assert.assertTrue(intervalJudgementsCountIsRight);
     }
 
+    @Test
+    public void testTrainingSetIsDeterminedByRandomSource() throws CrossValidationSampleException {
+        int sampleSize = 50;
+        int ratio = 50;
+        int maxJudgementGroupSize = 3;
+        long seed = 42;
+
+        ClassifiedData firstSample = sampleManager().generateSample(sampleSize, new SplittableRandom(seed));
+        ClassifiedData secondSample = sampleManager().generateSample(sampleSize, new SplittableRandom(seed));
+        Assert.assertEquals(firstSample.objects(), secondSample.objects());
+
+        PairwiseTrainingSet firstTrainingSet = sampleManager().generateTrainingSet(firstSample, ratio,
+                maxJudgementGroupSize, (f, s) -> 1 /* any */, new SplittableRandom(seed));
+        PairwiseTrainingSet secondTrainingSet = sampleManager().generateTrainingSet(secondSample, ratio,
+                maxJudgementGroupSize, (f, s) -> 1 /* any */, new SplittableRandom(seed));
+        Assert.assertEquals(firstTrainingSet.judgements(), secondTrainingSet.judgements());
+    }
+
     private int numberOfPreciseJudgements(PairwiseTrainingSet set) {
         int count = 0;
 
@@ -1,8 +1,13 @@
 package ru.spbftu.igorbotian.phdapp.svm;
 
+import ru.spbftu.igorbotian.phdapp.common.Pair;
 import ru.spbftu.igorbotian.phdapp.common.PairwiseTrainingSet;
 import ru.spbftu.igorbotian.phdapp.common.UnclassifiedObject;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -37,4 +42,46 @@ public interface RankingPairwiseClassifier {
      */
     boolean classify(UnclassifiedObject first, UnclassifiedObject second, Set<? extends ClassifierParameter<?>> params)
             throws ClassificationException;
+
+    /**
+     * Ранжирующая классификация для набора пар объектов.
+     * Реализация по умолчанию классифицирует пары по одной; реализации, которые могут переиспользовать
+     * вычисления для объектов, входящих в несколько пар, должны её переопределять.
+     *
+     * @param pairs  пары объектов
+     * @param params параметры классификации
+     * @param <T>    тип объектов
+     * @return результаты классификации для каждой из пар (в порядке их следования в исходном наборе):
+     * <code>true</code>, если первый объект в паре предпочтительнее второго; иначе <code>false</code>
+     * @throws ClassificationException  в случае ошибки классификации хотя бы одной из пар
+     * @throws NullPointerException     если хотя бы один аргумент на задан
+     * @throws IllegalArgumentException если хотя бы в одной из пар оба объекта идентичны
+     * @see #classify(UnclassifiedObject, UnclassifiedObject, Set)
+     */
+    default <T extends UnclassifiedObject> Map<Pair<T, T>, Boolean> classifyAll(
+            Collection<Pair<T, T>> pairs, Set<? extends ClassifierParameter<?>> params)
+            throws ClassificationException {
+
+        Objects.requireNonNull(pairs);
+        Objects.requireNonNull(params);
+
+        Map<Pair<T, T>, Boolean> results = new LinkedHashMap<>();
+
+        for (Pair<T, T> pair : pairs) {
+            results.put(pair, classify(pair.first, pair.second, params));
+        }
+
+        return results;
+    }
+
+    /**
+     * Создание нового необученного классификатора того же вида, который может обучаться и применяться независимо
+     * от данного (в том числе одновременно с ним в другом потоке).
+     * Реализация по умолчанию такой возможности не предоставляет.
+     *
+     * @return новый классификатор или <code>null</code>, если создание нового классификатора не поддерживается
+     */
+    default RankingPairwiseClassifier newInstance() {
+        return null;
+    }
 }
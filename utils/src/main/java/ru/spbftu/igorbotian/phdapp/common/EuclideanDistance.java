@@ -1,6 +1,5 @@
 package ru.spbftu.igorbotian.phdapp.common;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -31,34 +30,32 @@ public final class EuclideanDistance {
     }
 
     /**
-     * Вычисления между двумя точками в N-мерном пространстве
+     * Вычисления между двумя точками в N-мерном пространстве.
+     * Если векторы имеют разную длину, то недостающие координаты более короткого из них считаются нулевыми
      */
     public static double compute(double[] x, double[] y) {
-        int size = Math.max(x.length, y.length);
-        double[] first = complement(x, size);
-        double[] second = complement(y, size);
+        return Math.sqrt(computeSquared(x, y));
+    }
+
+    /**
+     * Вычисление квадрата расстояния между двумя точками в N-мерном пространстве (без выделения памяти).
+     * Если векторы имеют разную длину, то недостающие координаты более короткого из них считаются нулевыми
+     */
+    public static double computeSquared(double[] x, double[] y) {
+        int common = Math.min(x.length, y.length);
         double sum = 0.0;
 
-        for (int i = 0; i < size; i++) {
-            double delta = first[i] - second[i];
+        for (int i = 0; i < common; i++) {
+            double delta = x[i] - y[i];
             sum += delta * delta;
         }
 
-        return Math.sqrt(sum);
-    }
-
-    private static double[] complement(double[] src, int size) {
-        assert size >= src.length;
+        double[] longer = (x.length > y.length) ? x : y;
 
-        if (size == src.length) {
-            return src;
+        for (int i = common; i < longer.length; i++) {
+            sum += longer[i] * longer[i];
         }
 
-        double[] result = new double[size];
-
-        Arrays.fill(result, 0);
-        System.arraycopy(src, 0, result, 0, src.length);
-
-        return result;
+        return sum;
     }
 }
@@ -18,7 +18,9 @@
 
 package ru.spbftu.igorbotian.phdapp.common;
 
-import java.util.Random;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Механизм генерации случайных чисел по экспоненциальному распределению
@@ -27,8 +29,6 @@ import java.util.Random;
  */
 public final class ExponentialRandom {
 
-    private static final Random random = new Random(System.currentTimeMillis());
-
     /**
      * Значение интенсивности (или обратного коэффициента масштаба)
      */
@@ -60,12 +60,32 @@ public final class ExponentialRandom {
      * @throws java.lang.IllegalArgumentException если нижний предел по значению больше верхнего
      */
     public static double nextDouble(double min, double max) {
+        return nextDouble(ThreadLocalRandom.current().nextDouble(), min, max);
+    }
+
+    /**
+     * Получения случайного вещественного числа, сгенерированного по экспоненциальному распределению
+     * с помощью заданного источника случайных чисел
+     *
+     * @param source источник случайных чисел
+     * @param min    нижний предел для генерируемых чисел
+     * @param max    верхний предел для генерируемых чисел
+     * @return вещественное число, не меньшее нижнего предела и не большее верхнего предела
+     * @throws java.lang.IllegalArgumentException если нижний предел по значению больше верхнего
+     * @throws java.lang.NullPointerException     если источник случайных чисел не задан
+     */
+    public static double nextDouble(SplittableRandom source, double min, double max) {
+        Objects.requireNonNull(source);
+        return nextDouble(source.nextDouble(), min, max);
+    }
+
+    private static double nextDouble(double uniform, double min, double max) {
         if (min > max) {
             throw new IllegalArgumentException("The lower bound cannot be greater than the upper bound");
         }
 
         double upperBound = max - min;
-        double uniformedRandom = MathUtils.translate(random.nextDouble(), 0.0, 1.0, X_LOWER_BOUND, X_UPPER_BOUND);
+        double uniformedRandom = MathUtils.translate(uniform, 0.0, 1.0, X_LOWER_BOUND, X_UPPER_BOUND);
         double nonUniformedRandom = MathUtils.translate(density(uniformedRandom), 0.0, LAMBDA, 0.0, upperBound);
         return min + nonUniformedRandom % upperBound;
     }
@@ -45,7 +45,6 @@ public final class GaussianKernel {
             throw new NullPointerException("Vector y cannot be null");
         }
 
-        double distance = EuclideanDistance.compute(x, y);
-        return Math.exp(-(distance * distance) / (2 * sigma * sigma));
+        return Math.exp(-EuclideanDistance.computeSquared(x, y) / (2 * sigma * sigma));
     }
 }
@@ -3,7 +3,9 @@ package ru.spbftu.igorbotian.phdapp.common;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Механизм генерации случайных чисел по нормальному распределению
@@ -12,8 +14,6 @@ import java.util.Random;
  */
 public final class UniformedRandom {
 
-    private static final Random random = new Random(System.currentTimeMillis());
-
     private UniformedRandom() {
         //
     }
@@ -27,13 +27,33 @@ public final class UniformedRandom {
      * @throws java.lang.IllegalArgumentException если нижний предел по значению больше верхнего
      */
     public static double nextDouble(double min, double max) {
+        return nextDouble(ThreadLocalRandom.current().nextDouble(), min, max);
+    }
+
+    /**
+     * Получения случайного вещественного числа, сгенерированного по нормальному распределению
+     * с помощью заданного источника случайных чисел
+     *
+     * @param source источник случайных чисел
+     * @param min    нижний предел для генерируемых чисел
+     * @param max    верхний предел для генерируемых чисел
+     * @return вещественное число, не меньшее нижнего предела и не большее верхнего предела
+     * @throws java.lang.IllegalArgumentException если нижний предел по значению больше верхнего
+     * @throws java.lang.NullPointerException     если источник случайных чисел не задан
+     */
+    public static double nextDouble(SplittableRandom source, double min, double max) {
+        Objects.requireNonNull(source);
+        return nextDouble(source.nextDouble(), min, max);
+    }
+
+    private static double nextDouble(double uniform, double min, double max) {
         if (min > max) {
             throw new IllegalArgumentException(String.format("A lower bound (%.5f) cannot be greater " +
                     "than an upper bound (%.5f)", min, max));
         }
 
         double upperBound = max - min;
-        double uniformedRandom = MathUtils.translate(random.nextDouble(), 0.0, 1.0, 0.0, upperBound);
+        double uniformedRandom = MathUtils.translate(uniform, 0.0, 1.0, 0.0, upperBound);
         return min + uniformedRandom % upperBound;
     }
 
@@ -51,7 +71,29 @@ public final class UniformedRandom {
                     "than an upper bound (%d)", min, max));
         }
 
-        return (min == max) ? min : random.nextInt(max - min + 1) + min;
+        return (min == max) ? min : ThreadLocalRandom.current().nextInt(max - min + 1) + min;
+    }
+
+    /**
+     * Получения случайного целого числа, сгенерированного по нормальному распределению
+     * с помощью заданного источника случайных чисел
+     *
+     * @param source источник случайных чисел
+     * @param min    нижний предел для генерируемых чисел
+     * @param max    верхний предел для генерируемых чисел
+     * @return вещественное число, не меньшее нижнего предела и не большее верхнего предела
+     * @throws java.lang.IllegalArgumentException если нижний предел по значению больше верхнего
+     * @throws java.lang.NullPointerException     если источник случайных чисел не задан
+     */
+    public static int nextInteger(SplittableRandom source, int min, int max) {
+        Objects.requireNonNull(source);
+
+        if (min - max > 0) {
+            throw new IllegalArgumentException(String.format("A lower bound (%d) cannot be greater " +
+                    "than an upper bound (%d)", min, max));
+        }
+
+        return (min == max) ? min : source.nextInt(max - min + 1) + min;
     }
 
     /**
@@ -74,7 +116,40 @@ public final class UniformedRandom {
             sequence.add(i);
         }
 
-        Collections.shuffle(sequence);
+        Collections.shuffle(sequence, ThreadLocalRandom.current());
+
+        return sequence;
+    }
+
+    /**
+     * Получение последовательности целых чисел в заданном диапазоне в случайном порядке следования
+     * с помощью заданного источника случайных чисел
+     *
+     * @param source источник случайных чисел
+     * @param min    нижняя граница диапазона последовательности целых чисел
+     * @param max    верхняя граница диапазона последовательности целых чисел
+     * @return список чисел из заданного диапазона, идущих в случайном порядке
+     * @throws java.lang.IllegalArgumentException если нижняя граница по значению больше верхней
+     * @throws java.lang.NullPointerException     если источник случайных чисел не задан
+     */
+    public static List<Integer> nextIntegerSequence(SplittableRandom source, int min, int max) {
+        Objects.requireNonNull(source);
+
+        if (min > max) {
+            throw new IllegalArgumentException(String.format("A lower bound (%d) cannot be greater " +
+                    "than an upper bound (%d)", min, max));
+        }
+
+        List<Integer> sequence = new ArrayList<>(max - min + 1);
+
+        for (int i = min; i <= max; i++) {
+            sequence.add(i);
+        }
+
+        // перемешивание Фишера-Йетса
+        for (int i = sequence.size() - 1; i > 0; i--) {
+            Collections.swap(sequence, i, source.nextInt(i + 1));
+        }
 
         return sequence;
     }
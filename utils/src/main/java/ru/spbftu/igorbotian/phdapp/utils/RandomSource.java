@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.utils;
+
+import java.util.SplittableRandom;
+
+/**
+ * Источник независимых потоков случайных чисел.
+ * Каждый поток предназначен для использования в одном потоке выполнения, а независимые потоки для параллельно
+ * выполняемых задач порождаются из него с помощью {@link SplittableRandom#split()}, что исключает конкуренцию
+ * за общий генератор случайных чисел.
+ * Если источнику задано начальное значение, то все порождаемые им потоки (и потоки, полученные из них
+ * в одинаковом порядке) воспроизводимы.
+ */
+public interface RandomSource {
+
+    /**
+     * Получение нового потока случайных чисел
+     *
+     * @return поток случайных чисел, который не используется никем, кроме вызывающей стороны
+     */
+    SplittableRandom newStream();
+
+    /**
+     * Получение источника потоков случайных чисел с заданным начальным значением
+     *
+     * @param seed начальное значение
+     * @return источник, каждый поток которого порождает одну и ту же последовательность случайных чисел
+     */
+    RandomSource withSeed(long seed);
+}
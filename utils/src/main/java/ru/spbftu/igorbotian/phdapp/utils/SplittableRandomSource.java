@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2014 Igor Botian
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+
+package ru.spbftu.igorbotian.phdapp.utils;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.SplittableRandom;
+
+/**
+ * Источник потоков случайных чисел на основе {@link SplittableRandom}
+ *
+ * @see RandomSource
+ */
+@Singleton
+class SplittableRandomSource implements RandomSource {
+
+    /**
+     * Начальное значение потоков случайных чисел (<code>null</code>, если потоки не должны повторяться)
+     */
+    private final Long seed;
+
+    @Inject
+    public SplittableRandomSource() {
+        this(null);
+    }
+
+    private SplittableRandomSource(Long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public SplittableRandom newStream() {
+        return (seed == null) ? new SplittableRandom() : new SplittableRandom(seed);
+    }
+
+    @Override
+    public RandomSource withSeed(long seed) {
+        return new SplittableRandomSource(seed);
+    }
+}
@@ -22,11 +22,13 @@ import ru.spbftu.igorbotian.phdapp.ioc.PhDAppModule;
 
 /**
  * @see ru.spbftu.igorbotian.phdapp.utils.ShutdownHooks
+ * @see ru.spbftu.igorbotian.phdapp.utils.RandomSource
  */
 public class UtilsModule extends PhDAppModule {
 
     @Override
     protected void configure() {
         bind(ShutdownHooks.class).to(ShutdownHookSet.class);
+        bind(RandomSource.class).to(SplittableRandomSource.class);
     }
 }
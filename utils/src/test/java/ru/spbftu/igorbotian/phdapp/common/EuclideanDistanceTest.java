@@ -0,0 +1,27 @@
+package ru.spbftu.igorbotian.phdapp.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Модульный тест для класса <code>EuclideanDistance</code>
+ */
+public class EuclideanDistanceTest {
+
+    @Test
+    public void testCompute() {
+        testCompute(0.0, new double[] {1.0, 2.0}, new double[] {1.0, 2.0});
+        testCompute(5.0, new double[] {0.0, 0.0}, new double[] {3.0, 4.0});
+    }
+
+    @Test
+    public void testComputeForVectorsOfDifferentLength() {
+        testCompute(5.0, new double[] {3.0}, new double[] {0.0, 4.0});
+        testCompute(5.0, new double[] {0.0, 4.0}, new double[] {3.0});
+    }
+
+    private void testCompute(double expected, double[] x, double[] y) {
+        Assert.assertEquals(expected, EuclideanDistance.compute(x, y), 0.001);
+        Assert.assertEquals(expected * expected, EuclideanDistance.computeSquared(x, y), 0.001);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2015 Igor Botian
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option)
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details. You should have received a copy of the GNU General
+ * Public License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+
+package ru.spbftu.igorbotian.phdapp.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+/**
+ * Модульные тесты для класса <code>SplittableRandomSource</code>
+ *
+ * @author Igor Botian <igor.botian@gmail.com>
+ */
+public class SplittableRandomSourceTest {
+
+    private static final int NUMBER_OF_VALUES = 100;
+
+    private final RandomSource randomSource = new SplittableRandomSource();
+
+    @Test
+    public void testSeededStreamsAreRepeatable() {
+        RandomSource seeded = randomSource.withSeed(42);
+        Assert.assertArrayEquals(values(seeded.newStream()), values(seeded.newStream()), 0.0);
+    }
+
+    @Test
+    public void testSplitStreamsAreRepeatable() {
+        RandomSource seeded = randomSource.withSeed(42);
+        SplittableRandom first = seeded.newStream();
+        SplittableRandom second = seeded.newStream();
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertArrayEquals(values(first.split()), values(second.split()), 0.0);
+        }
+    }
+
+    @Test
+    public void testDifferentSeedsGiveDifferentStreams() {
+        Assert.assertNotEquals(
+                randomSource.withSeed(1).newStream().nextLong(),
+                randomSource.withSeed(2).newStream().nextLong()
+        );
+    }
+
+    @Test
+    public void testUnseededStreamsAreIndependent() {
+        Assert.assertNotEquals(randomSource.newStream().nextLong(), randomSource.newStream().nextLong());
+    }
+
+    private static double[] values(SplittableRandom random) {
+        double[] values = new double[NUMBER_OF_VALUES];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble();
+        }
+
+        return values;
+    }
+}